@@ -0,0 +1,114 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.BatchResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.IntegralBatchResult;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.metrics.CalculatorMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single calculations and batch calculations through {@link Calculator},
+ * with and without the Micrometer instrumentation decorator. The {@code exact} variants run the
+ * integral path over integer operands of the same values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+
+    private static final int BATCH_SIZE = 4096;
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private Calculator calculator;
+    private double num1;
+    private double num2;
+    private Operation[] batchOperations;
+    private Operation[] batchDivisions;
+    private double[] batchNum1;
+    private double[] batchNum2;
+    private Operation[] batchMultiplications;
+    private long[] batchLong1;
+    private long[] batchLong2;
+
+    @Setup
+    public void setUp() {
+        calculator = new Calculator(instrumented
+                ? new OperationStrategyFactory(new CalculatorMetrics(new SimpleMeterRegistry())::instrument)
+                : new OperationStrategyFactory());
+        num1 = 12.5;
+        num2 = 3.25;
+
+        Operation[] operations = Operation.values();
+        batchOperations = new Operation[BATCH_SIZE];
+        batchNum1 = new double[BATCH_SIZE];
+        batchNum2 = new double[BATCH_SIZE];
+        batchDivisions = new Operation[BATCH_SIZE];
+        batchMultiplications = new Operation[BATCH_SIZE];
+        batchLong1 = new long[BATCH_SIZE];
+        batchLong2 = new long[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchOperations[i] = operations[i % operations.length];
+            batchDivisions[i] = Operation.DIVIDE;
+            batchNum1[i] = i + 0.5;
+            batchNum2[i] = (i % 7) + 1.0;
+            batchMultiplications[i] = Operation.MULTIPLY;
+            batchLong1[i] = i * 1_000_003L;
+            batchLong2[i] = (i % 7) + 1;
+        }
+    }
+
+    @Benchmark
+    public double add() {
+        return calculator.calculate(Operation.ADD, num1, num2);
+    }
+
+    @Benchmark
+    public double divide() {
+        return calculator.calculate(Operation.DIVIDE, num1, num2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult batchMixed() {
+        return calculator.calculateBatch(batchOperations, batchNum1, batchNum2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult batchDivide() {
+        return calculator.calculateBatch(batchDivisions, batchNum1, batchNum2);
+    }
+
+    @Benchmark
+    public Number addExact() {
+        return calculator.calculateExact(Operation.ADD, 12, 3);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public IntegralBatchResult batchExactMixed() {
+        return calculator.calculateExactBatch(batchOperations, batchLong1, batchLong2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult batchMultiply() {
+        return calculator.calculateBatch(batchMultiplications, batchNum1, batchNum2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public IntegralBatchResult batchExactMultiply() {
+        return calculator.calculateExactBatch(batchMultiplications, batchLong1, batchLong2);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks chained calculations of increasing length through {@link Calculator.ChainCalculator}.
+ * Scores are reported per chain; divide by {@code steps} for the per-step cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChainBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    private int steps;
+
+    private Calculator calculator;
+    private Operation[] operations;
+    private Double[] operands;
+
+    @Setup
+    public void setUp() {
+        calculator = new Calculator();
+        operations = new Operation[steps];
+        operands = new Double[steps];
+        // ADD/MULTIPLY/SUBTRACT/DIVIDE with operands that keep the running value bounded.
+        Operation[] cycle = {Operation.ADD, Operation.MULTIPLY, Operation.SUBTRACT, Operation.DIVIDE};
+        double[] values = {1.5, 1.0001, 0.5, 1.0001};
+        for (int i = 0; i < steps; i++) {
+            operations[i] = cycle[i % cycle.length];
+            operands[i] = values[i % values.length];
+        }
+    }
+
+    @Benchmark
+    public double chain() {
+        Calculator.ChainCalculator chain = calculator.startChain(10.0);
+        for (int i = 0; i < steps; i++) {
+            chain.apply(operations[i], operands[i]);
+        }
+        return chain.getResult();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.plan.ChainSteps;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks chains that return every intermediate value. {@code stepwise} runs the steps one by one;
+ * {@code scan} and {@code parallelScan} compute the values of each run as a prefix scan, the latter
+ * with a {@link ParallelBatchExecutor} over all available processors.
+ * The chain is two long runs: additions and subtractions, then multiplications and divisions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChainScanBenchmark {
+
+    @Param({"1000000"})
+    private int steps;
+
+    private ChainSteps chain;
+    private double[] values;
+    private ParallelBatchExecutor executor;
+    private ChainPlanCache stepwiseCache;
+    private ChainPlanCache scanCache;
+    private ChainPlanCache parallelScanCache;
+
+    @Setup
+    public void setUp() {
+        Operation[] operations = new Operation[steps];
+        double[] operands = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            boolean additive = i < steps / 2;
+            operations[i] = additive
+                    ? (i % 2 == 0 ? Operation.ADD : Operation.SUBTRACT)
+                    : (i % 2 == 0 ? Operation.MULTIPLY : Operation.DIVIDE);
+            operands[i] = additive ? 1.5 + i % 7 : 1.0001;
+        }
+        chain = new ChainSteps(operations, operands);
+        values = new double[steps];
+
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        executor = new ParallelBatchExecutor(Runtime.getRuntime().availableProcessors(), 65536);
+        // Cache the long shapes too, so the benchmarks measure scanning rather than compilation.
+        stepwiseCache = new ChainPlanCache(new ChainPlanCompiler(factory), 4, steps, null);
+        scanCache = new ChainPlanCache(new ChainPlanCompiler(factory, true), 4, steps, null);
+        parallelScanCache = new ChainPlanCache(new ChainPlanCompiler(factory, true), 4, steps, executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public double stepwise() {
+        return stepwiseCache.scan(10.0, chain, values).getValue();
+    }
+
+    @Benchmark
+    public double scan() {
+        return scanCache.scan(10.0, chain, values).getValue();
+    }
+
+    @Benchmark
+    public double parallelScan() {
+        return parallelScanCache.scan(10.0, chain, values).getValue();
+    }
+}
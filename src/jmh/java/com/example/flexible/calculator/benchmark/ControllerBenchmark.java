@@ -0,0 +1,122 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.controller.CalculatorController;
+import com.example.flexible.calculator.dto.*;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.protocol.BinaryCalculationCodec;
+import com.example.flexible.calculator.service.CalculationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JSON round trips through {@link CalculatorController}:
+ * request bytes are bound with Jackson, handled by the controller and the response is written back.
+ * This isolates binding and controller cost from the servlet container.
+ * The {@code Binary} variants do the same round trips in the {@link BinaryCalculationCodec} format.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CalculatorController controller;
+    private byte[] calculateJson;
+    private byte[] chainJson;
+    private byte[] batchJson;
+    private byte[] evaluateJson;
+    private byte[] calculateBinary;
+    private byte[] chainBinary;
+    private ByteBuffer responseBuffer;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        OperationStrategyFactory strategyFactory = new OperationStrategyFactory();
+        controller = new CalculatorController(new CalculationService(new Calculator(strategyFactory),
+                new ChainPlanCache(new ChainPlanCompiler(strategyFactory), 1024),
+                new ExpressionCompiler(strategyFactory, 1024)));
+
+        calculateJson = objectMapper.writeValueAsBytes(new CalculationRequest(Operation.ADD, 5.0, 3.0));
+
+        List<ChainOperationRequest> operations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            operations.add(new ChainOperationRequest(i % 2 == 0 ? Operation.ADD : Operation.MULTIPLY, 1.5));
+        }
+        chainJson = objectMapper.writeValueAsBytes(new ChainCalculationRequest(10.0, operations));
+
+        ByteBuffer calculateBuffer = ByteBuffer.allocate(BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.ADD, 5.0, 3.0), calculateBuffer);
+        calculateBinary = calculateBuffer.array();
+        ByteBuffer chainBuffer = ByteBuffer.allocate(BinaryCalculationCodec.chainRequestSize(operations.size()));
+        BinaryCalculationCodec.writeChainRequest(new ChainCalculationRequest(10.0, operations), chainBuffer);
+        chainBinary = chainBuffer.array();
+        responseBuffer = ByteBuffer.allocate(BinaryCalculationCodec.MAX_RESPONSE_SIZE);
+
+        int size = 256;
+        Operation[] batchOperations = new Operation[size];
+        double[] num1 = new double[size];
+        double[] num2 = new double[size];
+        for (int i = 0; i < size; i++) {
+            batchOperations[i] = Operation.values()[i % Operation.values().length];
+            num1[i] = i;
+            num2[i] = i + 1;
+        }
+        batchJson = objectMapper.writeValueAsBytes(new BatchCalculationRequest(batchOperations, num1, num2));
+
+        evaluateJson = objectMapper.writeValueAsBytes(new ExpressionRequest("(a + b) * c / d",
+                Map.of("a", 1.0, "b", 2.0, "c", 3.0, "d", 4.0)));
+    }
+
+    @Benchmark
+    public byte[] calculate() throws Exception {
+        CalculationRequest request = objectMapper.readValue(calculateJson, CalculationRequest.class);
+        return objectMapper.writeValueAsBytes(controller.calculate(request).getBody());
+    }
+
+    @Benchmark
+    public byte[] chain() throws Exception {
+        ChainCalculationRequest request = objectMapper.readValue(chainJson, ChainCalculationRequest.class);
+        return objectMapper.writeValueAsBytes(controller.calculateChain(request).getBody());
+    }
+
+    @Benchmark
+    public ByteBuffer calculateBinary() {
+        CalculationRequest request = BinaryCalculationCodec.readCalculationRequest(ByteBuffer.wrap(calculateBinary));
+        BinaryCalculationCodec.writeResponse(controller.calculate(request).getBody(), responseBuffer.clear());
+        return responseBuffer;
+    }
+
+    @Benchmark
+    public ByteBuffer chainBinary() {
+        ChainCalculationRequest request = BinaryCalculationCodec.readChainRequest(ByteBuffer.wrap(chainBinary));
+        BinaryCalculationCodec.writeResponse(controller.calculateChain(request).getBody(), responseBuffer.clear());
+        return responseBuffer;
+    }
+
+    @Benchmark
+    public byte[] evaluate() throws Exception {
+        ExpressionRequest request = objectMapper.readValue(evaluateJson, ExpressionRequest.class);
+        return objectMapper.writeValueAsBytes(controller.evaluate(request).getBody());
+    }
+
+    @Benchmark
+    public byte[] batch() throws Exception {
+        BatchCalculationRequest request = objectMapper.readValue(batchJson, BatchCalculationRequest.class);
+        return objectMapper.writeValueAsBytes(controller.calculateBatch(request).getBody());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.decimal.DecimalArithmetic;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DecimalArithmetic}, whose division runs on scaled longs, with plain {@link BigDecimal}
+ * arithmetic and with doubles, over currency-like operands with two decimal places.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecimalBenchmark {
+    private static final int SIZE = 1024;
+    private static final MathContext PRECISION = new MathContext(20, RoundingMode.HALF_EVEN);
+
+    @Param({"ADD", "MULTIPLY", "DIVIDE"})
+    private Operation operation;
+
+    private final BigDecimal[] operands1 = new BigDecimal[SIZE];
+    private final BigDecimal[] operands2 = new BigDecimal[SIZE];
+    private final double[] doubles1 = new double[SIZE];
+    private final double[] doubles2 = new double[SIZE];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            operands1[i] = BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2);
+            // Divisors of the form 2^a * 5^b keep quotients exact.
+            operands2[i] = BigDecimal.valueOf(1L << random.nextInt(6), random.nextInt(3));
+            doubles1[i] = operands1[i].doubleValue();
+            doubles2[i] = operands2[i].doubleValue();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal decimalArithmetic() {
+        int i = next++ & (SIZE - 1);
+        return DecimalArithmetic.apply(operation, operands1[i], operands2[i], PRECISION);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        int i = next++ & (SIZE - 1);
+        BigDecimal a = operands1[i];
+        BigDecimal b = operands2[i];
+        switch (operation) {
+            case ADD:
+                return a.add(b, PRECISION);
+            case MULTIPLY:
+                return a.multiply(b, PRECISION);
+            default:
+                return a.divide(b, PRECISION);
+        }
+    }
+
+    @Benchmark
+    public double doubles() {
+        int i = next++ & (SIZE - 1);
+        switch (operation) {
+            case ADD:
+                return doubles1[i] + doubles2[i];
+            case MULTIPLY:
+                return doubles1[i] * doubles2[i];
+            default:
+                return doubles1[i] / doubles2[i];
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.cache.ResultCache;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.strategy.CacheableOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a costly custom strategy with and without memoization, over a key set that fits
+ * the cache ({@code keys=256}) and one that mostly misses ({@code keys=1048576}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoizationBenchmark {
+
+    /**
+     * Solves {@code x^operand2 = operand1} by Newton iteration, standing in for an iterative solver.
+     */
+    static final class RootStrategy implements CacheableOperationStrategy {
+        @Override
+        public double execute(double operand1, double operand2) {
+            double x = Math.max(1.0, operand1 / operand2);
+            for (int i = 0; i < 50; i++) {
+                double power = Math.pow(x, operand2 - 1);
+                x -= (power * x - operand1) / (operand2 * power);
+            }
+            return x;
+        }
+    }
+
+    @Param({"false", "true"})
+    private boolean memoized;
+
+    @Param({"256", "1048576"})
+    private int keys;
+
+    private OperationStrategy strategy;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        OperationStrategyFactory factory = memoized
+                ? new OperationStrategyFactory(new ResultCache(65536, Duration.ZERO)::memoize)
+                : new OperationStrategyFactory();
+        factory.registerStrategy(Operation.DIVIDE, new RootStrategy());
+        strategy = factory.getStrategy(Operation.DIVIDE);
+    }
+
+    @Benchmark
+    public double execute() {
+        next = (next + 1) & (keys - 1);
+        return strategy.execute(1000.0 + next, 3.0);
+    }
+}
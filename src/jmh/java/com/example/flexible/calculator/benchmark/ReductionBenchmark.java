@@ -0,0 +1,71 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.Reduction;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks compensated reductions over 4M values, sequentially and across a worker pool,
+ * against a plain summation loop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReductionBenchmark {
+    private static final int SIZE = 1 << 22;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private ParallelBatchExecutor executor;
+    private Calculator calculator;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        executor = new ParallelBatchExecutor(Runtime.getRuntime().availableProcessors(), 65536);
+        calculator = parallel
+                ? new Calculator(new OperationStrategyFactory(), executor)
+                : new Calculator(new OperationStrategyFactory());
+        SplittableRandom random = new SplittableRandom(42);
+        values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextDouble(-1e6, 1e6);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double sum() {
+        return calculator.reduce(Reduction.SUM, values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double max() {
+        return calculator.reduce(Reduction.MAX, values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double plainSum() {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
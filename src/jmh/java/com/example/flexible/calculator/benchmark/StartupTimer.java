@@ -0,0 +1,105 @@
+package com.example.flexible.calculator.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures cold start as the time from launching a JVM to the first successful
+ * {@code GET /api/calculator/health}, over several runs. Each run starts a fresh process on a free
+ * port, polls the endpoint every millisecond and kills the process once it answers.
+ * <p>
+ * Depends on the JDK only, so it also runs without compiling, through the source launcher:
+ * <pre>
+ * java src/jmh/java/com/example/flexible/calculator/benchmark/StartupTimer.java [--runs N] [--timeout SECONDS] \
+ *     -- -XX:SharedArchiveFile=target/cds/application.jsa -jar target/cds/flexible-calculator-0.0.1-SNAPSHOT.jar
+ * </pre>
+ * Everything after {@code --} is passed to {@code java}; {@code --server.port} is appended to it.
+ */
+public final class StartupTimer {
+
+    private StartupTimer() {}
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        long timeoutSeconds = 60;
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Usage: StartupTimer [--runs N] [--timeout SECONDS] -- <java arguments>");
+            System.exit(2);
+        }
+        for (int i = 0; i < separator; i += 2) {
+            if ("--runs".equals(args[i])) {
+                runs = Integer.parseInt(args[i + 1]);
+            } else if ("--timeout".equals(args[i])) {
+                timeoutSeconds = Long.parseLong(args[i + 1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        List<String> javaArgs = Arrays.asList(args).subList(separator + 1, args.length);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(100)).build();
+
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = measure(client, java, javaArgs, timeoutSeconds);
+            System.out.printf("Run %d: %d ms%n", run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+        System.out.printf("Time to first successful /health over %d runs: min %d ms, median %d ms, max %d ms%n",
+                runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+
+    private static long measure(HttpClient client, String java, List<String> javaArgs, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(javaArgs);
+        command.add("--server.port=" + port);
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/calculator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        long deadline = start + Duration.ofSeconds(timeoutSeconds).toNanos();
+        try {
+            while (System.nanoTime() - deadline < 0) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with status " + process.exitValue());
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet.
+                }
+                Thread.sleep(1);
+            }
+            throw new IllegalStateException("No successful /health within " + timeoutSeconds + " s");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
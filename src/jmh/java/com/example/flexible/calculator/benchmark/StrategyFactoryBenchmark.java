@@ -0,0 +1,53 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks strategy lookup in {@link OperationStrategyFactory}, with the default
+ * strategies only and with custom strategies registered at runtime.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyFactoryBenchmark {
+
+    @Param({"default", "custom"})
+    private String strategies;
+
+    private OperationStrategyFactory factory;
+    private Operation[] operations;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        if ("custom".equals(strategies)) {
+            OperationStrategy add = (a, b) -> a + b;
+            OperationStrategy multiply = (a, b) -> a * b;
+            factory.registerStrategy(Operation.ADD, add);
+            factory.registerStrategy(Operation.MULTIPLY, multiply);
+        }
+        operations = Operation.values();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void lookupAll(Blackhole blackhole) {
+        for (Operation operation : operations) {
+            blackhole.consume(factory.getStrategy(operation));
+        }
+    }
+
+    @Benchmark
+    public double lookupAndExecute() {
+        return factory.getStrategy(Operation.MULTIPLY).execute(6.0, 7.0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.protocol.BinaryCalculationCodec;
+import com.example.flexible.calculator.protocol.BinaryCalculationServer;
+import com.example.flexible.calculator.service.CalculationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loopback round trips through {@link BinaryCalculationServer}.
+ * {@code roundTrip} sends one calculation and waits for its answer; {@code pipelined} sends
+ * {@value #PIPELINE_DEPTH} calculations in one write and reads all answers, so its score divided
+ * by the depth is the per-request cost when the connection is kept busy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TcpServerBenchmark {
+    private static final int PIPELINE_DEPTH = 64;
+    // Frame header plus status byte and double result.
+    private static final int RESPONSE_FRAME_SIZE = BinaryCalculationServer.FRAME_HEADER_SIZE + 9;
+
+    private BinaryCalculationServer server;
+    private SocketChannel client;
+    private ByteBuffer request;
+    private ByteBuffer pipeline;
+    private ByteBuffer response;
+    private ByteBuffer pipelineResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        OperationStrategyFactory strategyFactory = new OperationStrategyFactory();
+        CalculationService service = new CalculationService(new Calculator(strategyFactory),
+                new ChainPlanCache(new ChainPlanCompiler(strategyFactory), 1024),
+                new ExpressionCompiler(strategyFactory, 1024));
+        server = new BinaryCalculationServer(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1 << 20);
+        server.start();
+        client = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        request = ByteBuffer.allocateDirect(BinaryCalculationServer.FRAME_HEADER_SIZE + 1
+                + BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        writeFrame(request);
+        pipeline = ByteBuffer.allocateDirect(request.capacity() * PIPELINE_DEPTH);
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            writeFrame(pipeline);
+        }
+        response = ByteBuffer.allocateDirect(RESPONSE_FRAME_SIZE);
+        pipelineResponse = ByteBuffer.allocateDirect(RESPONSE_FRAME_SIZE * PIPELINE_DEPTH);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public double roundTrip() throws IOException {
+        return exchange(request, response);
+    }
+
+    @Benchmark
+    public double pipelined() throws IOException {
+        return exchange(pipeline, pipelineResponse);
+    }
+
+    private double exchange(ByteBuffer requests, ByteBuffer responses) throws IOException {
+        requests.clear();
+        while (requests.hasRemaining()) {
+            client.write(requests);
+        }
+        responses.clear();
+        while (responses.hasRemaining()) {
+            if (client.read(responses) < 0) {
+                throw new IOException("Connection closed");
+            }
+        }
+        return responses.getDouble(responses.capacity() - 8);
+    }
+
+    private static void writeFrame(ByteBuffer buffer) {
+        buffer.putInt(1 + BinaryCalculationCodec.CALCULATION_REQUEST_SIZE).put(BinaryCalculationServer.CALCULATE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.ADD, 5.0, 3.0), buffer);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.flexible.calculator.benchmark;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.controller.CalculatorController;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.service.CalculationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on a bounded platform-thread pool (sized like Tomcat's default
+ * 200 workers) with one virtual thread per request.
+ * <p>
+ * Each request is a chain JSON round trip through {@link CalculatorController} followed by a
+ * simulated downstream wait of {@code waitMillis}. {@code throughput} submits bursts of
+ * {@code concurrency} requests; {@code latency} samples a single request while
+ * {@code concurrency} background clients keep the executor saturated, so its p0.99 is the
+ * tail latency under load. The {@code virtual} mode needs JDK 21 or newer.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int CONCURRENCY = 2000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"0", "5"})
+    public int waitMillis;
+
+    private ObjectMapper objectMapper;
+    private CalculatorController controller;
+    private byte[] chainJson;
+    private ExecutorService executor;
+    private ExecutorService clients;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        OperationStrategyFactory strategyFactory = new OperationStrategyFactory();
+        controller = new CalculatorController(new CalculationService(new Calculator(strategyFactory),
+                new ChainPlanCache(new ChainPlanCompiler(strategyFactory), 1024),
+                new ExpressionCompiler(strategyFactory, 1024)));
+        List<ChainOperationRequest> operations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            operations.add(new ChainOperationRequest(i % 2 == 0 ? Operation.ADD : Operation.MULTIPLY, 1.5));
+        }
+        chainJson = objectMapper.writeValueAsBytes(new ChainCalculationRequest(10.0, operations));
+
+        executor = "virtual".equals(threads) ? newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Setup(Level.Iteration)
+    public void startBackgroundLoad(BenchmarkParams params) {
+        if (!params.getBenchmark().endsWith("latency")) {
+            return;
+        }
+        running = true;
+        clients = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.execute(() -> {
+                while (running) {
+                    submit().join();
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopBackgroundLoad() throws InterruptedException {
+        if (clients != null) {
+            running = false;
+            clients.shutdown();
+            clients.awaitTermination(30, TimeUnit.SECONDS);
+            clients = null;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(CONCURRENCY)
+    public void throughput() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            requests[i] = submit();
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public byte[] latency() {
+        return submit().join();
+    }
+
+    private CompletableFuture<byte[]> submit() {
+        return CompletableFuture.supplyAsync(this::handle, executor);
+    }
+
+    private byte[] handle() {
+        try {
+            ChainCalculationRequest request = objectMapper.readValue(chainJson, ChainCalculationRequest.class);
+            byte[] response = objectMapper.writeValueAsBytes(controller.calculateChain(request).getBody());
+            if (waitMillis > 0) {
+                Thread.sleep(waitMillis);
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        // Looked up reflectively because the project compiles for Java 17.
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer", e);
+        }
+    }
+}
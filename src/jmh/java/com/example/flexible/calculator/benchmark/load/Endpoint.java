@@ -0,0 +1,100 @@
+package com.example.flexible.calculator.benchmark.load;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.Reduction;
+import com.example.flexible.calculator.dto.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoints the load harness can drive, each with one representative request.
+ * Request bodies are serialized once, so the harness spends its time waiting on the server.
+ */
+enum Endpoint {
+    CALCULATE("/calculate") {
+        @Override
+        Object body() {
+            return new CalculationRequest(Operation.ADD, 5.0, 3.0);
+        }
+    },
+    CHAIN("/chain") {
+        @Override
+        Object body() {
+            List<ChainOperationRequest> operations = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                operations.add(new ChainOperationRequest(i % 2 == 0 ? Operation.ADD : Operation.MULTIPLY, 1.5));
+            }
+            return new ChainCalculationRequest(10.0, operations);
+        }
+    },
+    EVALUATE("/evaluate") {
+        @Override
+        Object body() {
+            return new ExpressionRequest("(a + b) * c / d", Map.of("a", 1.0, "b", 2.0, "c", 3.0, "d", 4.0));
+        }
+    },
+    BATCH("/batch") {
+        @Override
+        Object body() {
+            int size = 256;
+            Operation[] operations = new Operation[size];
+            double[] num1 = new double[size];
+            double[] num2 = new double[size];
+            for (int i = 0; i < size; i++) {
+                operations[i] = Operation.values()[i % Operation.values().length];
+                num1[i] = i;
+                num2[i] = i + 1;
+            }
+            return new BatchCalculationRequest(operations, num1, num2);
+        }
+    },
+    REDUCE("/reduce") {
+        @Override
+        Object body() {
+            double[] values = new double[1024];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i * 0.1;
+            }
+            return new ReductionRequest(Reduction.SUM, values);
+        }
+    },
+    HEALTH("/health") {
+        @Override
+        Object body() {
+            return null;
+        }
+    };
+
+    private final String path;
+
+    Endpoint(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Gets the request body, or null for a GET endpoint.
+     */
+    abstract Object body();
+
+    /**
+     * Builds the request against a base URL such as {@code http://127.0.0.1:8080/api/calculator}.
+     * The request is immutable and reused for every call.
+     */
+    HttpRequest request(String baseUrl, ObjectMapper objectMapper) throws JsonProcessingException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        Object body = body();
+        if (body == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+}
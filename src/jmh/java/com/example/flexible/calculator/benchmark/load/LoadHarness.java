@@ -0,0 +1,228 @@
+package com.example.flexible.calculator.benchmark.load;
+
+import com.example.flexible.calculator.FlexibleCalculatorApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load generator. Starts the application on a random local port (or targets a running
+ * instance with {@code --url}), drives a weighted mix of endpoints through a real HTTP client and
+ * reports throughput and latency percentiles recorded with HdrHistogram.
+ * <p>
+ * Two load models are supported:
+ * <ul>
+ *   <li>Closed loop (default): {@code --concurrency} workers each send a request and wait for its answer
+ *   before sending the next, which measures the highest throughput the server sustains.</li>
+ *   <li>Open loop ({@code --rate R}): requests are scheduled at a fixed R per second whatever the
+ *   server does, with at most {@code --concurrency} in flight. Latency is measured from each request's
+ *   scheduled time, not from when it could actually be sent, so stalls are not hidden by the
+ *   generator slowing down (coordinated omission).</li>
+ * </ul>
+ * Options: {@code --mix calculate=60,chain=20,evaluate=10,batch=5,reduce=5}, {@code --concurrency 8},
+ * {@code --rate 0}, {@code --warmup 5}, {@code --duration 10} (seconds), {@code --url http://host:port},
+ * {@code --profile reactive}, {@code --seed 42}.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--concurrency 16 --duration 30"
+ * </pre>
+ */
+public final class LoadHarness {
+    private static final String DEFAULT_MIX = "calculate=60,chain=20,evaluate=10,batch=5,reduce=5";
+
+    private final HttpClient client;
+    private final RequestMix mix;
+    private final Map<Endpoint, HttpRequest> requests = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final int concurrency;
+    private final double rate;
+    private final long seed;
+
+    private LoadHarness(String baseUrl, RequestMix mix, int concurrency, double rate, long seed) throws IOException {
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.seed = seed;
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (Endpoint endpoint : mix.getEndpoints()) {
+            requests.put(endpoint, endpoint.request(baseUrl, objectMapper));
+            latencies.put(endpoint, new Recorder(3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        RequestMix mix = RequestMix.parse(options.getOrDefault("mix", DEFAULT_MIX));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "5"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        if (concurrency <= 0 || rate < 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("Concurrency and duration must be positive, rate and warmup non-negative");
+        }
+
+        ConfigurableApplicationContext context = null;
+        String url = options.get("url");
+        if (url == null) {
+            SpringApplicationBuilder application = new SpringApplicationBuilder(FlexibleCalculatorApplication.class);
+            if (options.containsKey("profile")) {
+                application.profiles(options.get("profile").split(","));
+            }
+            context = application.run("--server.port=0", "--logging.level.root=WARN");
+            url = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LoadHarness harness = new LoadHarness(url + "/api/calculator", mix, concurrency, rate, seed);
+            System.out.printf(Locale.ROOT, "Target %s, mix: %s%n", url, mix);
+            System.out.printf(Locale.ROOT, "%s, %d s warmup, %d s measurement%n", rate > 0
+                    ? String.format(Locale.ROOT, "Open loop at %.0f req/s, at most %d in flight", rate, concurrency)
+                    : "Closed loop with " + concurrency + " workers", warmupSeconds, durationSeconds);
+            if (warmupSeconds > 0) {
+                harness.run(TimeUnit.SECONDS.toNanos(warmupSeconds));
+                harness.reset();
+            }
+            long elapsed = harness.run(TimeUnit.SECONDS.toNanos(durationSeconds));
+            harness.report(elapsed);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the load for the given time and returns how long it actually took, in-flight requests included.
+     */
+    private long run(long durationNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        if (rate > 0) {
+            runOpenLoop(start, start + durationNanos);
+        } else {
+            runClosedLoop(start + durationNanos);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void runClosedLoop(long end) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() - end < 0) {
+                    Endpoint endpoint = mix.pick(random);
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(requests.get(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    record(endpoint, System.nanoTime() - sent, status);
+                }
+            }, "load-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runOpenLoop(long start, long end) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(concurrency);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Blocks when the server falls behind; the delay still counts, since latency starts at the schedule.
+            inFlight.acquire();
+            Endpoint endpoint = mix.pick(random);
+            client.sendAsync(requests.get(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        record(endpoint, System.nanoTime() - scheduled, failure == null ? response.statusCode() : -1);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    private void record(Endpoint endpoint, long nanos, int status) {
+        latencies.get(endpoint).recordValue(nanos);
+        if (status < 200 || status >= 300) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    private void reset() {
+        for (Endpoint endpoint : latencies.keySet()) {
+            latencies.get(endpoint).reset();
+            errors.get(endpoint).reset();
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        System.out.printf(Locale.ROOT, "%n%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 us", "p99 us", "p99.9 us", "max us");
+        for (Endpoint endpoint : latencies.keySet()) {
+            Histogram histogram = latencies.get(endpoint).getIntervalHistogram();
+            long endpointErrors = errors.get(endpoint).sum();
+            total.add(histogram);
+            totalErrors += endpointErrors;
+            printRow(endpoint.name().toLowerCase(Locale.ROOT), histogram, endpointErrors, seconds);
+        }
+        printRow("total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf(Locale.ROOT, "%-10s %10d %8d %10.0f %10.1f %10.1f %10.1f %10.1f%n",
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMaxValue() / 1e3);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Options must look like --name value: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
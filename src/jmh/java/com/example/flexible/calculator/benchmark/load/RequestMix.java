@@ -0,0 +1,84 @@
+package com.example.flexible.calculator.benchmark.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of endpoints, parsed from a specification such as {@code calculate=70,chain=20,batch=10}.
+ * Weights are relative; they need not add up to 100.
+ */
+final class RequestMix {
+    private final Endpoint[] endpoints;
+    private final double[] cumulative;
+
+    private RequestMix(Map<Endpoint, Double> weights) {
+        endpoints = weights.keySet().toArray(new Endpoint[0]);
+        cumulative = new double[endpoints.length];
+        double total = 0.0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    /**
+     * Parses a mix specification.
+     *
+     * @throws IllegalArgumentException if an entry is malformed, names an unknown endpoint or has a
+     * negative weight, or if no weight is positive
+     */
+    static RequestMix parse(String specification) {
+        Map<Endpoint, Double> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like endpoint=weight: " + entry);
+            }
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight < 0 || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Weight must be a non-negative number: " + entry);
+            }
+            if (weight > 0) {
+                weights.merge(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight, Double::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight");
+        }
+        return new RequestMix(weights);
+    }
+
+    Endpoint[] getEndpoints() {
+        return endpoints.clone();
+    }
+
+    Endpoint pick(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (u < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        double previous = 0.0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(endpoints[i].name().toLowerCase(Locale.ROOT))
+                    .append(String.format(Locale.ROOT, " %.0f%%", (cumulative[i] - previous) * 100));
+            previous = cumulative[i];
+        }
+        return text.toString();
+    }
+}
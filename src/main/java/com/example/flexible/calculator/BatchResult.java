@@ -0,0 +1,55 @@
+package com.example.flexible.calculator;
+
+/**
+ * Result of a columnar batch calculation.
+ * Results and errors are indexed like the input columns; a failed index
+ * holds {@code NaN} as its result and a non-null error message.
+ */
+public class BatchResult {
+    private final double[] results;
+    private final String[] errors;
+    private final int errorCount;
+
+    public BatchResult(double[] results, String[] errors) {
+        this.results = results;
+        this.errors = errors;
+        int count = 0;
+        for (String error : errors) {
+            if (error != null) {
+                count++;
+            }
+        }
+        this.errorCount = count;
+    }
+
+    /**
+     * Gets the results column. Failed indices hold {@code NaN}.
+     *
+     * @return the results, one per input index
+     */
+    public double[] getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the error message for the given index.
+     *
+     * @param index the input index
+     * @return the error message, or null if the calculation succeeded
+     */
+    public String getError(int index) {
+        return errors[index];
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.flexible.calculator;
+
+import com.example.flexible.calculator.strategy.impl.DivisionStrategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of a calculation that reports failures as a status instead of throwing.
+ * Failures with a fixed message are shared constants, so the error path allocates nothing.
+ */
+public final class CalculationResult {
+    public static final CalculationResult DIVISION_BY_ZERO =
+            new CalculationResult(Double.NaN, CalculationStatus.DIVISION_BY_ZERO, DivisionStrategy.DIVISION_BY_ZERO);
+    public static final CalculationResult OPERATION_NULL =
+            new CalculationResult(Double.NaN, CalculationStatus.INVALID_INPUT, "Operation cannot be null");
+    public static final CalculationResult NUMBERS_NULL =
+            new CalculationResult(Double.NaN, CalculationStatus.INVALID_INPUT, "Numbers cannot be null");
+    public static final CalculationResult OPERAND_NULL =
+            new CalculationResult(Double.NaN, CalculationStatus.INVALID_INPUT, "Operand cannot be null");
+    public static final CalculationResult OPERATIONS_EMPTY =
+            new CalculationResult(Double.NaN, CalculationStatus.INVALID_INPUT, "Operations list cannot be null or empty");
+
+    private static final CalculationResult[] UNSUPPORTED = new CalculationResult[Operation.values().length];
+
+    static {
+        for (Operation operation : Operation.values()) {
+            UNSUPPORTED[operation.ordinal()] = new CalculationResult(Double.NaN,
+                    CalculationStatus.UNSUPPORTED_OPERATION, "Operation " + operation + " is not supported");
+        }
+    }
+
+    private final double value;
+    private final CalculationStatus status;
+    private final String message;
+    private final BigDecimal decimalValue;
+
+    private CalculationResult(double value, CalculationStatus status, String message) {
+        this(value, status, message, null);
+    }
+
+    private CalculationResult(double value, CalculationStatus status, String message, BigDecimal decimalValue) {
+        this.value = value;
+        this.status = status;
+        this.message = message;
+        this.decimalValue = decimalValue;
+    }
+
+    public static CalculationResult success(double value) {
+        return new CalculationResult(value, CalculationStatus.OK, null);
+    }
+
+    /**
+     * Creates a successful decimal result; {@link #getValue()} holds its nearest double.
+     *
+     * @param value the exact result
+     * @return the successful result
+     */
+    public static CalculationResult success(BigDecimal value) {
+        return new CalculationResult(value.doubleValue(), CalculationStatus.OK, null, value);
+    }
+
+    /**
+     * Creates a failed result. Prefer the shared constants for failures with a fixed message.
+     *
+     * @param status the failure status
+     * @param message the error message
+     * @return the failed result
+     */
+    public static CalculationResult failure(CalculationStatus status, String message) {
+        if (status == null || status.isSuccess()) {
+            throw new IllegalArgumentException("Failure status required");
+        }
+        return new CalculationResult(Double.NaN, status, message);
+    }
+
+    /**
+     * Gets the shared result for an operation without a registered strategy.
+     *
+     * @param operation the unsupported operation
+     * @return the shared failed result
+     */
+    public static CalculationResult unsupported(Operation operation) {
+        return UNSUPPORTED[operation.ordinal()];
+    }
+
+    /**
+     * Gets the shared result for a status reported by {@link com.example.flexible.calculator.strategy.OperationStrategy#validate}.
+     *
+     * @param status the failure status
+     * @param operation the operation that reported it
+     * @return the failed result
+     */
+    public static CalculationResult of(CalculationStatus status, Operation operation) {
+        switch (status) {
+            case DIVISION_BY_ZERO:
+                return DIVISION_BY_ZERO;
+            case UNSUPPORTED_OPERATION:
+                return unsupported(operation);
+            default:
+                return failure(status, "Operation " + operation + " rejected its operands");
+        }
+    }
+
+    public double getValue() { return value; }
+
+    public CalculationStatus getStatus() { return status; }
+
+    public String getMessage() { return message; }
+
+    /**
+     * Gets the result of a decimal calculation.
+     *
+     * @return the decimal result, or null for double calculations and failures
+     */
+    public BigDecimal getDecimalValue() { return decimalValue; }
+
+    public boolean isSuccess() { return status.isSuccess(); }
+
+    /**
+     * Converts a failure into the exception the throwing API reports for it.
+     *
+     * @return the exception for this failure
+     */
+    public RuntimeException toException() {
+        switch (status) {
+            case INVALID_INPUT:
+                return new IllegalArgumentException(message);
+            case UNSUPPORTED_OPERATION:
+                return new UnsupportedOperationException(message);
+            case OK:
+                throw new IllegalStateException("Result is not a failure");
+            default:
+                return new ArithmeticException(message);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.flexible.calculator;
+
+/**
+ * Outcome of a calculation on the exception-free path.
+ */
+public enum CalculationStatus {
+    OK,
+    INVALID_INPUT,
+    DIVISION_BY_ZERO,
+    ARITHMETIC_ERROR,
+    UNSUPPORTED_OPERATION;
+
+    public boolean isSuccess() {
+        return this == OK;
+    }
+}
@@ -1,7 +1,19 @@
 package com.example.flexible.calculator;
 
+import com.example.flexible.calculator.decimal.DecimalArithmetic;
 import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.factory.StrategySnapshot;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
 import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.impl.AdditionStrategy;
+import com.example.flexible.calculator.strategy.impl.DivisionStrategy;
+import com.example.flexible.calculator.strategy.impl.MultiplicationStrategy;
+import com.example.flexible.calculator.strategy.impl.SubtractionStrategy;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
 
 /**
  * Main Calculator class that supports basic operations and chaining.
@@ -9,13 +21,35 @@ import com.example.flexible.calculator.strategy.OperationStrategy;
  * Compatible with IoC containers for dependency injection.
  */
 public class Calculator {
+    /**
+     * Block size of reductions. Each block is reduced on its own and the partial results are combined
+     * in block order, so results do not depend on how many threads shared the work.
+     */
+    static final int REDUCTION_CHUNK_SIZE = 4096;
+
+    private static final Class<?>[] BUILT_IN_STRATEGIES = new Class<?>[Operation.values().length];
+    private static final CalculationResult[] DECIMAL_UNSUPPORTED = new CalculationResult[Operation.values().length];
+
+    static {
+        BUILT_IN_STRATEGIES[Operation.ADD.ordinal()] = AdditionStrategy.class;
+        BUILT_IN_STRATEGIES[Operation.SUBTRACT.ordinal()] = SubtractionStrategy.class;
+        BUILT_IN_STRATEGIES[Operation.MULTIPLY.ordinal()] = MultiplicationStrategy.class;
+        BUILT_IN_STRATEGIES[Operation.DIVIDE.ordinal()] = DivisionStrategy.class;
+        for (Operation operation : Operation.values()) {
+            DECIMAL_UNSUPPORTED[operation.ordinal()] = CalculationResult.failure(CalculationStatus.UNSUPPORTED_OPERATION,
+                    "Operation " + operation + " does not support decimal precision");
+        }
+    }
+
     private final OperationStrategyFactory strategyFactory;
+    private final ParallelBatchExecutor batchExecutor;
 
     /**
      * Default constructor - creates factory with default strategies.
      */
     public Calculator() {
         this.strategyFactory = new OperationStrategyFactory();
+        this.batchExecutor = null;
     }
 
     /**
@@ -28,6 +62,24 @@ public class Calculator {
             throw new IllegalArgumentException("OperationStrategyFactory cannot be null");
         }
         this.strategyFactory = strategyFactory;
+        this.batchExecutor = null;
+    }
+
+    /**
+     * Constructor for dependency injection with parallel batch execution.
+     *
+     * @param strategyFactory the factory for operation strategies
+     * @param batchExecutor the executor that splits large batches across worker threads
+     */
+    public Calculator(OperationStrategyFactory strategyFactory, ParallelBatchExecutor batchExecutor) {
+        if (strategyFactory == null) {
+            throw new IllegalArgumentException("OperationStrategyFactory cannot be null");
+        }
+        if (batchExecutor == null) {
+            throw new IllegalArgumentException("ParallelBatchExecutor cannot be null");
+        }
+        this.strategyFactory = strategyFactory;
+        this.batchExecutor = batchExecutor;
     }
 
     /**
@@ -48,6 +100,252 @@ public class Calculator {
         return strategy.execute(num1.doubleValue(), num2.doubleValue());
     }
 
+    /**
+     * Performs a single calculation between two numbers, reporting failures as a status
+     * instead of throwing. Invalid input, unsupported operations and operands rejected by
+     * {@link OperationStrategy#validate} return shared failure results without allocating.
+     *
+     * @param operation the operation to perform
+     * @param num1 the first number
+     * @param num2 the second number
+     * @return the result or the reason the calculation failed
+     */
+    public CalculationResult tryCalculate(Operation operation, Number num1, Number num2) {
+        if (operation == null) {
+            return CalculationResult.OPERATION_NULL;
+        }
+        if (num1 == null || num2 == null) {
+            return CalculationResult.NUMBERS_NULL;
+        }
+        return tryCalculate(operation, num1.doubleValue(), num2.doubleValue());
+    }
+
+    private CalculationResult tryCalculate(Operation operation, double operand1, double operand2) {
+        OperationStrategy strategy = strategyFactory.snapshot().findStrategy(operation);
+        if (strategy == null) {
+            return CalculationResult.unsupported(operation);
+        }
+        CalculationStatus status = strategy.validate(operand1, operand2);
+        if (!status.isSuccess()) {
+            return CalculationResult.of(status, operation);
+        }
+        try {
+            return CalculationResult.success(strategy.execute(operand1, operand2));
+        } catch (ArithmeticException e) {
+            // Custom strategies that do not implement validate still fail safely.
+            return CalculationResult.failure(CalculationStatus.ARITHMETIC_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Performs a single calculation exactly on integral operands.
+     * Strategies with an {@link IntegralOperationStrategy integral form}, including the built-ins, compute
+     * in {@code long} and widen only when the result does not fit: overflowing results are returned as
+     * {@link java.math.BigInteger}s and quotients with a remainder as {@link Double}s. Other strategies
+     * run through {@link OperationStrategy#execute} and return a {@link Double}.
+     *
+     * @param operation the operation to perform
+     * @param num1 the first number
+     * @param num2 the second number
+     * @return the result as a {@link Long}, {@link java.math.BigInteger} or {@link Double}
+     * @throws UnsupportedOperationException if the operation is not supported
+     * @throws ArithmeticException if the operation is mathematically invalid
+     * @throws IllegalArgumentException if the operation is null
+     */
+    public Number calculateExact(Operation operation, long num1, long num2) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        StrategySnapshot strategies = strategyFactory.snapshot();
+        IntegralOperationStrategy integral = strategies.findIntegralStrategy(operation);
+        if (integral == null) {
+            return strategies.getStrategy(operation).execute(num1, num2);
+        }
+        CalculationStatus status = integral.validate(num1, num2);
+        if (!status.isSuccess()) {
+            throw CalculationResult.of(status, operation).toException();
+        }
+        try {
+            return integral.executeExact(num1, num2);
+        } catch (ArithmeticException e) {
+            return integral.executeWide(num1, num2);
+        }
+    }
+
+    /**
+     * Performs a single calculation in decimal arithmetic, rounded to the given precision.
+     * Only operations backed by a built-in strategy have a decimal form; operations replaced by
+     * a custom strategy report {@link CalculationStatus#UNSUPPORTED_OPERATION}.
+     * Terminating quotients of operands of up to 18 digits are computed as scaled longs, see {@link DecimalArithmetic}.
+     *
+     * @param operation the operation to perform
+     * @param num1 the first number
+     * @param num2 the second number
+     * @param mathContext the precision and rounding of the result; {@link MathContext#UNLIMITED} for exact results
+     * @return the result, with {@link CalculationResult#getDecimalValue()} set, or the reason the calculation failed
+     */
+    public CalculationResult tryCalculate(Operation operation, BigDecimal num1, BigDecimal num2, MathContext mathContext) {
+        if (operation == null) {
+            return CalculationResult.OPERATION_NULL;
+        }
+        if (num1 == null || num2 == null) {
+            return CalculationResult.NUMBERS_NULL;
+        }
+        if (mathContext == null) {
+            throw new IllegalArgumentException("MathContext cannot be null");
+        }
+        OperationStrategy strategy = strategyFactory.snapshot().findStrategy(operation);
+        if (strategy == null) {
+            return CalculationResult.unsupported(operation);
+        }
+        // Decorators keep the delegate's results, so decorated built-ins still have a decimal form.
+        if (DelegatingOperationStrategy.unwrap(strategy).getClass() != BUILT_IN_STRATEGIES[operation.ordinal()]) {
+            return DECIMAL_UNSUPPORTED[operation.ordinal()];
+        }
+        if (operation == Operation.DIVIDE && num2.signum() == 0) {
+            return CalculationResult.DIVISION_BY_ZERO;
+        }
+        try {
+            return CalculationResult.success(DecimalArithmetic.apply(operation, num1, num2, mathContext));
+        } catch (ArithmeticException e) {
+            // Exact division whose decimal expansion does not terminate.
+            return CalculationResult.failure(CalculationStatus.ARITHMETIC_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Performs a batch of independent calculations given as columns.
+     * Entries are grouped by operation so each strategy runs one tight loop over
+     * primitive arrays. Errors are reported per index and never fail the whole batch.
+     * When a {@link ParallelBatchExecutor} is configured, large batches are split across its workers.
+     *
+     * @param operations the operation for each index
+     * @param num1 the first operands
+     * @param num2 the second operands
+     * @return the per-index results and errors
+     * @throws IllegalArgumentException if any column is null or the columns differ in length
+     */
+    public BatchResult calculateBatch(Operation[] operations, double[] num1, double[] num2) {
+        validateBatchInputs(operations, num1, num2);
+
+        // One snapshot for the whole batch, so every index sees the same registrations.
+        StrategySnapshot strategies = strategyFactory.snapshot();
+        int length = operations.length;
+        double[] results = new double[length];
+        String[] errors = new String[length];
+
+        if (batchExecutor == null) {
+            calculateRange(strategies, operations, num1, num2, results, errors, 0, length);
+        } else {
+            // Every index is computed independently, so splitting does not change any result.
+            batchExecutor.run(length, (from, to) ->
+                    calculateRange(strategies, operations, num1, num2, results, errors, from, to));
+        }
+        return new BatchResult(results, errors);
+    }
+
+    /**
+     * Performs a batch of independent calculations on integral operands given as columns, with the
+     * results of {@link #calculateExact}. Entries are grouped by operation, and each group runs the
+     * strategy's {@link IntegralOperationStrategy#executeExactBatch} loop over primitive arrays; only
+     * indices whose result does not fit in a {@code long} are widened one by one. Errors are reported
+     * per index and never fail the whole batch. When a {@link ParallelBatchExecutor} is configured,
+     * large batches are split across its workers.
+     *
+     * @param operations the operation for each index
+     * @param num1 the first operands
+     * @param num2 the second operands
+     * @return the per-index results and errors
+     * @throws IllegalArgumentException if any column is null or the columns differ in length
+     */
+    public IntegralBatchResult calculateExactBatch(Operation[] operations, long[] num1, long[] num2) {
+        if (operations == null || num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Batch columns cannot be null");
+        }
+        if (num1.length != operations.length || num2.length != operations.length) {
+            throw new IllegalArgumentException("Batch columns must have the same length");
+        }
+
+        StrategySnapshot strategies = strategyFactory.snapshot();
+        int length = operations.length;
+        long[] results = new long[length];
+        Number[] wideResults = new Number[length];
+        String[] errors = new String[length];
+
+        if (batchExecutor == null) {
+            calculateExactRange(strategies, operations, num1, num2, results, wideResults, errors, 0, length);
+        } else {
+            batchExecutor.run(length, (from, to) ->
+                    calculateExactRange(strategies, operations, num1, num2, results, wideResults, errors, from, to));
+        }
+        return new IntegralBatchResult(results, wideResults, errors);
+    }
+
+    /**
+     * Reduces an array of values to one aggregate. Sums and means use Neumaier compensated summation.
+     * Values are reduced in fixed blocks of {@value #REDUCTION_CHUNK_SIZE}, in parallel when a
+     * {@link ParallelBatchExecutor} is configured. The block results are then combined in block order,
+     * so results are bit-for-bit identical whatever the number of threads.
+     *
+     * @param reduction the aggregate to compute
+     * @param values the values to reduce
+     * @return the aggregate
+     * @throws IllegalArgumentException if any parameter is null, or the array is empty for
+     * {@link Reduction#MEAN}, {@link Reduction#MIN} or {@link Reduction#MAX}
+     */
+    public double reduce(Reduction reduction, double[] values) {
+        if (reduction == null) {
+            throw new IllegalArgumentException("Reduction cannot be null");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        int length = values.length;
+        if (length == 0 && reduction != Reduction.SUM && reduction != Reduction.PRODUCT) {
+            throw new IllegalArgumentException("Values cannot be empty for " + reduction);
+        }
+
+        int chunks = (length + REDUCTION_CHUNK_SIZE - 1) / REDUCTION_CHUNK_SIZE;
+        double[] partials = new double[chunks];
+        double[] compensations = new double[chunks];
+        ParallelBatchExecutor.RangeTask task = (from, to) -> {
+            for (int start = from; start < to; start += REDUCTION_CHUNK_SIZE) {
+                reduceChunk(reduction, values, start, Math.min(start + REDUCTION_CHUNK_SIZE, to),
+                        partials, compensations, start / REDUCTION_CHUNK_SIZE);
+            }
+        };
+        if (batchExecutor == null) {
+            task.run(0, length);
+        } else {
+            batchExecutor.run(length, REDUCTION_CHUNK_SIZE, task);
+        }
+
+        switch (reduction) {
+            case SUM:
+                return combineSums(partials, compensations);
+            case MEAN:
+                return combineSums(partials, compensations) / length;
+            case PRODUCT:
+                double product = 1.0;
+                for (double partial : partials) {
+                    product *= partial;
+                }
+                return product;
+            case MIN:
+                double min = partials[0];
+                for (double partial : partials) {
+                    min = Math.min(min, partial);
+                }
+                return min;
+            default:
+                double max = partials[0];
+                for (double partial : partials) {
+                    max = Math.max(max, partial);
+                }
+                return max;
+        }
+    }
+
     /**
      * Creates a new chaining calculator starting with the given initial value.
      *
@@ -61,6 +359,263 @@ public class Calculator {
         return new ChainCalculator(this, initialValue.doubleValue());
     }
 
+    private static void calculateRange(StrategySnapshot strategies, Operation[] operations, double[] num1, double[] num2,
+                                       double[] results, String[] errors, int from, int to) {
+        int length = to - from;
+
+        // Counting sort of indices by operation; the extra bucket collects null operations.
+        Operation[] all = Operation.values();
+        int nullBucket = all.length;
+        int[] counts = new int[all.length + 1];
+        for (int i = from; i < to; i++) {
+            Operation operation = operations[i];
+            counts[operation == null ? nullBucket : operation.ordinal()]++;
+        }
+
+        if (length > 0 && operations[from] != null && counts[operations[from].ordinal()] == length) {
+            // Single operation: run the kernel straight over the input columns, or over a bulk copy of the range.
+            if (length == operations.length) {
+                runGroup(strategies, operations[from], num1, num2, results, errors, length);
+                return;
+            }
+            double[] rangeResults = new double[length];
+            String[] rangeErrors = new String[length];
+            runGroup(strategies, operations[from], Arrays.copyOfRange(num1, from, to), Arrays.copyOfRange(num2, from, to),
+                    rangeResults, rangeErrors, length);
+            System.arraycopy(rangeResults, 0, results, from, length);
+            System.arraycopy(rangeErrors, 0, errors, from, length);
+            return;
+        }
+
+        int[] starts = new int[counts.length + 1];
+        int maxGroup = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            starts[bucket + 1] = starts[bucket] + counts[bucket];
+            maxGroup = Math.max(maxGroup, counts[bucket]);
+        }
+        int[] order = new int[length];
+        int[] next = starts.clone();
+        for (int i = from; i < to; i++) {
+            Operation operation = operations[i];
+            order[next[operation == null ? nullBucket : operation.ordinal()]++] = i;
+        }
+
+        for (int i = starts[nullBucket]; i < starts[nullBucket + 1]; i++) {
+            results[order[i]] = Double.NaN;
+            errors[order[i]] = "Operation cannot be null";
+        }
+
+        double[] groupNum1 = new double[maxGroup];
+        double[] groupNum2 = new double[maxGroup];
+        double[] groupResults = new double[maxGroup];
+        String[] groupErrors = new String[maxGroup];
+        for (Operation operation : all) {
+            int start = starts[operation.ordinal()];
+            int count = counts[operation.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            for (int k = 0; k < count; k++) {
+                int index = order[start + k];
+                groupNum1[k] = num1[index];
+                groupNum2[k] = num2[index];
+            }
+            Arrays.fill(groupErrors, 0, count, null);
+            runGroup(strategies, operation, groupNum1, groupNum2, groupResults, groupErrors, count);
+            for (int k = 0; k < count; k++) {
+                int index = order[start + k];
+                results[index] = groupResults[k];
+                errors[index] = groupErrors[k];
+            }
+        }
+    }
+
+    private static void runGroup(StrategySnapshot strategies, Operation operation, double[] num1, double[] num2,
+                          double[] results, String[] errors, int count) {
+        OperationStrategy strategy;
+        try {
+            strategy = strategies.getStrategy(operation);
+        } catch (UnsupportedOperationException e) {
+            Arrays.fill(results, 0, count, Double.NaN);
+            Arrays.fill(errors, 0, count, e.getMessage());
+            return;
+        }
+        strategy.executeBatch(num1, num2, results, errors, count);
+    }
+
+    private static void calculateExactRange(StrategySnapshot strategies, Operation[] operations, long[] num1, long[] num2,
+                                            long[] results, Number[] wideResults, String[] errors, int from, int to) {
+        int length = to - from;
+        if (length > 0 && length == operations.length && isUniform(operations)) {
+            // Single operation over the whole batch: run the kernel straight over the input columns.
+            runExactGroup(strategies, operations[0], num1, num2, results, wideResults, errors, length);
+            return;
+        }
+
+        // Counting sort of indices by operation, as in calculateRange.
+        Operation[] all = Operation.values();
+        int[] counts = new int[all.length];
+        for (int i = from; i < to; i++) {
+            Operation operation = operations[i];
+            if (operation == null) {
+                errors[i] = "Operation cannot be null";
+            } else {
+                counts[operation.ordinal()]++;
+            }
+        }
+        int[] starts = new int[all.length + 1];
+        int maxGroup = 0;
+        for (int bucket = 0; bucket < all.length; bucket++) {
+            starts[bucket + 1] = starts[bucket] + counts[bucket];
+            maxGroup = Math.max(maxGroup, counts[bucket]);
+        }
+        int[] order = new int[starts[all.length]];
+        int[] next = starts.clone();
+        for (int i = from; i < to; i++) {
+            Operation operation = operations[i];
+            if (operation != null) {
+                order[next[operation.ordinal()]++] = i;
+            }
+        }
+
+        long[] groupNum1 = new long[maxGroup];
+        long[] groupNum2 = new long[maxGroup];
+        long[] groupResults = new long[maxGroup];
+        Number[] groupWideResults = new Number[maxGroup];
+        String[] groupErrors = new String[maxGroup];
+        for (Operation operation : all) {
+            int start = starts[operation.ordinal()];
+            int count = counts[operation.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            for (int k = 0; k < count; k++) {
+                int index = order[start + k];
+                groupNum1[k] = num1[index];
+                groupNum2[k] = num2[index];
+            }
+            Arrays.fill(groupWideResults, 0, count, null);
+            Arrays.fill(groupErrors, 0, count, null);
+            runExactGroup(strategies, operation, groupNum1, groupNum2, groupResults, groupWideResults, groupErrors, count);
+            for (int k = 0; k < count; k++) {
+                int index = order[start + k];
+                results[index] = groupResults[k];
+                wideResults[index] = groupWideResults[k];
+                errors[index] = groupErrors[k];
+            }
+        }
+    }
+
+    private static boolean isUniform(Operation[] operations) {
+        Operation first = operations[0];
+        if (first == null) {
+            return false;
+        }
+        for (Operation operation : operations) {
+            if (operation != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void runExactGroup(StrategySnapshot strategies, Operation operation, long[] num1, long[] num2,
+                                      long[] results, Number[] wideResults, String[] errors, int count) {
+        OperationStrategy strategy = strategies.findStrategy(operation);
+        if (strategy == null) {
+            Arrays.fill(errors, 0, count, CalculationResult.unsupported(operation).getMessage());
+            return;
+        }
+        IntegralOperationStrategy integral = strategies.findIntegralStrategy(operation);
+        if (integral == null) {
+            for (int i = 0; i < count; i++) {
+                try {
+                    wideResults[i] = strategy.execute(num1[i], num2[i]);
+                } catch (ArithmeticException e) {
+                    errors[i] = e.getMessage();
+                }
+            }
+            return;
+        }
+        // The kernel only rejects overflows, remainders and invalid operands, so this loop is usually empty.
+        for (int index : integral.executeExactBatch(num1, num2, results, count)) {
+            CalculationStatus status = integral.validate(num1[index], num2[index]);
+            if (!status.isSuccess()) {
+                errors[index] = CalculationResult.of(status, operation).getMessage();
+                continue;
+            }
+            try {
+                wideResults[index] = integral.executeWide(num1[index], num2[index]);
+            } catch (ArithmeticException e) {
+                errors[index] = e.getMessage();
+            }
+        }
+    }
+
+    private static void reduceChunk(Reduction reduction, double[] values, int from, int to,
+                                    double[] partials, double[] compensations, int chunk) {
+        switch (reduction) {
+            case SUM:
+            case MEAN:
+                double sum = 0.0;
+                double compensation = 0.0;
+                for (int i = from; i < to; i++) {
+                    double value = values[i];
+                    double t = sum + value;
+                    // Neumaier: recover the low-order bits lost by whichever addend is smaller.
+                    compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+                    sum = t;
+                }
+                partials[chunk] = sum;
+                compensations[chunk] = compensation;
+                break;
+            case PRODUCT:
+                double product = 1.0;
+                for (int i = from; i < to; i++) {
+                    product *= values[i];
+                }
+                partials[chunk] = product;
+                break;
+            case MIN:
+                double min = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    min = Math.min(min, values[i]);
+                }
+                partials[chunk] = min;
+                break;
+            default:
+                double max = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    max = Math.max(max, values[i]);
+                }
+                partials[chunk] = max;
+                break;
+        }
+    }
+
+    private static double combineSums(double[] partials, double[] compensations) {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int chunk = 0; chunk < partials.length; chunk++) {
+            double partial = partials[chunk];
+            double t = sum + partial;
+            compensation += Math.abs(sum) >= Math.abs(partial) ? (sum - t) + partial : (partial - t) + sum;
+            compensation += compensations[chunk];
+            sum = t;
+        }
+        // Infinite or NaN terms leave NaN in the compensation; the plain sum already holds the right result.
+        return Double.isFinite(sum) ? sum + compensation : sum;
+    }
+
+    private void validateBatchInputs(Operation[] operations, double[] num1, double[] num2) {
+        if (operations == null || num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Batch columns cannot be null");
+        }
+        if (num1.length != operations.length || num2.length != operations.length) {
+            throw new IllegalArgumentException("Batch columns must have the same length");
+        }
+    }
+
     private void validateInputs(Operation operation, Number num1, Number num2) {
         if (operation == null) {
             throw new IllegalArgumentException("Operation cannot be null");
@@ -97,6 +652,25 @@ public class Calculator {
             return this;
         }
 
+        /**
+         * Applies an operation with the given operand to the current value, reporting failures
+         * as a status instead of throwing. The current value is only updated on success.
+         *
+         * @param operation the operation to perform
+         * @param operand the operand for the operation
+         * @return the new current value, or the reason the step failed
+         */
+        public CalculationResult tryApply(Operation operation, double operand) {
+            if (operation == null) {
+                return CalculationResult.OPERATION_NULL;
+            }
+            CalculationResult result = calculator.tryCalculate(operation, currentValue, operand);
+            if (result.isSuccess()) {
+                currentValue = result.getValue();
+            }
+            return result;
+        }
+
         /**
          * Gets the current result of the chained calculations.
          *
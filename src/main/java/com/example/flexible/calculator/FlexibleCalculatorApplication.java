@@ -0,0 +1,13 @@
+package com.example.flexible.calculator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class FlexibleCalculatorApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(FlexibleCalculatorApplication.class, args);
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.example.flexible.calculator;
+
+/**
+ * Result of a columnar batch calculation over integral operands.
+ * Results that fit in a {@code long} are held in a primitive column. Indices whose result overflows
+ * or is not an integer hold it in a separate column as a {@link java.math.BigInteger} or
+ * {@link Double}. A failed index has a non-null error message.
+ */
+public class IntegralBatchResult {
+    private final long[] results;
+    private final Number[] wideResults;
+    private final String[] errors;
+    private final int errorCount;
+
+    public IntegralBatchResult(long[] results, Number[] wideResults, String[] errors) {
+        this.results = results;
+        this.wideResults = wideResults;
+        this.errors = errors;
+        int count = 0;
+        for (String error : errors) {
+            if (error != null) {
+                count++;
+            }
+        }
+        this.errorCount = count;
+    }
+
+    /**
+     * Gets the primitive results column. Entries are only meaningful where {@link #isLong} is true.
+     *
+     * @return the results, one per input index
+     */
+    public long[] getResults() {
+        return results;
+    }
+
+    /**
+     * Gets whether the result at the given index is held in {@link #getResults()}.
+     *
+     * @param index the input index
+     * @return true if the calculation succeeded with a {@code long} result
+     */
+    public boolean isLong(int index) {
+        return wideResults[index] == null && errors[index] == null;
+    }
+
+    /**
+     * Gets the result at the given index, boxing {@code long} results.
+     *
+     * @param index the input index
+     * @return a {@link Long}, {@link java.math.BigInteger} or {@link Double}, or null if the calculation failed
+     */
+    public Number getResult(int index) {
+        if (errors[index] != null) {
+            return null;
+        }
+        Number wide = wideResults[index];
+        return wide != null ? wide : Long.valueOf(results[index]);
+    }
+
+    /**
+     * Gets the error message for the given index.
+     *
+     * @param index the input index
+     * @return the error message, or null if the calculation succeeded
+     */
+    public String getError(int index) {
+        return errors[index];
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
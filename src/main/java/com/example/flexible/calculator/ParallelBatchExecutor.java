@@ -0,0 +1,126 @@
+package com.example.flexible.calculator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits large index ranges across a dedicated {@link ForkJoinPool}.
+ * Ranges below the threshold run on the caller thread; larger ones are halved recursively
+ * until each piece is small enough to keep every worker busy without excessive task overhead.
+ * Tasks must only write to the indices of their own range.
+ */
+public class ParallelBatchExecutor {
+    static final int MIN_LEAF_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * @param parallelism the number of worker threads
+     * @param threshold the smallest range split across the pool
+     */
+    public ParallelBatchExecutor(int parallelism, int threshold) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism, ParallelBatchExecutor::newWorker, null, false);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Runs the task over {@code [0, length)}, in parallel if the range reaches the threshold.
+     * Returns once every index has been processed; writes made by the workers are visible to the caller.
+     *
+     * @param length the size of the range
+     * @param task the task to run on each piece
+     */
+    public void run(int length, RangeTask task) {
+        if (length < threshold) {
+            task.run(0, length);
+            return;
+        }
+        int leafSize = Math.max(MIN_LEAF_SIZE, length / (pool.getParallelism() * 4));
+        pool.invoke(new RangeAction(task, 0, length, leafSize));
+    }
+
+    /**
+     * Runs the task over {@code [0, length)} like {@link #run(int, RangeTask)}, but splits only at
+     * multiples of {@code alignment}. Tasks can then work on fixed blocks of {@code alignment}
+     * indices whose boundaries do not depend on the parallelism.
+     *
+     * @param length the size of the range
+     * @param alignment the block size every piece boundary is a multiple of
+     * @param task the task to run on each piece
+     */
+    public void run(int length, int alignment, RangeTask task) {
+        if (alignment <= 0) {
+            throw new IllegalArgumentException("Alignment must be positive");
+        }
+        if (length < threshold) {
+            task.run(0, length);
+            return;
+        }
+        int blocks = (int) (((long) length + alignment - 1) / alignment);
+        int leafBlocks = Math.max(1, Math.max(MIN_LEAF_SIZE, length / (pool.getParallelism() * 4)) / alignment);
+        RangeTask blockTask = (from, to) ->
+                task.run(from * alignment, (int) Math.min((long) to * alignment, length));
+        pool.invoke(new RangeAction(blockTask, 0, blocks, leafBlocks));
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Stops the worker threads. Called by the container when the bean is destroyed.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("calculator-batch-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Work over a half-open index range.
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private final RangeTask task;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        RangeAction(RangeTask task, int from, int to, int leafSize) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                task.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(task, from, middle, leafSize), new RangeAction(task, middle, to, leafSize));
+        }
+    }
+}
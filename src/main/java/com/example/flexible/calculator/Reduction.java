@@ -0,0 +1,17 @@
+package com.example.flexible.calculator;
+
+/**
+ * Aggregates computed over a whole array of values by {@link Calculator#reduce}.
+ */
+public enum Reduction {
+    /** Compensated sum; 0 for an empty array. */
+    SUM,
+    /** Product; 1 for an empty array. */
+    PRODUCT,
+    /** Compensated sum divided by the number of values. */
+    MEAN,
+    /** Smallest value; NaN if any value is NaN. */
+    MIN,
+    /** Largest value; NaN if any value is NaN. */
+    MAX
+}
@@ -0,0 +1,189 @@
+package com.example.flexible.calculator.batch;
+
+import com.example.flexible.calculator.BatchResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Processes fixed-width binary calculation files through memory-mapped I/O.
+ * <p>
+ * Input records are {@value #INPUT_RECORD_SIZE} bytes: the operation as one byte holding
+ * {@link Operation#ordinal()}, followed by the two operands as big-endian IEEE 754 doubles.
+ * Output records are {@value #OUTPUT_RECORD_SIZE} bytes: a status byte ({@link #STATUS_OK},
+ * {@link #STATUS_FAILED} or {@link #STATUS_INVALID_OPERATION}) followed by the result as a
+ * big-endian double ({@code NaN} unless the status is OK). Output record {@code i} belongs to input record {@code i}.
+ * <p>
+ * The file is split into chunks that are mapped and calculated in parallel through
+ * {@link Calculator#calculateBatch}, each chunk writing its own region of the output file.
+ */
+public class BinaryBatchProcessor {
+    public static final int INPUT_RECORD_SIZE = 17;
+    public static final int OUTPUT_RECORD_SIZE = 9;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_FAILED = 1;
+    public static final byte STATUS_INVALID_OPERATION = 2;
+
+    static final int DEFAULT_CHUNK_RECORDS = 1 << 16;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Calculator calculator;
+    private final int chunkRecords;
+
+    public BinaryBatchProcessor(Calculator calculator) {
+        this(calculator, DEFAULT_CHUNK_RECORDS);
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param calculator the calculator to run the records through
+     * @param chunkRecords the number of records mapped and calculated per task
+     */
+    public BinaryBatchProcessor(Calculator calculator, int chunkRecords) {
+        if (calculator == null) {
+            throw new IllegalArgumentException("Calculator cannot be null");
+        }
+        if (chunkRecords <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.calculator = calculator;
+        this.chunkRecords = chunkRecords;
+    }
+
+    /**
+     * Calculates every record of the input file and writes the results to the output file.
+     *
+     * @param input the input file
+     * @param output the output file; created or truncated
+     * @param parallelism the number of chunks processed concurrently
+     * @return a report with record counts and throughput
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if the input size is not a whole number of records
+     */
+    public BatchReport process(Path input, Path output, int parallelism) throws IOException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size % INPUT_RECORD_SIZE != 0) {
+                throw new IllegalArgumentException("Input size " + size + " is not a multiple of "
+                        + INPUT_RECORD_SIZE + " bytes");
+            }
+            long records = size / INPUT_RECORD_SIZE;
+            long chunks = (records + chunkRecords - 1) / chunkRecords;
+
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (long chunk = 0; chunk < chunks; chunk++) {
+                    long first = chunk * chunkRecords;
+                    int count = (int) Math.min(chunkRecords, records - first);
+                    futures.add(executor.submit(() -> processChunk(in, out, first, count)));
+                }
+                long failures = 0;
+                for (Future<Long> future : futures) {
+                    failures += await(future);
+                }
+                return new BatchReport(records, failures, System.nanoTime() - start);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private long processChunk(FileChannel in, FileChannel out, long first, int count) throws IOException {
+        MappedByteBuffer source = in.map(FileChannel.MapMode.READ_ONLY, first * INPUT_RECORD_SIZE,
+                (long) count * INPUT_RECORD_SIZE);
+        MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE, first * OUTPUT_RECORD_SIZE,
+                (long) count * OUTPUT_RECORD_SIZE);
+
+        Operation[] operations = new Operation[count];
+        double[] num1 = new double[count];
+        double[] num2 = new double[count];
+        boolean[] invalid = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            int code = source.get() & 0xFF;
+            if (code < OPERATIONS.length) {
+                operations[i] = OPERATIONS[code];
+            } else {
+                invalid[i] = true;
+            }
+            num1[i] = source.getDouble();
+            num2[i] = source.getDouble();
+        }
+
+        BatchResult result = calculator.calculateBatch(operations, num1, num2);
+        double[] results = result.getResults();
+        long failures = 0;
+        for (int i = 0; i < count; i++) {
+            byte status = invalid[i] ? STATUS_INVALID_OPERATION
+                    : result.getError(i) != null ? STATUS_FAILED : STATUS_OK;
+            if (status != STATUS_OK) {
+                failures++;
+            }
+            target.put(status);
+            target.putDouble(results[i]);
+        }
+        return failures;
+    }
+
+    private static long await(Future<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing batch file", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Batch chunk failed", cause);
+        }
+    }
+
+    /**
+     * Outcome of processing one batch file.
+     */
+    public static final class BatchReport {
+        private final long records;
+        private final long failures;
+        private final long elapsedNanos;
+
+        BatchReport(long records, long failures, long elapsedNanos) {
+            this.records = records;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecords() { return records; }
+
+        public long getFailures() { return failures; }
+
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : records * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.flexible.calculator.batch;
+
+import com.example.flexible.calculator.Calculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line batch mode: processes a binary calculation file at startup.
+ * Enabled by setting {@code calculator.batch.input}; usually combined with
+ * {@code --spring.main.web-application-type=none} so the application exits when done.
+ *
+ * <pre>
+ * java -jar flexible-calculator.jar --spring.main.web-application-type=none \
+ *     --calculator.batch.input=records.bin --calculator.batch.output=results.bin
+ * </pre>
+ *
+ * @see BinaryBatchProcessor for the record format
+ */
+@Component
+@ConditionalOnProperty("calculator.batch.input")
+public class BinaryBatchRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(BinaryBatchRunner.class);
+
+    private final Calculator calculator;
+    private final Path input;
+    private final Path output;
+    private final int parallelism;
+
+    public BinaryBatchRunner(Calculator calculator,
+                             @Value("${calculator.batch.input}") String input,
+                             @Value("${calculator.batch.output}") String output,
+                             @Value("${calculator.batch.parallelism:0}") int parallelism) {
+        this.calculator = calculator;
+        this.input = Path.of(input);
+        this.output = Path.of(output);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Processing batch file {} into {} with parallelism {}", input, output, parallelism);
+        BinaryBatchProcessor.BatchReport report = new BinaryBatchProcessor(calculator).process(input, output, parallelism);
+        log.info("Processed {} records ({} failed) in {} ms: {} records/sec",
+                report.getRecords(), report.getFailures(), report.getElapsedNanos() / 1_000_000,
+                String.format("%.0f", report.getRecordsPerSecond()));
+    }
+}
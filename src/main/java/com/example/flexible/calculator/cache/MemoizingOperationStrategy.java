@@ -0,0 +1,43 @@
+package com.example.flexible.calculator.cache;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+/**
+ * Decorator that answers repeated operands of another strategy from a {@link ResultCache}.
+ * Batches look up every element individually, so repeated operands within a batch are computed once.
+ */
+public class MemoizingOperationStrategy implements DelegatingOperationStrategy {
+    private final Operation operation;
+    private final OperationStrategy delegate;
+    private final ResultCache cache;
+
+    MemoizingOperationStrategy(Operation operation, OperationStrategy delegate, ResultCache cache) {
+        this.operation = operation;
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public double execute(double operand1, double operand2) throws ArithmeticException {
+        return cache.getOrCompute(operation, operand1, operand2, delegate);
+    }
+
+    @Override
+    public void executeBatch(double[] operands1, double[] operands2, double[] results, String[] errors, int length) {
+        for (int i = 0; i < length; i++) {
+            try {
+                results[i] = cache.getOrCompute(operation, operands1[i], operands2[i], delegate);
+            } catch (ArithmeticException e) {
+                results[i] = Double.NaN;
+                errors[i] = e.getMessage();
+            }
+        }
+    }
+
+    @Override
+    public OperationStrategy getDelegate() {
+        return delegate;
+    }
+}
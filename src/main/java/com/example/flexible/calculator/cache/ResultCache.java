@@ -0,0 +1,189 @@
+package com.example.flexible.calculator.cache;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.strategy.CacheableOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, thread-safe memo of strategy results keyed by the operation and the raw IEEE 754 bits
+ * of both operands, so lookups neither box nor allocate, and {@code 0.0} and {@code -0.0} stay distinct.
+ * <p>
+ * The table is set-associative: a key hashes to one set of {@value #WAYS} slots, and a full set evicts
+ * its least recently written entry. Slots hold immutable entries that are read and replaced atomically
+ * without locking; concurrent writers to one set may overwrite each other, which only costs a later miss.
+ * Entries older than the time-to-live are treated as absent. Failed calculations are never cached.
+ */
+public class ResultCache {
+    static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int ways;
+    private final int setMask;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most {@code maximumSize} results. The size is rounded down to a
+     * power-of-two number of sets. A size of zero disables caching; every lookup is then a miss.
+     *
+     * @param maximumSize the maximum number of results
+     * @param ttl how long a result stays valid, or zero to keep results until they are evicted
+     */
+    public ResultCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    ResultCache(int maximumSize, Duration ttl, LongSupplier clock) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Time-to-live cannot be null or negative");
+        }
+        this.ways = Math.min(WAYS, maximumSize);
+        int sets = ways == 0 ? 0 : Integer.highestOneBit(maximumSize / ways);
+        this.table = new AtomicReferenceArray<>(sets * ways);
+        this.setMask = sets - 1;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Wraps strategies marked {@link CacheableOperationStrategy} so their results are memoized in this
+     * cache; other strategies are returned unchanged. Usable as a
+     * {@link com.example.flexible.calculator.factory.StrategyDecorator}.
+     *
+     * @param operation the operation the strategy is registered for
+     * @param strategy the strategy
+     * @return the memoizing strategy, or the strategy itself
+     */
+    public OperationStrategy memoize(Operation operation, OperationStrategy strategy) {
+        if (strategy instanceof CacheableOperationStrategy) {
+            return new MemoizingOperationStrategy(operation, strategy, this);
+        }
+        return strategy;
+    }
+
+    /**
+     * Gets the cached result for the operands, executing the strategy and storing its result on a miss.
+     *
+     * @param operation the operation, part of the key
+     * @param operand1 the first operand
+     * @param operand2 the second operand
+     * @param strategy computes the result on a miss
+     * @return the cached or computed result
+     * @throws ArithmeticException if the strategy fails; nothing is cached then
+     */
+    public double getOrCompute(Operation operation, double operand1, double operand2, OperationStrategy strategy) {
+        if (table.length() == 0) {
+            misses.increment();
+            return strategy.execute(operand1, operand2);
+        }
+        long bits1 = Double.doubleToRawLongBits(operand1);
+        long bits2 = Double.doubleToRawLongBits(operand2);
+        int base = setIndex(operation, bits1, bits2) * ways;
+        long now = clock.getAsLong();
+        for (int i = 0; i < ways; i++) {
+            Entry entry = table.get(base + i);
+            if (entry != null && entry.matches(operation, bits1, bits2) && !entry.isExpired(now, ttlNanos)) {
+                hits.increment();
+                return entry.value;
+            }
+        }
+        misses.increment();
+        double value = strategy.execute(operand1, operand2);
+        store(base, new Entry(operation, bits1, bits2, value, clock.getAsLong()));
+        return value;
+    }
+
+    private void store(int base, Entry entry) {
+        int victim = base;
+        Entry oldest = null;
+        for (int i = 0; i < ways; i++) {
+            Entry current = table.get(base + i);
+            if (current == null || current.isExpired(entry.writtenAt, ttlNanos)
+                    || current.matches(entry.operation, entry.bits1, entry.bits2)) {
+                table.set(base + i, entry);
+                return;
+            }
+            if (oldest == null || current.writtenAt - oldest.writtenAt < 0) {
+                oldest = current;
+                victim = base + i;
+            }
+        }
+        table.set(victim, entry);
+        evictions.increment();
+    }
+
+    private int setIndex(Operation operation, long bits1, long bits2) {
+        // Doubles holding small integers have all-zero low bits, so both operands are fully mixed.
+        return (int) mix(bits1 ^ mix(bits2 + operation.ordinal())) & setMask;
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, null);
+        }
+    }
+
+    /**
+     * Gets the number of live entries. Scans the table, so it is meant for monitoring, not hot paths.
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        int size = 0;
+        for (int i = 0; i < table.length(); i++) {
+            Entry entry = table.get(i);
+            if (entry != null && !entry.isExpired(now, ttlNanos)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return table.length();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private static final class Entry {
+        final Operation operation;
+        final long bits1;
+        final long bits2;
+        final double value;
+        final long writtenAt;
+
+        Entry(Operation operation, long bits1, long bits2, double value, long writtenAt) {
+            this.operation = operation;
+            this.bits1 = bits1;
+            this.bits2 = bits2;
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+
+        boolean matches(Operation operation, long bits1, long bits2) {
+            return this.bits1 == bits1 && this.bits2 == bits2 && this.operation == operation;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return ttlNanos > 0 && now - writtenAt >= ttlNanos;
+        }
+    }
+}
@@ -1,24 +1,145 @@
 package com.example.flexible.calculator.config;
 
 import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.cache.ResultCache;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
 import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.factory.StrategyDecorator;
+import com.example.flexible.calculator.metrics.CalculatorMetrics;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.protocol.BinaryCalculationServer;
+import com.example.flexible.calculator.service.CalculationService;
+import com.example.flexible.calculator.service.ChainSessionService;
+import com.example.flexible.calculator.session.ChainSessionStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
 /**
  * Spring configuration for Calculator beans.
  * Demonstrates IoC container integration.
+ * Bean methods receive their dependencies as parameters and never call each other, so the class needs
+ * no CGLIB proxy; that keeps startup and Spring AOT processing free of generated subclasses.
  */
-@Configuration
+@Configuration(proxyBeanMethods = false)
 public class CalculatorConfig {
 
     @Bean
-    public OperationStrategyFactory operationStrategyFactory() {
-        return new OperationStrategyFactory();
+    @ConditionalOnProperty(name = "calculator.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public CalculatorMetrics calculatorMetrics(MeterRegistry meterRegistry) {
+        return new CalculatorMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "calculator.memoization.enabled", havingValue = "true", matchIfMissing = true)
+    public ResultCache resultCache(@Value("${calculator.memoization.size:65536}") int maximumSize,
+                                   @Value("${calculator.memoization.ttl-seconds:0}") long ttlSeconds,
+                                   ObjectProvider<CalculatorMetrics> metrics) {
+        ResultCache cache = new ResultCache(maximumSize, Duration.ofSeconds(ttlSeconds));
+        metrics.ifAvailable(calculatorMetrics -> calculatorMetrics.monitorCache("memoization", cache::getStats));
+        return cache;
+    }
+
+    @Bean
+    public OperationStrategyFactory operationStrategyFactory(ObjectProvider<CalculatorMetrics> metrics,
+                                                             ObjectProvider<ResultCache> resultCache) {
+        // Memoization wraps the strategy first, so the metrics time what callers see, cache hits included.
+        StrategyDecorator decorator = (operation, strategy) -> strategy;
+        ResultCache cache = resultCache.getIfAvailable();
+        if (cache != null) {
+            decorator = decorator.andThen(cache::memoize);
+        }
+        CalculatorMetrics calculatorMetrics = metrics.getIfAvailable();
+        if (calculatorMetrics != null) {
+            decorator = decorator.andThen(calculatorMetrics::instrument);
+        }
+        return new OperationStrategyFactory(decorator);
+    }
+
+    @Bean
+    public ParallelBatchExecutor parallelBatchExecutor(
+            @Value("${calculator.batch.parallel.parallelism:0}") int parallelism,
+            @Value("${calculator.batch.parallel.threshold:65536}") int threshold) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ParallelBatchExecutor(threads, threshold);
+    }
+
+    @Bean
+    public Calculator calculator(OperationStrategyFactory strategyFactory, ParallelBatchExecutor batchExecutor) {
+        return new Calculator(strategyFactory, batchExecutor);
+    }
+
+    @Bean
+    public ChainPlanCompiler chainPlanCompiler(OperationStrategyFactory strategyFactory,
+                                               @Value("${calculator.chain.reassociate:false}") boolean reassociate) {
+        return new ChainPlanCompiler(strategyFactory, reassociate);
+    }
+
+    @Bean
+    public ChainPlanCache chainPlanCache(ChainPlanCompiler planCompiler,
+                                         @Value("${calculator.chain.plan-cache.size:1024}") int maximumSize,
+                                         @Value("${calculator.chain.plan-cache.max-shape-length:1024}") int maxShapeLength,
+                                         ParallelBatchExecutor batchExecutor,
+                                         ObjectProvider<CalculatorMetrics> metrics) {
+        ChainPlanCache planCache = new ChainPlanCache(planCompiler, maximumSize, maxShapeLength, batchExecutor);
+        metrics.ifAvailable(calculatorMetrics -> calculatorMetrics.monitorCache("chain-plan", planCache::getStats));
+        return planCache;
+    }
+
+    @Bean
+    public ExpressionCompiler expressionCompiler(OperationStrategyFactory strategyFactory,
+                                                 @Value("${calculator.expression.cache.size:1024}") int cacheSize,
+                                                 ObjectProvider<CalculatorMetrics> metrics) {
+        ExpressionCompiler compiler = new ExpressionCompiler(strategyFactory, cacheSize);
+        metrics.ifAvailable(calculatorMetrics -> calculatorMetrics.monitorCache("expression", compiler::getCacheStats));
+        return compiler;
+    }
+
+    @Bean
+    public CalculationService calculationService(Calculator calculator, ChainPlanCache planCache,
+                                                 ExpressionCompiler expressionCompiler,
+                                                 ObjectProvider<CalculatorMetrics> metrics,
+                                                 @Value("${calculator.decimal.max-precision:100}") int maxPrecision) {
+        return new CalculationService(calculator, planCache, expressionCompiler, metrics.getIfAvailable(), maxPrecision);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "calculator.tcp.enabled", havingValue = "true")
+    public BinaryCalculationServer binaryCalculationServer(CalculationService calculationService,
+                                                           @Value("${calculator.tcp.address:127.0.0.1}") String address,
+                                                           @Value("${calculator.tcp.port:9090}") int port,
+                                                           @Value("${calculator.tcp.max-frame-size:1048576}") int maxFrameSize,
+                                                           @Value("${calculator.tcp.max-connections:1024}") int maxConnections)
+            throws IOException {
+        BinaryCalculationServer server = new BinaryCalculationServer(calculationService,
+                new InetSocketAddress(address, port), maxFrameSize, maxConnections);
+        server.start();
+        return server;
+    }
+
+    @Bean
+    public ChainSessionStore chainSessionStore(Calculator calculator,
+                                               @Value("${calculator.chain.sessions.max:10000}") int maximumSessions,
+                                               @Value("${calculator.chain.sessions.idle-timeout-seconds:300}") long idleSeconds,
+                                               @Value("${calculator.chain.sessions.ttl-seconds:0}") long ttlSeconds,
+                                               ObjectProvider<CalculatorMetrics> metrics) {
+        ChainSessionStore store = new ChainSessionStore(calculator, maximumSessions,
+                Duration.ofSeconds(idleSeconds), Duration.ofSeconds(ttlSeconds));
+        metrics.ifAvailable(calculatorMetrics -> calculatorMetrics.monitorCache("chain-session", store::getStats));
+        return store;
     }
 
     @Bean
-    public Calculator calculator(OperationStrategyFactory strategyFactory) {
-        return new Calculator(strategyFactory);
+    public ChainSessionService chainSessionService(ChainSessionStore store) {
+        return new ChainSessionService(store);
     }
-}
\ No newline at end of file
+}
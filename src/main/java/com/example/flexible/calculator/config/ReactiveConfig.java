@@ -0,0 +1,43 @@
+package com.example.flexible.calculator.config;
+
+import com.example.flexible.calculator.protocol.BinaryCalculationDecoder;
+import com.example.flexible.calculator.protocol.BinaryCalculationEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Spring configuration for the reactive profile.
+ * Tomcat stays on the classpath for the servlet stack, so Netty is selected explicitly;
+ * otherwise the reactive stack would be served through Tomcat's servlet adapter.
+ * The binary codec handles {@code application/octet-stream} bodies. WebFlux orders custom writers before
+ * the default ones, so a JSON encoder is registered ahead of the binary encoder to keep JSON the response
+ * format unless a client explicitly accepts {@code application/octet-stream}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new BinaryCalculationDecoder());
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+        configurer.customCodecs().register(new BinaryCalculationEncoder());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.flexible.calculator.config;
+
+import com.example.flexible.calculator.protocol.BinaryCalculationHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration for the servlet stack.
+ * The binary converter is appended after the defaults, so JSON stays the response format
+ * unless a client explicitly accepts {@code application/octet-stream}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BinaryCalculationHttpMessageConverter());
+    }
+}
@@ -2,14 +2,29 @@
 
 package com.example.flexible.calculator.controller;
 
-import com.example.flexible.calculator.Calculator;
 import com.example.flexible.calculator.Operation;
 import com.example.flexible.calculator.dto.*;
+import com.example.flexible.calculator.service.CalculationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,15 +33,24 @@ import java.util.List;
  * Provides HTTP endpoints for single and chained calculations.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/calculator")
 @CrossOrigin(origins = "*")
 public class CalculatorController {
 
-    private final Calculator calculator;
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
+    private static final ObjectMapper STREAM_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final ObjectReader STREAM_READER = STREAM_MAPPER.readerFor(CalculationRequest.class);
+    private static final ObjectWriter STREAM_WRITER = STREAM_MAPPER.writerFor(CalculationResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final CalculationService calculationService;
 
     @Autowired
-    public CalculatorController(Calculator calculator) {
-        this.calculator = calculator;
+    public CalculatorController(CalculationService calculationService) {
+        this.calculationService = calculationService;
     }
 
     /**
@@ -41,26 +65,58 @@ public class CalculatorController {
      */
     @PostMapping("/calculate")
     public ResponseEntity<CalculationResponse> calculate(@RequestBody CalculationRequest request) {
-        try {
-            validateCalculationRequest(request);
-
-            double result = calculator.calculate(request.getOperation(), request.getNum1(), request.getNum2());
-            return ResponseEntity.ok(new CalculationResponse(Double.valueOf(result)));
-
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Invalid input: " + e.getMessage()));
-        } catch (ArithmeticException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Math error: " + e.getMessage()));
-        } catch (UnsupportedOperationException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Unsupported operation: " + e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
+        return calculationService.calculate(request);
+    }
+
+    /**
+     * Performs a stream of single calculations given as newline-delimited JSON.
+     * Records are read, calculated and written one at a time, so memory use does not depend
+     * on the length of the stream. Writes block while the client is not reading, which stops
+     * further input from being read. Each output line is the response for the input record at
+     * the same position. A record that cannot be bound (e.g. an unknown operation) yields an
+     * error record; malformed JSON ends the stream with an error record.
+     *
+     * POST /api/calculator/stream  (Content-Type: application/x-ndjson)
+     * {"operation": "ADD", "num1": 5.0, "num2": 3.0}
+     * {"operation": "DIVIDE", "num1": 10.0, "num2": 4.0}
+     */
+    @PostMapping(value = "/stream", consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public void calculateStream(InputStream input, HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON);
+        OutputStream output = response.getOutputStream();
+        try (MappingIterator<CalculationRequest> records = STREAM_READER.readValues(input);
+             JsonGenerator generator = STREAM_MAPPER.createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            int pending = 0;
+            while (true) {
+                CalculationResponse result;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    result = calculate(records.nextValue()).getBody();
+                } catch (JsonParseException e) {
+                    writeRecord(generator, new CalculationResponse("Invalid input: Malformed record at line "
+                            + e.getLocation().getLineNr()));
+                    break;
+                } catch (JsonMappingException e) {
+                    result = new CalculationResponse("Invalid input: " + e.getOriginalMessage());
+                }
+                writeRecord(generator, result);
+                // Flush in batches, and whenever the next read could block, so results keep flowing.
+                if (++pending >= STREAM_FLUSH_INTERVAL || input.available() == 0) {
+                    generator.flush();
+                    pending = 0;
+                }
+            }
+            generator.flush();
         }
     }
 
     /**
      * Performs chained calculations.
+     * The chain runs through a compiled shape cached by its operation sequence,
+     * so steps run without per-step validation or strategy lookup.
      *
      * POST /api/calculator/chain
      * {
@@ -73,28 +129,69 @@ public class CalculatorController {
      */
     @PostMapping("/chain")
     public ResponseEntity<CalculationResponse> calculateChain(@RequestBody ChainCalculationRequest request) {
-        try {
-            validateChainRequest(request);
+        return calculationService.calculateChain(request);
+    }
 
-            Calculator.ChainCalculator chain = calculator.startChain(request.getInitialValue());
+    /**
+     * Performs a chained calculation read from the request body token by token.
+     * Accepts the same JSON as {@code /chain}, but applies each step as it is read instead of
+     * binding the whole request first, so chains with millions of steps run in constant memory.
+     * {@code initialValue} must come before {@code operations}, and errors name the failing step.
+     *
+     * POST /api/calculator/chain/stream
+     * {"initialValue": 10.0, "operations": [{"operation": "ADD", "operand": 5.0}, ...]}
+     */
+    @PostMapping(value = "/chain/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationResponse> calculateChainStream(InputStream input) throws IOException {
+        try (JsonParser parser = STREAM_MAPPER.createParser(input)) {
+            return calculationService.calculateChainStream(parser);
+        }
+    }
 
-            for (ChainOperationRequest operation : request.getOperations()) {
-                chain.apply(operation.getOperation(), operation.getOperand());
-            }
+    /**
+     * Evaluates an infix expression with variable bindings.
+     * Expressions are compiled once and cached by their text.
+     *
+     * POST /api/calculator/evaluate
+     * {
+     *   "expression": "(a + b) * c / d",
+     *   "variables": {"a": 1.0, "b": 2.0, "c": 3.0, "d": 4.0}
+     * }
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<CalculationResponse> evaluate(@RequestBody ExpressionRequest request) {
+        return calculationService.evaluate(request);
+    }
 
-            double result = chain.getResult();
-            return ResponseEntity.ok(new CalculationResponse(Double.valueOf(result)));
-
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Invalid input: " + e.getMessage()));
-        } catch (ArithmeticException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Math error: " + e.getMessage()));
-        } catch (UnsupportedOperationException e) {
-            return ResponseEntity.badRequest().body(new CalculationResponse("Unsupported operation: " + e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
-        }
+    /**
+     * Performs a batch of independent calculations given as columns.
+     * Failures are reported per index and do not fail the whole batch.
+     *
+     * POST /api/calculator/batch
+     * {
+     *   "operations": ["ADD", "DIVIDE"],
+     *   "num1": [5.0, 10.0],
+     *   "num2": [3.0, 0.0]
+     * }
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCalculationResponse> calculateBatch(@RequestBody BatchCalculationRequest request) {
+        return calculationService.calculateBatch(request);
+    }
+
+    /**
+     * Reduces an array of values to their sum, product, mean, minimum or maximum.
+     * Results do not depend on how many threads computed them.
+     *
+     * POST /api/calculator/reduce
+     * {
+     *   "reduction": "SUM",
+     *   "values": [0.1, 0.2, 0.3]
+     * }
+     */
+    @PostMapping("/reduce")
+    public ResponseEntity<CalculationResponse> reduce(@RequestBody ReductionRequest request) {
+        return calculationService.reduce(request);
     }
 
     /**
@@ -117,36 +214,8 @@ public class CalculatorController {
         return ResponseEntity.ok("Calculator service is running");
     }
 
-    private void validateCalculationRequest(CalculationRequest request) {
-        if (request == null) {
-            throw new IllegalArgumentException("Request cannot be null");
-        }
-        if (request.getOperation() == null) {
-            throw new IllegalArgumentException("Operation cannot be null");
-        }
-        if (request.getNum1() == null || request.getNum2() == null) {
-            throw new IllegalArgumentException("Numbers cannot be null");
-        }
-    }
-
-    private void validateChainRequest(ChainCalculationRequest request) {
-        if (request == null) {
-            throw new IllegalArgumentException("Request cannot be null");
-        }
-        if (request.getInitialValue() == null) {
-            throw new IllegalArgumentException("Initial value cannot be null");
-        }
-        if (request.getOperations() == null || request.getOperations().isEmpty()) {
-            throw new IllegalArgumentException("Operations list cannot be null or empty");
-        }
-
-        for (ChainOperationRequest operation : request.getOperations()) {
-            if (operation.getOperation() == null) {
-                throw new IllegalArgumentException("Operation cannot be null");
-            }
-            if (operation.getOperand() == null) {
-                throw new IllegalArgumentException("Operand cannot be null");
-            }
-        }
+    private void writeRecord(JsonGenerator generator, CalculationResponse record) throws IOException {
+        STREAM_WRITER.writeValue(generator, record);
+        generator.writeRaw('\n');
     }
 }
\ No newline at end of file
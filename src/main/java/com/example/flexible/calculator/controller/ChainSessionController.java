@@ -0,0 +1,84 @@
+package com.example.flexible.calculator.controller;
+
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.dto.ChainSessionRequest;
+import com.example.flexible.calculator.dto.ChainSessionResponse;
+import com.example.flexible.calculator.service.ChainSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for incremental chain sessions.
+ * A session keeps a running chain on the server, so each request sends a single step.
+ * Sessions expire after {@code calculator.chain.sessions.idle-timeout-seconds} without use.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/calculator/chain/sessions")
+@CrossOrigin(origins = "*")
+public class ChainSessionController {
+
+    private final ChainSessionService sessionService;
+
+    @Autowired
+    public ChainSessionController(ChainSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Starts a session.
+     *
+     * POST /api/calculator/chain/sessions
+     * {"initialValue": 10.0}
+     */
+    @PostMapping
+    public ResponseEntity<ChainSessionResponse> create(@RequestBody ChainSessionRequest request) {
+        return sessionService.create(request);
+    }
+
+    /**
+     * Applies one step to a session and returns its new value.
+     *
+     * POST /api/calculator/chain/sessions/{id}/steps
+     * {"operation": "ADD", "operand": 5.0}
+     */
+    @PostMapping("/{id}/steps")
+    public ResponseEntity<ChainSessionResponse> apply(@PathVariable String id,
+                                                      @RequestBody ChainOperationRequest request) {
+        return sessionService.apply(id, request);
+    }
+
+    /**
+     * Gets the current value of a session.
+     *
+     * GET /api/calculator/chain/sessions/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ChainSessionResponse> get(@PathVariable String id) {
+        return sessionService.get(id);
+    }
+
+    /**
+     * Restarts a session from a new value.
+     *
+     * POST /api/calculator/chain/sessions/{id}/reset
+     * {"initialValue": 0.0}
+     */
+    @PostMapping("/{id}/reset")
+    public ResponseEntity<ChainSessionResponse> reset(@PathVariable String id,
+                                                      @RequestBody ChainSessionRequest request) {
+        return sessionService.reset(id, request);
+    }
+
+    /**
+     * Ends a session.
+     *
+     * DELETE /api/calculator/chain/sessions/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> close(@PathVariable String id) {
+        return sessionService.close(id);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.flexible.calculator.controller;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.*;
+import com.example.flexible.calculator.service.CalculationService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive REST Controller for calculator operations, active with the "reactive" profile.
+ * Serves the same endpoints as {@link CalculatorController} through {@link CalculationService},
+ * so responses are identical. Calculations are short and CPU-bound, so they run on the event
+ * loop; only batches and reductions move to the parallel scheduler to keep event loops free for I/O.
+ * Streamed chains are parsed with blocking reads, so they run on the bounded elastic scheduler.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/calculator")
+@CrossOrigin(origins = "*")
+public class ReactiveCalculatorController {
+
+    /** Number of body buffers requested ahead while a streamed chain is parsed. */
+    private static final int STREAM_DEMAND = 16;
+
+    private static final ObjectMapper STREAM_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final CalculationService calculationService;
+
+    @Autowired
+    public ReactiveCalculatorController(CalculationService calculationService) {
+        this.calculationService = calculationService;
+    }
+
+    /**
+     * Performs a single calculation operation.
+     *
+     * POST /api/calculator/calculate
+     */
+    @PostMapping("/calculate")
+    public Mono<ResponseEntity<CalculationResponse>> calculate(@RequestBody Mono<CalculationRequest> request) {
+        return request.map(calculationService::calculate);
+    }
+
+    /**
+     * Performs a stream of single calculations given as newline-delimited JSON.
+     * Records are decoded, calculated and encoded one at a time with backpressure, so memory use
+     * does not depend on the length of the stream. Input that cannot be decoded ends the stream
+     * with an error record.
+     *
+     * POST /api/calculator/stream  (Content-Type: application/x-ndjson)
+     */
+    @PostMapping(value = "/stream", consumes = CalculatorController.APPLICATION_NDJSON,
+            produces = CalculatorController.APPLICATION_NDJSON)
+    public Flux<CalculationResponse> calculateStream(@RequestBody Flux<CalculationRequest> requests) {
+        return requests
+                .map(request -> calculationService.calculate(request).getBody())
+                .onErrorResume(DecodingException.class, e -> Mono.just(
+                        new CalculationResponse("Invalid input: " + e.getMostSpecificCause().getMessage())));
+    }
+
+    /**
+     * Performs chained calculations.
+     *
+     * POST /api/calculator/chain
+     */
+    @PostMapping("/chain")
+    public Mono<ResponseEntity<CalculationResponse>> calculateChain(@RequestBody Mono<ChainCalculationRequest> request) {
+        return request.map(calculationService::calculateChain);
+    }
+
+    /**
+     * Performs a chained calculation read from the request body token by token, like
+     * {@link CalculatorController#calculateChainStream}. Body buffers are requested a few at a time
+     * as the parser consumes them, so memory use does not depend on the number of steps.
+     *
+     * POST /api/calculator/chain/stream
+     */
+    @PostMapping(value = "/chain/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<CalculationResponse>> calculateChainStream(@RequestBody Flux<DataBuffer> body) {
+        return Mono.fromCallable(() -> {
+            try (JsonParser parser = STREAM_MAPPER.createParser(DataBufferUtils.subscriberInputStream(body, STREAM_DEMAND))) {
+                return calculationService.calculateChainStream(parser);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Evaluates an infix expression with variable bindings.
+     *
+     * POST /api/calculator/evaluate
+     */
+    @PostMapping("/evaluate")
+    public Mono<ResponseEntity<CalculationResponse>> evaluate(@RequestBody Mono<ExpressionRequest> request) {
+        return request.map(calculationService::evaluate);
+    }
+
+    /**
+     * Performs a batch of independent calculations given as columns.
+     *
+     * POST /api/calculator/batch
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchCalculationResponse>> calculateBatch(@RequestBody Mono<BatchCalculationRequest> request) {
+        return request.publishOn(Schedulers.parallel()).map(calculationService::calculateBatch);
+    }
+
+    /**
+     * Reduces an array of values to one aggregate.
+     *
+     * POST /api/calculator/reduce
+     */
+    @PostMapping("/reduce")
+    public Mono<ResponseEntity<CalculationResponse>> reduce(@RequestBody Mono<ReductionRequest> request) {
+        return request.publishOn(Schedulers.parallel()).map(calculationService::reduce);
+    }
+
+    /**
+     * Gets all supported operations.
+     *
+     * GET /api/calculator/operations
+     */
+    @GetMapping("/operations")
+    public Mono<List<Operation>> getSupportedOperations() {
+        return Mono.just(Arrays.asList(Operation.values()));
+    }
+
+    /**
+     * Health check endpoint.
+     *
+     * GET /api/calculator/health
+     */
+    @GetMapping("/health")
+    public Mono<String> health() {
+        return Mono.just("Calculator service is running");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.flexible.calculator.controller;
+
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.dto.ChainSessionRequest;
+import com.example.flexible.calculator.dto.ChainSessionResponse;
+import com.example.flexible.calculator.service.ChainSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST Controller for incremental chain sessions, active with the "reactive" profile.
+ * Serves the same endpoints as {@link ChainSessionController}. Session operations hold their
+ * session's lock only for one step, so they run on the event loop.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/calculator/chain/sessions")
+@CrossOrigin(origins = "*")
+public class ReactiveChainSessionController {
+
+    private final ChainSessionService sessionService;
+
+    @Autowired
+    public ReactiveChainSessionController(ChainSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Starts a session.
+     *
+     * POST /api/calculator/chain/sessions
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ChainSessionResponse>> create(@RequestBody Mono<ChainSessionRequest> request) {
+        return request.map(sessionService::create);
+    }
+
+    /**
+     * Applies one step to a session.
+     *
+     * POST /api/calculator/chain/sessions/{id}/steps
+     */
+    @PostMapping("/{id}/steps")
+    public Mono<ResponseEntity<ChainSessionResponse>> apply(@PathVariable String id,
+                                                            @RequestBody Mono<ChainOperationRequest> request) {
+        return request.map(step -> sessionService.apply(id, step));
+    }
+
+    /**
+     * Gets the current value of a session.
+     *
+     * GET /api/calculator/chain/sessions/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ChainSessionResponse>> get(@PathVariable String id) {
+        return Mono.fromSupplier(() -> sessionService.get(id));
+    }
+
+    /**
+     * Restarts a session from a new value.
+     *
+     * POST /api/calculator/chain/sessions/{id}/reset
+     */
+    @PostMapping("/{id}/reset")
+    public Mono<ResponseEntity<ChainSessionResponse>> reset(@PathVariable String id,
+                                                            @RequestBody Mono<ChainSessionRequest> request) {
+        return request.map(value -> sessionService.reset(id, value));
+    }
+
+    /**
+     * Ends a session.
+     *
+     * DELETE /api/calculator/chain/sessions/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> close(@PathVariable String id) {
+        return Mono.fromSupplier(() -> sessionService.close(id));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.flexible.calculator.decimal;
+
+import com.example.flexible.calculator.Operation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Exact decimal arithmetic for the built-in operations, rounded to a {@link MathContext}.
+ * <p>
+ * {@link BigDecimal} already keeps values of up to 18 digits as scaled {@code long}s and adds,
+ * subtracts and multiplies them without {@link java.math.BigInteger}s, so those operations use it
+ * directly. Division is the exception: {@code divide(divisor, mc)} works through {@code BigInteger}
+ * long division sized by the precision. Quotients of operands of at most {@value #MAX_FAST_DIGITS}
+ * digits are therefore computed as scaled longs when their decimal expansion terminates, and fall
+ * back to {@code BigDecimal} only on overflow or a non-terminating quotient.
+ * Results equal {@code a.add(b, mc)}, {@code a.divide(b, mc)} etc., scale included.
+ */
+public final class DecimalArithmetic {
+    static final int MAX_FAST_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private DecimalArithmetic() {
+    }
+
+    /**
+     * Applies a built-in operation.
+     *
+     * @param operation the operation
+     * @param operand1 the first operand
+     * @param operand2 the second operand; must not be zero for {@link Operation#DIVIDE}
+     * @param mathContext the precision and rounding of the result
+     * @return the result
+     * @throws ArithmeticException if an exact quotient is required but does not terminate
+     */
+    public static BigDecimal apply(Operation operation, BigDecimal operand1, BigDecimal operand2,
+                                   MathContext mathContext) {
+        switch (operation) {
+            case ADD:
+                return operand1.add(operand2, mathContext);
+            case SUBTRACT:
+                return operand1.subtract(operand2, mathContext);
+            case MULTIPLY:
+                return operand1.multiply(operand2, mathContext);
+            case DIVIDE:
+                if (operand1.precision() <= MAX_FAST_DIGITS && operand2.precision() <= MAX_FAST_DIGITS) {
+                    BigDecimal quotient = divideScaled(unscaled(operand1), operand1.scale(),
+                            unscaled(operand2), operand2.scale(), mathContext);
+                    if (quotient != null) {
+                        return quotient;
+                    }
+                }
+                return operand1.divide(operand2, mathContext);
+            default:
+                throw new UnsupportedOperationException("Operation " + operation + " is not supported");
+        }
+    }
+
+    /**
+     * Computes {@code unscaled1 * 10^-scale1 / unscaled2 * 10^-scale2} in longs.
+     * Operands must have at most {@value #MAX_FAST_DIGITS} digits and the divisor must not be zero.
+     *
+     * @return the quotient, or null when it overflows or does not terminate
+     */
+    static BigDecimal divideScaled(long unscaled1, int scale1, long unscaled2, int scale2, MathContext mathContext) {
+        // Operands have at most 18 digits, so neither is Long.MIN_VALUE and negation is safe.
+        long gcd = gcd(Math.abs(unscaled1), Math.abs(unscaled2));
+        long numerator = unscaled1 / gcd;
+        long denominator = unscaled2 / gcd;
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        // n/d terminates iff d = 2^twos * 5^fives; then n/d = n * (10^k / d) * 10^-k with k = max(twos, fives).
+        int twos = Long.numberOfTrailingZeros(denominator);
+        long rest = denominator >>> twos;
+        int fives = 0;
+        while (rest % 5 == 0) {
+            rest /= 5;
+            fives++;
+        }
+        if (rest != 1) {
+            return null;
+        }
+        int k = Math.max(twos, fives);
+        if (k > MAX_FAST_DIGITS) {
+            return null;
+        }
+        long multiplier = POWERS_OF_TEN[k] / denominator;
+        long high = Math.multiplyHigh(numerator, multiplier);
+        long quotient = numerator * multiplier;
+        if (high != (quotient >> 63)) {
+            return null;
+        }
+        // Like BigDecimal, drop trailing zeros down to the preferred scale of a quotient.
+        long preferredScale = (long) scale1 - scale2;
+        long scale = k + preferredScale;
+        while (scale > preferredScale && quotient % 10 == 0 && quotient != 0) {
+            quotient /= 10;
+            scale--;
+        }
+        if (quotient == 0) {
+            scale = preferredScale;
+        }
+        if (scale != (int) scale) {
+            return null;
+        }
+        BigDecimal result = BigDecimal.valueOf(quotient, (int) scale);
+        int precision = mathContext.getPrecision();
+        if (precision == 0 || digits(quotient) <= precision) {
+            return result;
+        }
+        // Trailing zeros were already dropped down to the preferred scale, so rounding alone matches BigDecimal.
+        return result.round(mathContext);
+    }
+
+    /**
+     * Gets the unscaled value of a decimal of at most 18 digits without creating a BigInteger.
+     */
+    private static long unscaled(BigDecimal value) {
+        return value.scale() == 0 ? value.longValue() : value.movePointRight(value.scale()).longValue();
+    }
+
+    private static int digits(long value) {
+        long magnitude = Math.abs(value);
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a == 0 ? 1 : a;
+    }
+}
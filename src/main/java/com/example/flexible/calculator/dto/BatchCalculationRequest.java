@@ -0,0 +1,30 @@
+package com.example.flexible.calculator.dto;
+
+import com.example.flexible.calculator.Operation;
+
+/**
+ * Request DTO for columnar batch calculations.
+ * Index {@code i} of each column forms one independent calculation.
+ */
+public class BatchCalculationRequest {
+    private Operation[] operations;
+    private double[] num1;
+    private double[] num2;
+
+    public BatchCalculationRequest() {}
+
+    public BatchCalculationRequest(Operation[] operations, double[] num1, double[] num2) {
+        this.operations = operations;
+        this.num1 = num1;
+        this.num2 = num2;
+    }
+
+    public Operation[] getOperations() { return operations; }
+    public void setOperations(Operation[] operations) { this.operations = operations; }
+
+    public double[] getNum1() { return num1; }
+    public void setNum1(double[] num1) { this.num1 = num1; }
+
+    public double[] getNum2() { return num2; }
+    public void setNum2(double[] num2) { this.num2 = num2; }
+}
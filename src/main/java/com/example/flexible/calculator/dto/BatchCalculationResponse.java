@@ -0,0 +1,40 @@
+package com.example.flexible.calculator.dto;
+
+import java.util.Map;
+
+/**
+ * Response DTO for columnar batch calculations.
+ * Per-index failures are listed in {@code errors}, keyed by index;
+ * the corresponding entries in {@code results} are {@code NaN}.
+ */
+public class BatchCalculationResponse {
+    private double[] results;
+    private Map<Integer, String> errors;
+    private String error;
+    private boolean success;
+
+    public BatchCalculationResponse() {}
+
+    public BatchCalculationResponse(double[] results, Map<Integer, String> errors) {
+        this.results = results;
+        this.errors = errors;
+        this.success = true;
+    }
+
+    public BatchCalculationResponse(String error) {
+        this.error = error;
+        this.success = false;
+    }
+
+    public double[] getResults() { return results; }
+    public void setResults(double[] results) { this.results = results; }
+
+    public Map<Integer, String> getErrors() { return errors; }
+    public void setErrors(Map<Integer, String> errors) { this.errors = errors; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+}
@@ -1,14 +1,22 @@
 package com.example.flexible.calculator.dto;
 
 import com.example.flexible.calculator.Operation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.math.BigDecimal;
 
 /**
  * Request DTO for single calculation operations.
+ * Operands bound from JSON also keep their exact decimal literal, which requests with a precision use.
  */
 public class CalculationRequest {
     private Operation operation;
     private Double num1;
     private Double num2;
+    private BigDecimal decimalNum1;
+    private BigDecimal decimalNum2;
+    private Integer precision;
 
     public CalculationRequest() {}
 
@@ -22,8 +30,36 @@ public class CalculationRequest {
     public void setOperation(Operation operation) { this.operation = operation; }
 
     public Double getNum1() { return num1; }
-    public void setNum1(Double num1) { this.num1 = num1; }
+    public void setNum1(Double num1) { this.num1 = num1; this.decimalNum1 = null; }
+
+    @JsonSetter("num1")
+    public void setNum1(BigDecimal num1) { this.num1 = doubleValue(num1); this.decimalNum1 = num1; }
 
     public Double getNum2() { return num2; }
-    public void setNum2(Double num2) { this.num2 = num2; }
+    public void setNum2(Double num2) { this.num2 = num2; this.decimalNum2 = null; }
+
+    @JsonSetter("num2")
+    public void setNum2(BigDecimal num2) { this.num2 = doubleValue(num2); this.decimalNum2 = num2; }
+
+    /**
+     * Gets the exact literal of num1, or null if it was set as a double.
+     */
+    @JsonIgnore
+    public BigDecimal getDecimalNum1() { return decimalNum1; }
+
+    /**
+     * Gets the exact literal of num2, or null if it was set as a double.
+     */
+    @JsonIgnore
+    public BigDecimal getDecimalNum2() { return decimalNum2; }
+
+    /**
+     * Significant digits of a decimal result: null for double arithmetic, 0 for exact decimal results.
+     */
+    public Integer getPrecision() { return precision; }
+    public void setPrecision(Integer precision) { this.precision = precision; }
+
+    static Double doubleValue(BigDecimal value) {
+        return value == null ? null : Double.valueOf(value.doubleValue());
+    }
 }
\ No newline at end of file
@@ -1,11 +1,21 @@
 package com.example.flexible.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
 /**
  * Response DTO for calculation results.
  */
 public class CalculationResponse {
     private Double result;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal decimalResult;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private double[] intermediates;
     private String error;
     private boolean success;
+    private boolean readOnly;
 
     public CalculationResponse() {}
 
@@ -14,18 +24,57 @@ public class CalculationResponse {
         this.success = true;
     }
 
+    public CalculationResponse(BigDecimal decimalResult) {
+        this(Double.valueOf(decimalResult.doubleValue()));
+        this.decimalResult = decimalResult;
+    }
+
+    public CalculationResponse(Double result, double[] intermediates) {
+        this(result);
+        this.intermediates = intermediates;
+    }
+
     public CalculationResponse(String error) {
         this.error = error;
         this.success = false;
     }
 
+    /**
+     * Creates an error response whose setters throw, so it can be built once and shared between requests.
+     *
+     * @param error the error message
+     * @return the read-only response
+     */
+    public static CalculationResponse readOnlyError(String error) {
+        CalculationResponse response = new CalculationResponse(error);
+        response.readOnly = true;
+        return response;
+    }
+
     public Double getResult() { return result; }
-    public void setResult(Double result) { this.result = result; }
+    public void setResult(Double result) { checkWritable(); this.result = result; }
+
+    /**
+     * Gets the exact result of a request with a precision; {@link #getResult()} holds its nearest double.
+     */
+    public BigDecimal getDecimalResult() { return decimalResult; }
+    public void setDecimalResult(BigDecimal decimalResult) { checkWritable(); this.decimalResult = decimalResult; }
+
+    /**
+     * Gets the value after each step of a chain that asked for intermediates.
+     */
+    public double[] getIntermediates() { return intermediates; }
+    public void setIntermediates(double[] intermediates) { checkWritable(); this.intermediates = intermediates; }
 
     public String getError() { return error; }
-    public void setError(String error) { this.error = error; }
+    public void setError(String error) { checkWritable(); this.error = error; }
 
     public boolean isSuccess() { return success; }
-    public void setSuccess(boolean success) { this.success = success; }
-}
+    public void setSuccess(boolean success) { checkWritable(); this.success = success; }
 
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Shared response cannot be modified");
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.flexible.calculator.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -7,7 +11,10 @@ import java.util.List;
  */
 public class ChainCalculationRequest {
     private Double initialValue;
+    private BigDecimal decimalInitialValue;
     private List<ChainOperationRequest> operations;
+    private Integer precision;
+    private boolean intermediates;
 
     public ChainCalculationRequest() {}
 
@@ -17,8 +24,32 @@ public class ChainCalculationRequest {
     }
 
     public Double getInitialValue() { return initialValue; }
-    public void setInitialValue(Double initialValue) { this.initialValue = initialValue; }
+    public void setInitialValue(Double initialValue) { this.initialValue = initialValue; this.decimalInitialValue = null; }
+
+    @JsonSetter("initialValue")
+    public void setInitialValue(BigDecimal initialValue) {
+        this.initialValue = CalculationRequest.doubleValue(initialValue);
+        this.decimalInitialValue = initialValue;
+    }
+
+    /**
+     * Gets the exact literal of the initial value, or null if it was set as a double.
+     */
+    @JsonIgnore
+    public BigDecimal getDecimalInitialValue() { return decimalInitialValue; }
 
     public List<ChainOperationRequest> getOperations() { return operations; }
     public void setOperations(List<ChainOperationRequest> operations) { this.operations = operations; }
+
+    /**
+     * Significant digits kept after each step: null for double arithmetic, 0 for exact decimal results.
+     */
+    public Integer getPrecision() { return precision; }
+    public void setPrecision(Integer precision) { this.precision = precision; }
+
+    /**
+     * Whether the response also carries the value after every step.
+     */
+    public boolean isIntermediates() { return intermediates; }
+    public void setIntermediates(boolean intermediates) { this.intermediates = intermediates; }
 }
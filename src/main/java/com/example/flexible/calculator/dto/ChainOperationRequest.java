@@ -1,6 +1,10 @@
 package com.example.flexible.calculator.dto;
 
 import com.example.flexible.calculator.Operation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.math.BigDecimal;
 
 /**
  * Request DTO for chain operation steps.
@@ -8,6 +12,7 @@ import com.example.flexible.calculator.Operation;
 public class ChainOperationRequest {
     private Operation operation;
     private Double operand;
+    private BigDecimal decimalOperand;
 
     public ChainOperationRequest() {}
 
@@ -20,5 +25,17 @@ public class ChainOperationRequest {
     public void setOperation(Operation operation) { this.operation = operation; }
 
     public Double getOperand() { return operand; }
-    public void setOperand(Double operand) { this.operand = operand; }
+    public void setOperand(Double operand) { this.operand = operand; this.decimalOperand = null; }
+
+    @JsonSetter("operand")
+    public void setOperand(BigDecimal operand) {
+        this.operand = CalculationRequest.doubleValue(operand);
+        this.decimalOperand = operand;
+    }
+
+    /**
+     * Gets the exact literal of the operand, or null if it was set as a double.
+     */
+    @JsonIgnore
+    public BigDecimal getDecimalOperand() { return decimalOperand; }
 }
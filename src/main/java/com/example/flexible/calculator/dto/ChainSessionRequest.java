@@ -0,0 +1,17 @@
+package com.example.flexible.calculator.dto;
+
+/**
+ * Request DTO for starting or resetting a chain session.
+ */
+public class ChainSessionRequest {
+    private Double initialValue;
+
+    public ChainSessionRequest() {}
+
+    public ChainSessionRequest(Double initialValue) {
+        this.initialValue = initialValue;
+    }
+
+    public Double getInitialValue() { return initialValue; }
+    public void setInitialValue(Double initialValue) { this.initialValue = initialValue; }
+}
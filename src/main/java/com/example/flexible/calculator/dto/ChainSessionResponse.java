@@ -0,0 +1,55 @@
+package com.example.flexible.calculator.dto;
+
+/**
+ * Response DTO for chain session requests: the session and its current value.
+ */
+public class ChainSessionResponse {
+    private String sessionId;
+    private Double result;
+    private String error;
+    private boolean success;
+    private boolean readOnly;
+
+    public ChainSessionResponse() {}
+
+    public ChainSessionResponse(String sessionId, Double result) {
+        this.sessionId = sessionId;
+        this.result = result;
+        this.success = true;
+    }
+
+    public ChainSessionResponse(String error) {
+        this.error = error;
+        this.success = false;
+    }
+
+    /**
+     * Creates an error response whose setters throw, so it can be built once and shared between requests.
+     *
+     * @param error the error message
+     * @return the read-only response
+     */
+    public static ChainSessionResponse readOnlyError(String error) {
+        ChainSessionResponse response = new ChainSessionResponse(error);
+        response.readOnly = true;
+        return response;
+    }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { checkWritable(); this.sessionId = sessionId; }
+
+    public Double getResult() { return result; }
+    public void setResult(Double result) { checkWritable(); this.result = result; }
+
+    public String getError() { return error; }
+    public void setError(String error) { checkWritable(); this.error = error; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { checkWritable(); this.success = success; }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Shared response cannot be modified");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.flexible.calculator.dto;
+
+import java.util.Map;
+
+/**
+ * Request DTO for evaluating an infix expression with variable bindings.
+ */
+public class ExpressionRequest {
+    private String expression;
+    private Map<String, Double> variables;
+
+    public ExpressionRequest() {}
+
+    public ExpressionRequest(String expression, Map<String, Double> variables) {
+        this.expression = expression;
+        this.variables = variables;
+    }
+
+    public String getExpression() { return expression; }
+    public void setExpression(String expression) { this.expression = expression; }
+
+    public Map<String, Double> getVariables() { return variables; }
+    public void setVariables(Map<String, Double> variables) { this.variables = variables; }
+}
@@ -0,0 +1,24 @@
+package com.example.flexible.calculator.dto;
+
+import com.example.flexible.calculator.Reduction;
+
+/**
+ * Request DTO for reducing an array of values to one aggregate.
+ */
+public class ReductionRequest {
+    private Reduction reduction;
+    private double[] values;
+
+    public ReductionRequest() {}
+
+    public ReductionRequest(Reduction reduction, double[] values) {
+        this.reduction = reduction;
+        this.values = values;
+    }
+
+    public Reduction getReduction() { return reduction; }
+    public void setReduction(Reduction reduction) { this.reduction = reduction; }
+
+    public double[] getValues() { return values; }
+    public void setValues(double[] values) { this.values = values; }
+}
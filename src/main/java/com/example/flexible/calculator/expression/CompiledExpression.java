@@ -0,0 +1,124 @@
+package com.example.flexible.calculator.expression;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An infix expression compiled to a {@link MethodHandle} tree over the registered operation strategies.
+ * Variables are bound by position; {@link #getVariables()} gives the slot order.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class CompiledExpression {
+    /**
+     * Slots after the variables in an evaluation frame: the status ordinal plus one of the first
+     * rejected operator, or 0 if none was rejected, then that operator's operation ordinal.
+     */
+    static final int FAILURE_SLOTS = 2;
+
+    private final String expression;
+    private final MethodHandle handle;
+    private final String[] variables;
+    private final long strategyVersion;
+
+    CompiledExpression(String expression, MethodHandle handle, String[] variables, long strategyVersion) {
+        this.expression = expression;
+        this.handle = handle;
+        this.variables = variables;
+        this.strategyVersion = strategyVersion;
+    }
+
+    /**
+     * Evaluates the expression with variables bound by name.
+     *
+     * @param bindings the variable values by name; may be null if the expression has no variables
+     * @return the value of the expression
+     * @throws IllegalArgumentException if a variable is not bound
+     * @throws ArithmeticException if an operation is mathematically invalid (e.g., division by zero)
+     */
+    public double evaluate(Map<String, ? extends Number> bindings) {
+        return valueOf(tryEvaluate(bindings));
+    }
+
+    /**
+     * Evaluates the expression like {@link #evaluate(Map)}, but reports an unbound variable or an operation
+     * rejecting its operands as a result status instead of throwing. Division by zero returns the shared result.
+     *
+     * @param bindings the variable values by name; may be null if the expression has no variables
+     * @return the value of the expression or the first failure
+     * @throws ArithmeticException if a custom strategy throws instead of rejecting its operands
+     */
+    public CalculationResult tryEvaluate(Map<String, ? extends Number> bindings) {
+        double[] frame = new double[variables.length + FAILURE_SLOTS];
+        for (int i = 0; i < variables.length; i++) {
+            Number value = bindings == null ? null : bindings.get(variables[i]);
+            if (value == null) {
+                return CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Variable '" + variables[i] + "' is not bound");
+            }
+            frame[i] = value.doubleValue();
+        }
+        return run(frame);
+    }
+
+    /**
+     * Evaluates the expression with variables bound by position.
+     *
+     * @param values the variable values, in the order of {@link #getVariables()}
+     * @return the value of the expression
+     * @throws IllegalArgumentException if the number of values does not match
+     * @throws ArithmeticException if an operation is mathematically invalid (e.g., division by zero)
+     */
+    public double evaluate(double[] values) {
+        if (values == null || values.length != variables.length) {
+            throw new IllegalArgumentException("Expected " + variables.length + " variable values");
+        }
+        return valueOf(run(Arrays.copyOf(values, variables.length + FAILURE_SLOTS)));
+    }
+
+    private CalculationResult run(double[] frame) {
+        double value;
+        try {
+            value = (double) handle.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Expression evaluation failed", e);
+        }
+        int status = (int) frame[variables.length];
+        if (status != 0) {
+            return CalculationResult.of(CalculationStatus.values()[status - 1],
+                    Operation.values()[(int) frame[variables.length + 1]]);
+        }
+        return CalculationResult.success(value);
+    }
+
+    private static double valueOf(CalculationResult result) {
+        if (!result.isSuccess()) {
+            throw result.toException();
+        }
+        return result.getValue();
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    /**
+     * Gets the version of the strategy snapshot this expression was compiled against.
+     *
+     * @return the strategy snapshot version
+     */
+    public long getStrategyVersion() {
+        return strategyVersion;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.flexible.calculator.expression;
+
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.cache.CacheStats;
+import com.example.flexible.calculator.cache.LruCache;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.factory.StrategySnapshot;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses infix expressions such as {@code (a + b) * c / d} and compiles them to {@link CompiledExpression}s.
+ * Each binary operator becomes a call to the strategy registered for its {@link Operation},
+ * combined into a single {@link MethodHandle} tree so evaluation does no parsing or lookup.
+ * Operands a strategy rejects through {@link OperationStrategy#validate} are recorded in the evaluation
+ * frame instead of throwing, see {@link CompiledExpression#tryEvaluate}.
+ * Compiled expressions are cached by expression text in a bounded LRU cache and recompiled
+ * when the strategy registry changes.
+ * <p>
+ * Supported syntax: decimal numbers (with optional exponent), variables ({@code [A-Za-z_][A-Za-z0-9_]*}),
+ * {@code + - * /}, unary minus and parentheses, with the usual precedence and left associativity.
+ * Nesting is limited to {@value #MAX_DEPTH} levels and expressions to {@value #MAX_OPERATORS} operators,
+ * since evaluating the handle tree recurses once per operator.
+ */
+public class ExpressionCompiler {
+    private static final int MAX_DEPTH = 256;
+    private static final int MAX_OPERATORS = 1024;
+    private static final MethodHandle APPLY;
+    private static final MethodHandle NEGATE;
+    private static final MethodHandle ELEMENT;
+    private static final MethodType EVALUATE_TYPE = MethodType.methodType(double.class, double[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            APPLY = lookup.findStatic(ExpressionCompiler.class, "apply", MethodType.methodType(double.class,
+                    OperationStrategy.class, Operation.class, double[].class, double.class, double.class));
+            NEGATE = lookup.findStatic(ExpressionCompiler.class, "negate",
+                    MethodType.methodType(double.class, double.class));
+            ELEMENT = MethodHandles.arrayElementGetter(double[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final OperationStrategyFactory strategyFactory;
+    private final LruCache<String, CompiledExpression> cache;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param strategyFactory the factory for operation strategies
+     * @param cacheSize the maximum number of cached expressions; zero disables caching
+     */
+    public ExpressionCompiler(OperationStrategyFactory strategyFactory, int cacheSize) {
+        if (strategyFactory == null) {
+            throw new IllegalArgumentException("OperationStrategyFactory cannot be null");
+        }
+        this.strategyFactory = strategyFactory;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Gets the compiled form of the expression, compiling and caching it on a miss.
+     *
+     * @param expression the infix expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is null, blank or malformed
+     * @throws UnsupportedOperationException if the expression uses an operation that is not supported
+     */
+    public CompiledExpression compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Expression cannot be null or empty");
+        }
+        CompiledExpression compiled = cache.get(expression);
+        if (compiled == null || compiled.getStrategyVersion() != strategyFactory.getVersion()) {
+            compiled = new Parser(expression, strategyFactory.snapshot()).parse();
+            cache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    private static double negate(double value) {
+        return -value;
+    }
+
+    /**
+     * Runs one operator. Rejected operands evaluate to NaN, and the first rejection is recorded in the
+     * failure slots at the end of the frame, so the rest of the tree runs without throwing.
+     */
+    private static double apply(OperationStrategy strategy, Operation operation, double[] frame,
+                                double operand1, double operand2) {
+        CalculationStatus status = strategy.validate(operand1, operand2);
+        if (status.isSuccess()) {
+            return strategy.execute(operand1, operand2);
+        }
+        int slot = frame.length - CompiledExpression.FAILURE_SLOTS;
+        if (frame[slot] == 0.0) {
+            frame[slot] = status.ordinal() + 1;
+            frame[slot + 1] = operation.ordinal();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Recursive-descent parser that builds the method handle tree while parsing.
+     * Every subtree has type {@code (double[])double}.
+     */
+    private static final class Parser {
+        private final String text;
+        private final StrategySnapshot strategies;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+        private int depth;
+        private int operators;
+
+        Parser(String text, StrategySnapshot strategies) {
+            this.text = text;
+            this.strategies = strategies;
+        }
+
+        CompiledExpression parse() {
+            MethodHandle handle = expression();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+            return new CompiledExpression(text, handle, variables.toArray(new String[0]), strategies.getVersion());
+        }
+
+        private MethodHandle expression() {
+            MethodHandle left = term();
+            while (true) {
+                if (accept('+')) {
+                    left = binary(Operation.ADD, left, term());
+                } else if (accept('-')) {
+                    left = binary(Operation.SUBTRACT, left, term());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private MethodHandle term() {
+            MethodHandle left = factor();
+            while (true) {
+                if (accept('*')) {
+                    left = binary(Operation.MULTIPLY, left, factor());
+                } else if (accept('/')) {
+                    left = binary(Operation.DIVIDE, left, factor());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private MethodHandle factor() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Expression is nested too deeply");
+            }
+            try {
+                if (accept('-')) {
+                    countOperator();
+                    return MethodHandles.filterReturnValue(factor(), NEGATE);
+                }
+                if (accept('+')) {
+                    return factor();
+                }
+                if (accept('(')) {
+                    MethodHandle inner = expression();
+                    if (!accept(')')) {
+                        throw error("Expected ')'");
+                    }
+                    return inner;
+                }
+                skipWhitespace();
+                if (position < text.length()) {
+                    char c = text.charAt(position);
+                    if (Character.isDigit(c) || c == '.') {
+                        return constant(number());
+                    }
+                    if (Character.isLetter(c) || c == '_') {
+                        return variable(identifier());
+                    }
+                }
+                throw error(position < text.length() ? "Unexpected '" + text.charAt(position) + "'" : "Unexpected end of expression");
+            } finally {
+                depth--;
+            }
+        }
+
+        private MethodHandle binary(Operation operation, MethodHandle left, MethodHandle right) {
+            countOperator();
+            OperationStrategy strategy = strategies.getStrategy(operation);
+            MethodHandle apply = MethodHandles.insertArguments(APPLY, 0, strategy, operation);
+            MethodHandle combined = MethodHandles.filterArguments(apply, 1, left, right);
+            return MethodHandles.permuteArguments(combined, EVALUATE_TYPE, 0, 0, 0);
+        }
+
+        private void countOperator() {
+            if (++operators > MAX_OPERATORS) {
+                throw error("Expression has more than " + MAX_OPERATORS + " operators");
+            }
+        }
+
+        private MethodHandle constant(double value) {
+            return MethodHandles.dropArguments(MethodHandles.constant(double.class, value), 0, double[].class);
+        }
+
+        private MethodHandle variable(String name) {
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                slot = variables.size();
+                variables.add(name);
+            }
+            return MethodHandles.insertArguments(ELEMENT, 1, slot);
+        }
+
+        private double number() {
+            int start = position;
+            while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+                int exponent = position + 1;
+                if (exponent < text.length() && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < text.length() && Character.isDigit(text.charAt(exponent))) {
+                    position = exponent;
+                    while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                        position++;
+                    }
+                }
+            }
+            try {
+                return Double.parseDouble(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Invalid number '" + text.substring(start, Math.min(text.length(), start + 20)) + "'");
+            }
+        }
+
+        private String identifier() {
+            int start = position;
+            while (position < text.length()
+                    && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private boolean accept(char expected) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+}
@@ -4,18 +4,42 @@ import com.example.flexible.calculator.Operation;
 import com.example.flexible.calculator.strategy.OperationStrategy;
 import com.example.flexible.calculator.strategy.impl.*;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Factory for creating operation strategy instances.
  * This class can be extended to support new operations without modifying the Calculator.
+ * <p>
+ * Strategies are held in an immutable {@link StrategySnapshot} indexed by operation ordinal.
+ * Registration publishes a new snapshot atomically, so lookups never lock and
+ * runtime registration is safe while the factory serves concurrent requests.
  */
 public class OperationStrategyFactory {
-    private final Map<Operation, OperationStrategy> strategies;
+    private final AtomicReference<StrategySnapshot> snapshot;
+    private final StrategyDecorator decorator;
 
     public OperationStrategyFactory() {
-        strategies = new HashMap<>();
-        initializeStrategies();
+        this((operation, strategy) -> strategy);
+    }
+
+    /**
+     * Creates a factory with the default strategies, each passed through the decorator.
+     * Strategies registered later are decorated as well.
+     *
+     * @param decorator the decorator applied to every strategy
+     */
+    public OperationStrategyFactory(StrategyDecorator decorator) {
+        if (decorator == null) {
+            throw new IllegalArgumentException("StrategyDecorator cannot be null");
+        }
+        this.decorator = decorator;
+        OperationStrategy[] strategies = defaultStrategies();
+        for (Operation operation : Operation.values()) {
+            if (strategies[operation.ordinal()] != null) {
+                strategies[operation.ordinal()] = decorator.decorate(operation, strategies[operation.ordinal()]);
+            }
+        }
+        snapshot = new AtomicReference<>(new StrategySnapshot(strategies, 0));
     }
 
     /**
@@ -24,14 +48,24 @@ public class OperationStrategyFactory {
      * @param strategies pre-configured map of operation strategies
      */
     public OperationStrategyFactory(Map<Operation, OperationStrategy> strategies) {
-        this.strategies = new HashMap<>(strategies);
+        OperationStrategy[] initial = new OperationStrategy[Operation.values().length];
+        strategies.forEach((operation, strategy) -> {
+            if (operation == null || strategy == null) {
+                throw new IllegalArgumentException("Operation and strategy cannot be null");
+            }
+            initial[operation.ordinal()] = strategy;
+        });
+        decorator = (operation, strategy) -> strategy;
+        snapshot = new AtomicReference<>(new StrategySnapshot(initial, 0));
     }
 
-    private void initializeStrategies() {
-        strategies.put(Operation.ADD, new AdditionStrategy());
-        strategies.put(Operation.SUBTRACT, new SubtractionStrategy());
-        strategies.put(Operation.MULTIPLY, new MultiplicationStrategy());
-        strategies.put(Operation.DIVIDE, new DivisionStrategy());
+    private static OperationStrategy[] defaultStrategies() {
+        OperationStrategy[] strategies = new OperationStrategy[Operation.values().length];
+        strategies[Operation.ADD.ordinal()] = new AdditionStrategy();
+        strategies[Operation.SUBTRACT.ordinal()] = new SubtractionStrategy();
+        strategies[Operation.MULTIPLY.ordinal()] = new MultiplicationStrategy();
+        strategies[Operation.DIVIDE.ordinal()] = new DivisionStrategy();
+        return strategies;
     }
 
     /**
@@ -42,16 +76,32 @@ public class OperationStrategyFactory {
      * @throws UnsupportedOperationException if the operation is not supported
      */
     public OperationStrategy getStrategy(Operation operation) {
-        OperationStrategy strategy = strategies.get(operation);
-        if (strategy == null) {
-            throw new UnsupportedOperationException("Operation " + operation + " is not supported");
-        }
-        return strategy;
+        return snapshot.get().getStrategy(operation);
+    }
+
+    /**
+     * Gets the current snapshot of registered strategies.
+     * Callers that perform several lookups should use one snapshot so they all
+     * see the same registrations.
+     *
+     * @return the current strategy snapshot
+     */
+    public StrategySnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Gets the version of the current snapshot.
+     *
+     * @return the current snapshot version
+     */
+    public long getVersion() {
+        return snapshot.get().getVersion();
     }
 
     /**
      * Registers a new operation strategy.
-     * Allows runtime extension of supported operations.
+     * Allows runtime extension of supported operations. The factory's decorator is applied to it.
      *
      * @param operation the operation to register
      * @param strategy the strategy implementation
@@ -60,6 +110,7 @@ public class OperationStrategyFactory {
         if (operation == null || strategy == null) {
             throw new IllegalArgumentException("Operation and strategy cannot be null");
         }
-        strategies.put(operation, strategy);
+        OperationStrategy decorated = decorator.decorate(operation, strategy);
+        snapshot.updateAndGet(current -> current.with(operation, decorated));
     }
-}
\ No newline at end of file
+}
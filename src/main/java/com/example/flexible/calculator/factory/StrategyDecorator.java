@@ -0,0 +1,28 @@
+package com.example.flexible.calculator.factory;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+/**
+ * Hook applied by {@link OperationStrategyFactory} to every strategy it holds,
+ * both the defaults and those registered later.
+ */
+@FunctionalInterface
+public interface StrategyDecorator {
+    /**
+     * @param operation the operation the strategy is registered for
+     * @param strategy the strategy being registered
+     * @return the strategy to store, usually a {@link com.example.flexible.calculator.strategy.DelegatingOperationStrategy}
+     */
+    OperationStrategy decorate(Operation operation, OperationStrategy strategy);
+
+    /**
+     * Returns a decorator that applies this decorator and then {@code outer} to its result.
+     *
+     * @param outer the decorator wrapping this one's result
+     * @return the composed decorator
+     */
+    default StrategyDecorator andThen(StrategyDecorator outer) {
+        return (operation, strategy) -> outer.decorate(operation, decorate(operation, strategy));
+    }
+}
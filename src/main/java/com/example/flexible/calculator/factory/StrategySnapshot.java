@@ -0,0 +1,98 @@
+package com.example.flexible.calculator.factory;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+/**
+ * Immutable view of the registered strategies at one point in time.
+ * Strategies are indexed by {@link Operation#ordinal()}, so lookups are a single
+ * array load with no hashing, locking or allocation.
+ */
+public final class StrategySnapshot {
+    private final OperationStrategy[] strategies;
+    private final IntegralOperationStrategy[] integralStrategies;
+    private final long version;
+
+    StrategySnapshot(OperationStrategy[] strategies, long version) {
+        this.strategies = strategies;
+        this.version = version;
+        // Resolved once per snapshot: interface type checks on every call are slow on hot paths.
+        this.integralStrategies = new IntegralOperationStrategy[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            OperationStrategy strategy = strategies[i];
+            while (!(strategy instanceof IntegralOperationStrategy)
+                    && strategy instanceof DelegatingOperationStrategy delegating) {
+                strategy = delegating.getDelegate();
+            }
+            if (strategy instanceof IntegralOperationStrategy integral) {
+                integralStrategies[i] = integral;
+            }
+        }
+    }
+
+    /**
+     * Gets the strategy for the given operation.
+     *
+     * @param operation the operation to get strategy for
+     * @return the operation strategy
+     * @throws UnsupportedOperationException if the operation is not supported
+     */
+    public OperationStrategy getStrategy(Operation operation) {
+        OperationStrategy strategy = operation == null ? null : strategies[operation.ordinal()];
+        if (strategy == null) {
+            throw new UnsupportedOperationException("Operation " + operation + " is not supported");
+        }
+        return strategy;
+    }
+
+    /**
+     * Gets the strategy for the given operation without throwing.
+     *
+     * @param operation the operation to get strategy for
+     * @return the operation strategy, or null if the operation is null or not supported
+     */
+    public OperationStrategy findStrategy(Operation operation) {
+        return operation == null ? null : strategies[operation.ordinal()];
+    }
+
+    /**
+     * Gets the integral form of the strategy for the given operation: the outermost decorator that
+     * has one, such as the metrics decorator, or else the innermost strategy. Decorators without an
+     * integral form are looked through, since they keep the delegate's results.
+     *
+     * @param operation the operation to get strategy for
+     * @return the strategy as an {@link IntegralOperationStrategy}, or null if it has no integral form,
+     * the operation is null or it is not supported
+     */
+    public IntegralOperationStrategy findIntegralStrategy(Operation operation) {
+        return operation == null ? null : integralStrategies[operation.ordinal()];
+    }
+
+    /**
+     * Checks whether a strategy is registered for the given operation.
+     *
+     * @param operation the operation to check
+     * @return true if the operation is supported
+     */
+    public boolean isSupported(Operation operation) {
+        return operation != null && strategies[operation.ordinal()] != null;
+    }
+
+    /**
+     * Gets the version of this snapshot. Every registration publishes a new snapshot
+     * with a higher version.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    StrategySnapshot with(Operation operation, OperationStrategy strategy) {
+        OperationStrategy[] copy = strategies.clone();
+        copy[operation.ordinal()] = strategy;
+        return new StrategySnapshot(copy, version + 1);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.flexible.calculator.metrics;
+
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.cache.CacheStats;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.impl.DivisionStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters for calculator traffic.
+ * <p>
+ * Meters are registered once up front and held in arrays indexed by operation ordinal,
+ * so recording is a few adder updates with no registry lookups or tag allocation.
+ * <ul>
+ *   <li>{@code calculator.operation.latency} (timer, tags {@code operation}, {@code mode=single|batch})</li>
+ *   <li>{@code calculator.operation.calls} and {@code calculator.operation.errors} (counters per operation)</li>
+ *   <li>{@code calculator.division.by.zero} (counter, tag {@code path=strategy|chain})</li>
+ *   <li>{@code calculator.chain.length} (distribution summary) and {@code calculator.chain.latency} (timer)</li>
+ *   <li>{@code calculator.chain.errors} (counter)</li>
+ *   <li>{@code calculator.cache.hits}, {@code .misses}, {@code .evictions} (counters), {@code calculator.cache.size}
+ *   and {@code calculator.cache.hit.ratio} (gauges), tag {@code cache}, for caches bound with {@link #monitorCache}</li>
+ * </ul>
+ * Compiled chains inline the built-in operations, so their steps are covered by the chain meters
+ * rather than the per-operation ones.
+ */
+public class CalculatorMetrics {
+    private final MeterRegistry registry;
+    private final OperationMeters[] operations;
+    private final DistributionSummary chainLength;
+    private final Timer chainLatency;
+    private final Counter chainErrors;
+    private final Counter chainDivisionByZero;
+
+    public CalculatorMetrics(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("MeterRegistry cannot be null");
+        }
+        this.registry = registry;
+        Operation[] all = Operation.values();
+        operations = new OperationMeters[all.length];
+        for (Operation operation : all) {
+            operations[operation.ordinal()] = new OperationMeters(registry, operation);
+        }
+        chainLength = DistributionSummary.builder("calculator.chain.length")
+                .description("Number of steps per chained calculation")
+                .baseUnit("steps")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000_000.0)
+                .register(registry);
+        chainLatency = latencyTimer("calculator.chain.latency", Duration.ofSeconds(10))
+                .description("Time to execute a chained calculation")
+                .register(registry);
+        chainErrors = Counter.builder("calculator.chain.errors")
+                .description("Chained calculations that failed")
+                .register(registry);
+        chainDivisionByZero = divisionByZero("chain").register(registry);
+    }
+
+    /**
+     * Wraps a strategy so its calls are recorded under the given operation.
+     * Usable as a {@link com.example.flexible.calculator.factory.StrategyDecorator}.
+     *
+     * @param operation the operation the strategy is registered for
+     * @param strategy the strategy to wrap
+     * @return the instrumented strategy
+     */
+    public OperationStrategy instrument(Operation operation, OperationStrategy strategy) {
+        OperationMeters meters = operations[operation.ordinal()];
+        if (strategy instanceof IntegralOperationStrategy integral) {
+            return new InstrumentedOperationStrategy.Integral(integral, meters);
+        }
+        return new InstrumentedOperationStrategy(strategy, meters);
+    }
+
+    /**
+     * Publishes a cache's counters and hit ratio. The stats are read when the registry is scraped.
+     *
+     * @param cache the value of the {@code cache} tag
+     * @param stats supplies the current stats of the cache
+     */
+    public void monitorCache(String cache, Supplier<CacheStats> stats) {
+        cacheCounter("calculator.cache.hits", "Cache lookups that found a value", cache, stats, CacheStats::getHits);
+        cacheCounter("calculator.cache.misses", "Cache lookups that found no value", cache, stats, CacheStats::getMisses);
+        cacheCounter("calculator.cache.evictions", "Entries evicted to make room", cache, stats, CacheStats::getEvictions);
+        Gauge.builder("calculator.cache.size", stats, s -> s.get().getSize())
+                .description("Entries currently cached")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("calculator.cache.hit.ratio", stats, s -> s.get().getHitRatio())
+                .description("Fraction of lookups that were hits")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    /**
+     * Records a chained calculation.
+     *
+     * @param length the number of steps
+     * @param nanos the execution time in nanoseconds
+     */
+    public void recordChain(int length, long nanos) {
+        chainLength.record(length);
+        chainLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a failed chained calculation.
+     *
+     * @param message the failure message
+     */
+    public void recordChainFailure(String message) {
+        chainErrors.increment();
+        if (DivisionStrategy.DIVISION_BY_ZERO.equals(message)) {
+            chainDivisionByZero.increment();
+        }
+    }
+
+    private void cacheCounter(String name, String description, String cache, Supplier<CacheStats> stats,
+                              ToDoubleFunction<CacheStats> count) {
+        FunctionCounter.builder(name, stats, s -> count.applyAsDouble(s.get()))
+                .description(description)
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static Timer.Builder latencyTimer(String name, Duration maximum) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(maximum);
+    }
+
+    private static Counter.Builder divisionByZero(String path) {
+        return Counter.builder("calculator.division.by.zero")
+                .description("Divisions by zero rejected")
+                .tag("path", path);
+    }
+
+    /**
+     * Meters for one operation.
+     */
+    static final class OperationMeters {
+        final Timer single;
+        final Timer batch;
+        final Counter calls;
+        final Counter errors;
+        final Counter divisionByZero;
+
+        OperationMeters(MeterRegistry registry, Operation operation) {
+            String tag = operation.name();
+            single = latencyTimer("calculator.operation.latency", Duration.ofMillis(100))
+                    .description("Time spent in an operation strategy")
+                    .tags("operation", tag, "mode", "single")
+                    .register(registry);
+            batch = latencyTimer("calculator.operation.latency", Duration.ofSeconds(10))
+                    .description("Time spent in an operation strategy")
+                    .tags("operation", tag, "mode", "batch")
+                    .register(registry);
+            calls = Counter.builder("calculator.operation.calls")
+                    .description("Calculations performed, counting each batch element")
+                    .tag("operation", tag)
+                    .register(registry);
+            errors = Counter.builder("calculator.operation.errors")
+                    .description("Calculations that failed, counting each batch element")
+                    .tag("operation", tag)
+                    .register(registry);
+            divisionByZero = divisionByZero("strategy").register(registry);
+        }
+
+        void failed(CalculationStatus status) {
+            errors.increment();
+            if (status == CalculationStatus.DIVISION_BY_ZERO) {
+                divisionByZero.increment();
+            }
+        }
+
+        void failed(String message, int count) {
+            errors.increment(count);
+            if (DivisionStrategy.DIVISION_BY_ZERO.equals(message)) {
+                divisionByZero.increment(count);
+            }
+        }
+    }
+}
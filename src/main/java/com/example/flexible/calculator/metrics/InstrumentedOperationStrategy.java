@@ -0,0 +1,125 @@
+package com.example.flexible.calculator.metrics;
+
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.impl.DivisionStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator that times and counts the calls of another strategy.
+ * A batch call is timed once as a whole and counted per element.
+ * Strategies with an integral form are wrapped by {@link Integral}, so exact calls are recorded too.
+ */
+public class InstrumentedOperationStrategy implements DelegatingOperationStrategy {
+    protected final OperationStrategy delegate;
+    protected final CalculatorMetrics.OperationMeters meters;
+
+    InstrumentedOperationStrategy(OperationStrategy delegate, CalculatorMetrics.OperationMeters meters) {
+        this.delegate = delegate;
+        this.meters = meters;
+    }
+
+    @Override
+    public double execute(double operand1, double operand2) throws ArithmeticException {
+        long start = System.nanoTime();
+        try {
+            return delegate.execute(operand1, operand2);
+        } catch (ArithmeticException e) {
+            meters.failed(e.getMessage(), 1);
+            throw e;
+        } finally {
+            meters.single.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.calls.increment();
+        }
+    }
+
+    @Override
+    public CalculationStatus validate(double operand1, double operand2) {
+        CalculationStatus status = delegate.validate(operand1, operand2);
+        if (!status.isSuccess()) {
+            // Rejected calls never reach execute, so they are counted here.
+            meters.calls.increment();
+            meters.failed(status);
+        }
+        return status;
+    }
+
+    @Override
+    public void executeBatch(double[] operands1, double[] operands2, double[] results, String[] errors, int length) {
+        long start = System.nanoTime();
+        delegate.executeBatch(operands1, operands2, results, errors, length);
+        meters.batch.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meters.calls.increment(length);
+
+        int failed = 0;
+        int divisionByZero = 0;
+        for (int i = 0; i < length; i++) {
+            String error = errors[i];
+            if (error != null) {
+                failed++;
+                if (DivisionStrategy.DIVISION_BY_ZERO.equals(error)) {
+                    divisionByZero++;
+                }
+            }
+        }
+        if (failed > 0) {
+            meters.errors.increment(failed);
+            if (divisionByZero > 0) {
+                meters.divisionByZero.increment(divisionByZero);
+            }
+        }
+    }
+
+    @Override
+    public OperationStrategy getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Instrumented form of an {@link IntegralOperationStrategy}. An exact call that the delegate rejects
+     * is not recorded, since the caller retries it through {@link #executeWide}, which is.
+     */
+    static final class Integral extends InstrumentedOperationStrategy implements IntegralOperationStrategy {
+        private final IntegralOperationStrategy integralDelegate;
+
+        Integral(IntegralOperationStrategy delegate, CalculatorMetrics.OperationMeters meters) {
+            super(delegate, meters);
+            this.integralDelegate = delegate;
+        }
+
+        @Override
+        public long executeExact(long operand1, long operand2) throws ArithmeticException {
+            long start = System.nanoTime();
+            long result = integralDelegate.executeExact(operand1, operand2);
+            meters.single.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.calls.increment();
+            return result;
+        }
+
+        @Override
+        public Number executeWide(long operand1, long operand2) {
+            long start = System.nanoTime();
+            try {
+                return integralDelegate.executeWide(operand1, operand2);
+            } catch (ArithmeticException e) {
+                meters.failed(e.getMessage(), 1);
+                throw e;
+            } finally {
+                meters.single.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                meters.calls.increment();
+            }
+        }
+
+        @Override
+        public int[] executeExactBatch(long[] operands1, long[] operands2, long[] results, int length) {
+            long start = System.nanoTime();
+            int[] rejected = integralDelegate.executeExactBatch(operands1, operands2, results, length);
+            meters.batch.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.calls.increment(length - rejected.length);
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.cache.CacheStats;
+import com.example.flexible.calculator.cache.LruCache;
+
+import java.util.Arrays;
+
+/**
+ * Bounded LRU cache of compiled {@link ChainShape}s keyed by operation sequence.
+ * Chains that repeat the same operations with different operands reuse one shape,
+ * skipping compilation and strategy lookup. A cached shape compiled against an older
+ * strategy snapshot is recompiled on its next use. Concurrent misses on one shape compile it once.
+ * <p>
+ * A shape and its key take memory proportional to the chain length, so shapes longer than
+ * {@code maxShapeLength} steps are compiled for each request and never retained.
+ */
+public class ChainPlanCache {
+    public static final int DEFAULT_MAX_SHAPE_LENGTH = 1024;
+
+    private final ChainPlanCompiler compiler;
+    private final LruCache<ShapeKey, ChainShape> shapes;
+    private final int maxShapeLength;
+    private final ParallelBatchExecutor scanExecutor;
+
+    public ChainPlanCache(ChainPlanCompiler compiler, int maximumSize) {
+        this(compiler, maximumSize, null);
+    }
+
+    public ChainPlanCache(ChainPlanCompiler compiler, int maximumSize, ParallelBatchExecutor scanExecutor) {
+        this(compiler, maximumSize, DEFAULT_MAX_SHAPE_LENGTH, scanExecutor);
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param compiler the compiler used on a cache miss
+     * @param maximumSize the maximum number of cached shapes; zero disables caching
+     * @param maxShapeLength the most steps a cached shape may have
+     * @param scanExecutor the executor for the prefix scans of {@link #scan}, or null to scan on the caller thread
+     */
+    public ChainPlanCache(ChainPlanCompiler compiler, int maximumSize, int maxShapeLength,
+                          ParallelBatchExecutor scanExecutor) {
+        if (compiler == null) {
+            throw new IllegalArgumentException("ChainPlanCompiler cannot be null");
+        }
+        if (maxShapeLength < 0) {
+            throw new IllegalArgumentException("Maximum shape length cannot be negative");
+        }
+        this.compiler = compiler;
+        this.shapes = new LruCache<>(maximumSize);
+        this.maxShapeLength = maxShapeLength;
+        this.scanExecutor = scanExecutor;
+    }
+
+    /**
+     * Gets the compiled shape for the operation sequence, compiling it on a miss.
+     * Shapes longer than the maximum shape length are compiled without touching the cache.
+     *
+     * @param operations the operation of each step
+     * @return the compiled shape
+     * @throws IllegalArgumentException if the array is null or contains a null operation
+     */
+    public ChainShape getShape(Operation[] operations) {
+        if (operations != null && operations.length > maxShapeLength) {
+            return compiler.compileShape(operations);
+        }
+        return shapes.computeIfAbsent(new ShapeKey(operations),
+                shape -> shape.getStrategyVersion() == compiler.getStrategyFactory().getVersion(),
+                key -> compiler.compileShape(operations));
+    }
+
+    /**
+     * Runs a chain through its cached shape.
+     *
+     * @param initialValue the starting value
+     * @param steps the chain steps
+     * @return the result of the chain
+     */
+    public double execute(double initialValue, ChainSteps steps) {
+        return getShape(steps.getOperations()).execute(initialValue, steps.getOperands());
+    }
+
+    /**
+     * Runs a chain through its cached shape, reporting a failing step as a result status.
+     *
+     * @param initialValue the starting value
+     * @param steps the chain steps
+     * @return the result of the chain or the failure of its first failing step
+     */
+    public CalculationResult evaluate(double initialValue, ChainSteps steps) {
+        return getShape(steps.getOperations()).evaluate(initialValue, steps.getOperands());
+    }
+
+    /**
+     * Runs a chain through its cached shape, storing the value after each step.
+     *
+     * @param initialValue the starting value
+     * @param steps the chain steps
+     * @param values the array receiving the value after each step
+     * @return the result of the chain or the failure of its first failing step
+     * @see ChainShape#scan
+     */
+    public CalculationResult scan(double initialValue, ChainSteps steps, double[] values) {
+        return getShape(steps.getOperations()).scan(initialValue, steps.getOperands(), values, scanExecutor);
+    }
+
+    public CacheStats getStats() {
+        return shapes.getStats();
+    }
+
+    public void clear() {
+        shapes.clear();
+    }
+
+    /**
+     * Operation sequence packed into ordinals, with the hash computed once.
+     */
+    private static final class ShapeKey {
+        private final byte[] ordinals;
+        private final int hash;
+
+        ShapeKey(Operation[] operations) {
+            if (operations == null) {
+                throw new IllegalArgumentException("Operations cannot be null");
+            }
+            ordinals = new byte[operations.length];
+            for (int i = 0; i < operations.length; i++) {
+                if (operations[i] == null) {
+                    throw new IllegalArgumentException("Operation cannot be null");
+                }
+                ordinals[i] = (byte) operations[i].ordinal();
+            }
+            hash = Arrays.hashCode(ordinals);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ShapeKey && Arrays.equals(ordinals, ((ShapeKey) other).ordinals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.factory.StrategySnapshot;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.impl.*;
+
+/**
+ * Compiles operation sequences into {@link ChainShape}s.
+ * <p>
+ * Built-in strategies are resolved to inline arithmetic. A shape never depends on operand values,
+ * so it is reused by every chain with the same operations. By default the shape applies only rewrites
+ * that give bit-identical IEEE 754 results, checked against each chain's operands as they are bound:
+ * identity steps are dropped, division by a power of two becomes multiplication by its reciprocal,
+ * and sign flips and non-negative power-of-two scales are folded. See {@link ChainShape}.
+ * <p>
+ * With {@code reassociate} enabled the shape also marks every run of ADD/SUBTRACT steps to be folded
+ * into one offset and every run of MULTIPLY/DIVIDE steps into one scale factor. That trades last-bit
+ * rounding for speed, in the same way as compiler fast-math options.
+ * <p>
+ * Only the built-in strategies are inlined. Steps whose strategy was replaced through
+ * {@link OperationStrategyFactory#registerStrategy} run as calls to that strategy, unchanged.
+ * Division by zero is never folded away; a shape that reaches such a step fails exactly where the chain would.
+ */
+public class ChainPlanCompiler {
+    private final OperationStrategyFactory strategyFactory;
+    private final boolean reassociate;
+
+    public ChainPlanCompiler(OperationStrategyFactory strategyFactory) {
+        this(strategyFactory, false);
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param strategyFactory the factory for operation strategies
+     * @param reassociate whether runs of steps may be folded at the cost of exact IEEE rounding
+     */
+    public ChainPlanCompiler(OperationStrategyFactory strategyFactory, boolean reassociate) {
+        if (strategyFactory == null) {
+            throw new IllegalArgumentException("OperationStrategyFactory cannot be null");
+        }
+        this.strategyFactory = strategyFactory;
+        this.reassociate = reassociate;
+    }
+
+    public boolean isReassociate() {
+        return reassociate;
+    }
+
+    public OperationStrategyFactory getStrategyFactory() {
+        return strategyFactory;
+    }
+
+    /**
+     * Compiles the shape of a chain: its operation sequence with the operands left as parameters.
+     * Only the built-in strategies are run inline; replaced strategies are called as registered.
+     *
+     * @param operations the operation of each step
+     * @return the compiled shape
+     * @throws IllegalArgumentException if the array is null or contains a null operation
+     */
+    public ChainShape compileShape(Operation[] operations) {
+        if (operations == null) {
+            throw new IllegalArgumentException("Operations cannot be null");
+        }
+        StrategySnapshot strategies = strategyFactory.snapshot();
+        int length = operations.length;
+        byte[] codes = new byte[length];
+        OperationStrategy[] resolved = new OperationStrategy[length];
+
+        for (int i = 0; i < length; i++) {
+            Operation operation = operations[i];
+            if (operation == null) {
+                throw new IllegalArgumentException("Operation cannot be null");
+            }
+            if (!strategies.isSupported(operation)) {
+                codes[i] = ChainShape.UNSUPPORTED;
+                continue;
+            }
+            OperationStrategy strategy = strategies.getStrategy(operation);
+            // Decorators keep the delegate's results, so decorated built-ins are still inlined.
+            Class<?> type = DelegatingOperationStrategy.unwrap(strategy).getClass();
+            if (type == AdditionStrategy.class) {
+                codes[i] = ChainShape.ADD;
+            } else if (type == SubtractionStrategy.class) {
+                codes[i] = ChainShape.SUBTRACT;
+            } else if (type == MultiplicationStrategy.class) {
+                codes[i] = ChainShape.MULTIPLY;
+            } else if (type == DivisionStrategy.class) {
+                codes[i] = ChainShape.DIVIDE;
+            } else {
+                codes[i] = ChainShape.STRATEGY;
+                resolved[i] = strategy;
+            }
+        }
+        return new ChainShape(operations.clone(), codes, resolved,
+                reassociate ? findRuns(codes) : null, strategies.getVersion());
+    }
+
+    /**
+     * Marks each run of additive or multiplicative built-in steps: {@code runEnds[start]} holds
+     * the exclusive end of the run that starts there.
+     */
+    private static int[] findRuns(byte[] codes) {
+        int[] runEnds = new int[codes.length];
+        int i = 0;
+        while (i < codes.length) {
+            int group = runGroup(codes[i]);
+            int end = i + 1;
+            if (group != 0) {
+                while (end < codes.length && runGroup(codes[end]) == group) {
+                    end++;
+                }
+            }
+            runEnds[i] = end;
+            i = end;
+        }
+        return runEnds;
+    }
+
+    private static int runGroup(byte code) {
+        switch (code) {
+            case ChainShape.ADD:
+            case ChainShape.SUBTRACT:
+                return 1;
+            case ChainShape.MULTIPLY:
+            case ChainShape.DIVIDE:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+}
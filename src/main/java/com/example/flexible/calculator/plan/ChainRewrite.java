@@ -0,0 +1,65 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.Operation;
+
+/**
+ * Describes one rewrite a {@link ChainShape} applied while running a chain.
+ * Step indices refer to positions in the original operations list.
+ */
+public final class ChainRewrite {
+
+    /**
+     * Kinds of rewrites a shape can apply.
+     */
+    public enum Kind {
+        /** A step that cannot change the running value was removed. */
+        DROPPED_IDENTITY,
+        /** A division by a power of two was replaced by the exact multiplication by its reciprocal. */
+        DIVISION_TO_MULTIPLICATION,
+        /** Consecutive steps were folded into a single step with a combined operand. */
+        FOLDED_CONSTANTS
+    }
+
+    private final Kind kind;
+    private final int firstStep;
+    private final int lastStep;
+    private final Operation operation;
+    private final double operand;
+
+    ChainRewrite(Kind kind, int firstStep, int lastStep, Operation operation, double operand) {
+        this.kind = kind;
+        this.firstStep = firstStep;
+        this.lastStep = lastStep;
+        this.operation = operation;
+        this.operand = operand;
+    }
+
+    public Kind getKind() { return kind; }
+
+    public int getFirstStep() { return firstStep; }
+
+    public int getLastStep() { return lastStep; }
+
+    /**
+     * Gets the operation of the resulting step, or of the dropped step for {@link Kind#DROPPED_IDENTITY}.
+     */
+    public Operation getOperation() { return operation; }
+
+    /**
+     * Gets the operand of the resulting step, or of the dropped step for {@link Kind#DROPPED_IDENTITY}.
+     */
+    public double getOperand() { return operand; }
+
+    @Override
+    public String toString() {
+        String steps = firstStep == lastStep ? "step " + firstStep : "steps " + firstStep + "-" + lastStep;
+        switch (kind) {
+            case DROPPED_IDENTITY:
+                return steps + ": dropped identity " + operation + " " + operand;
+            case DIVISION_TO_MULTIPLICATION:
+                return steps + ": division rewritten as " + operation + " " + operand;
+            default:
+                return steps + ": folded into " + operation + " " + operand;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A chain compiled from its operation sequence alone, with the operands left as parameters.
+ * Strategies are resolved once, so executing a shape does no validation or lookup per step,
+ * and the same shape can be reused by every chain with the same operations.
+ * <p>
+ * Steps run in order with exactly the semantics of step-by-step evaluation. Once the operands are
+ * bound, only rewrites that give bit-identical IEEE 754 results for every initial value are applied:
+ * <ul>
+ *   <li>identity steps are skipped ({@code - 0.0}, {@code + -0.0}, {@code * 1}, {@code / 1});</li>
+ *   <li>division by a power of two runs as multiplication by its exact reciprocal;</li>
+ *   <li>consecutive multiplications are folded when the product is exact for every input,
+ *       i.e. sign flips and non-negative powers of two.</li>
+ * </ul>
+ * A shape compiled by a reassociating {@link ChainPlanCompiler} instead sums each run of
+ * ADD/SUBTRACT operands into one offset and multiplies each run of MULTIPLY/DIVIDE operands into
+ * one scale factor before applying it, falling back to step-by-step evaluation for a run whose
+ * folded constant overflows or underflows. {@link #getRewrites} reports what was applied.
+ * <p>
+ * {@link #scan} also records the value after every step. A reassociating shape computes those of each
+ * run with a blocked prefix scan, which a {@link ParallelBatchExecutor} can spread across threads.
+ */
+public final class ChainShape {
+    static final byte ADD = 0;
+    static final byte SUBTRACT = 1;
+    static final byte MULTIPLY = 2;
+    static final byte DIVIDE = 3;
+    static final byte STRATEGY = 4;
+    static final byte UNSUPPORTED = 5;
+
+    /**
+     * Block size of prefix scans. Blocks are fixed, so scanned values do not depend on the thread count.
+     */
+    static final int SCAN_BLOCK_SIZE = 4096;
+
+    private final Operation[] operations;
+    private final byte[] codes;
+    private final OperationStrategy[] strategies;
+    private final int[] runEnds;
+    private final long strategyVersion;
+
+    ChainShape(Operation[] operations, byte[] codes, OperationStrategy[] strategies, int[] runEnds, long strategyVersion) {
+        this.operations = operations;
+        this.codes = codes;
+        this.strategies = strategies;
+        this.runEnds = runEnds;
+        this.strategyVersion = strategyVersion;
+    }
+
+    /**
+     * Runs the chain from the given initial value with the given operands.
+     *
+     * @param initialValue the starting value
+     * @param operands the operand of each step
+     * @return the result of the chain
+     * @throws IllegalArgumentException if the operands do not match the shape
+     * @throws ArithmeticException if a step is mathematically invalid (e.g., division by zero)
+     * @throws UnsupportedOperationException if a step uses an unsupported operation
+     */
+    public double execute(double initialValue, double[] operands) {
+        Outcome outcome = new Outcome();
+        double value = run(initialValue, operands, outcome);
+        if (outcome.failure != null) {
+            throw outcome.failure.toException();
+        }
+        return value;
+    }
+
+    /**
+     * Runs the chain like {@link #execute}, but reports a failing step as a result status
+     * instead of throwing. Division by zero and unsupported operations return shared results.
+     *
+     * @param initialValue the starting value
+     * @param operands the operand of each step
+     * @return the result of the chain or the failure of its first failing step
+     * @throws IllegalArgumentException if the operands do not match the shape
+     */
+    public CalculationResult evaluate(double initialValue, double[] operands) {
+        Outcome outcome = new Outcome();
+        double value = run(initialValue, operands, outcome);
+        return outcome.failure != null ? outcome.failure : CalculationResult.success(value);
+    }
+
+    /**
+     * Runs the chain like {@link #evaluate}, also storing the value after each step in {@code values}.
+     * Steps of a shape that does not reassociate run one by one, so every value is bit-identical to
+     * step-by-step evaluation. In a reassociating shape, each run of ADD/SUBTRACT or MULTIPLY/DIVIDE
+     * steps is computed as a prefix scan of its operands applied to the value before the run. The result
+     * is then the last scanned value, which can differ in the last bits from {@link #evaluate}.
+     *
+     * @param initialValue the starting value
+     * @param operands the operand of each step
+     * @param values the array receiving the value after each step; undefined after a failure
+     * @param executor the executor spreading long runs across threads, or null to scan on the caller thread
+     * @return the result of the chain or the failure of its first failing step
+     * @throws IllegalArgumentException if the operands or values do not match the shape
+     */
+    public CalculationResult scan(double initialValue, double[] operands, double[] values, ParallelBatchExecutor executor) {
+        if (operands == null || operands.length != codes.length) {
+            throw new IllegalArgumentException("Expected " + codes.length + " operands");
+        }
+        if (values == null || values.length != codes.length) {
+            throw new IllegalArgumentException("Expected " + codes.length + " values");
+        }
+        Outcome outcome = new Outcome();
+        double value = initialValue;
+        int i = 0;
+        while (i < codes.length) {
+            int end = runEnds == null ? 0 : runEnds[i];
+            if (end > i + 1) {
+                value = scanRun(value, operands, values, i, end, executor, outcome);
+                i = end;
+            } else {
+                value = executeStep(i, value, operands[i], outcome);
+                values[i++] = value;
+            }
+            if (outcome.failure != null) {
+                return outcome.failure;
+            }
+        }
+        return CalculationResult.success(value);
+    }
+
+    /**
+     * Runs the chain like {@link #evaluate} and reports the rewrites applied for these operands,
+     * ordered by their first step. Steps after a failing step are not reported.
+     *
+     * @param initialValue the starting value
+     * @param operands the operand of each step
+     * @return the applied rewrites
+     * @throws IllegalArgumentException if the operands do not match the shape
+     */
+    public List<ChainRewrite> getRewrites(double initialValue, double[] operands) {
+        Outcome outcome = new Outcome();
+        outcome.rewrites = new ArrayList<>();
+        run(initialValue, operands, outcome);
+        outcome.rewrites.sort(Comparator.comparingInt(ChainRewrite::getFirstStep));
+        return List.copyOf(outcome.rewrites);
+    }
+
+    private double run(double initialValue, double[] operands, Outcome outcome) {
+        if (operands == null || operands.length != codes.length) {
+            throw new IllegalArgumentException("Expected " + codes.length + " operands");
+        }
+        if (runEnds == null) {
+            return runExact(initialValue, operands, outcome);
+        }
+        double value = initialValue;
+        int i = 0;
+        while (i < codes.length) {
+            int end = runEnds == null ? 0 : runEnds[i];
+            if (end > i + 1) {
+                value = executeRun(value, operands, i, end, outcome);
+                i = end;
+            } else {
+                value = executeStep(i, value, operands[i], outcome);
+                i++;
+            }
+            if (outcome.failure != null) {
+                return Double.NaN;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Runs the steps in order, applying only the exact rewrites. A pending {@code scale} holds the
+     * product of the multiplications folded so far, and is applied before any other kind of step.
+     */
+    private double runExact(double initialValue, double[] operands, Outcome outcome) {
+        double value = initialValue;
+        double scale = 1.0;
+        int scaleFirst = -1;
+        int scaleLast = -1;
+        for (int i = 0; i < codes.length; i++) {
+            byte code = codes[i];
+            double operand = operands[i];
+            if (code == DIVIDE && operand != 0.0 && operand != 1.0
+                    && isPowerOfTwo(operand, Double.MIN_EXPONENT, Double.MAX_EXPONENT)) {
+                // x / 2^k and x * 2^-k are the same correctly rounded value whenever 2^-k is representable.
+                code = MULTIPLY;
+                operand = 1.0 / operand;
+                outcome.rewrite(ChainRewrite.Kind.DIVISION_TO_MULTIPLICATION, i, i, Operation.MULTIPLY, operand);
+            }
+            if (isIdentity(code, operand)) {
+                outcome.rewrite(ChainRewrite.Kind.DROPPED_IDENTITY, i, i, operations[i], operands[i]);
+                continue;
+            }
+            if (code == MULTIPLY && scaleFirst >= 0 && isExactProduct(scale, operand)) {
+                scale *= operand;
+                scaleLast = i;
+                continue;
+            }
+            if (scaleFirst >= 0) {
+                value = applyScale(value, scale, scaleFirst, scaleLast, outcome);
+                scaleFirst = -1;
+            }
+            if (code == MULTIPLY) {
+                scale = operand;
+                scaleFirst = i;
+                scaleLast = i;
+                continue;
+            }
+            value = executeStep(i, value, operand, outcome);
+            if (outcome.failure != null) {
+                return Double.NaN;
+            }
+        }
+        return scaleFirst >= 0 ? applyScale(value, scale, scaleFirst, scaleLast, outcome) : value;
+    }
+
+    private static double applyScale(double value, double scale, int first, int last, Outcome outcome) {
+        if (last > first) {
+            outcome.rewrite(ChainRewrite.Kind.FOLDED_CONSTANTS, first, last, Operation.MULTIPLY, scale);
+        }
+        return value * scale;
+    }
+
+    private static boolean isIdentity(byte code, double operand) {
+        switch (code) {
+            case ADD:
+                return Double.doubleToRawLongBits(operand) == Double.doubleToRawLongBits(-0.0);
+            case SUBTRACT:
+                return Double.doubleToRawLongBits(operand) == 0L;
+            case MULTIPLY:
+            case DIVIDE:
+                return operand == 1.0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether {@code value} is a power of two (ignoring sign) whose exponent lies in [min, max].
+     */
+    private static boolean isPowerOfTwo(double value, int minExponent, int maxExponent) {
+        if (value == 0.0 || !Double.isFinite(value)) {
+            return false;
+        }
+        int exponent = Math.getExponent(value);
+        return exponent >= minExponent && exponent <= maxExponent
+                && (Double.doubleToRawLongBits(value) & 0x000FFFFFFFFFFFFFL) == 0L;
+    }
+
+    /**
+     * Checks whether {@code (x * a) * b == x * (a * b)} holds bit for bit for every double {@code x}.
+     * This is the case when one factor is a sign flip, or both are non-negative powers of two
+     * whose product is still representable: scaling up by a power of two is exact until it overflows,
+     * and both sides overflow together.
+     */
+    private static boolean isExactProduct(double a, double b) {
+        if (Math.abs(a) == 1.0 || Math.abs(b) == 1.0) {
+            return true;
+        }
+        return isPowerOfTwo(a, 0, Double.MAX_EXPONENT) && isPowerOfTwo(b, 0, Double.MAX_EXPONENT)
+                && Math.getExponent(a) + Math.getExponent(b) <= Double.MAX_EXPONENT;
+    }
+
+    private double executeStep(int step, double value, double operand, Outcome outcome) {
+        switch (codes[step]) {
+            case ADD:
+                return value + operand;
+            case SUBTRACT:
+                return value - operand;
+            case MULTIPLY:
+                return value * operand;
+            case DIVIDE:
+                if (operand == 0.0) {
+                    return outcome.fail(CalculationResult.DIVISION_BY_ZERO);
+                }
+                return value / operand;
+            case STRATEGY:
+                OperationStrategy strategy = strategies[step];
+                CalculationStatus status = strategy.validate(value, operand);
+                if (!status.isSuccess()) {
+                    return outcome.fail(CalculationResult.of(status, operations[step]));
+                }
+                try {
+                    return strategy.execute(value, operand);
+                } catch (ArithmeticException e) {
+                    return outcome.fail(CalculationResult.failure(CalculationStatus.ARITHMETIC_ERROR, e.getMessage()));
+                }
+            default:
+                return outcome.fail(CalculationResult.unsupported(operations[step]));
+        }
+    }
+
+    private double executeRun(double value, double[] operands, int from, int to, Outcome outcome) {
+        if (codes[from] == ADD || codes[from] == SUBTRACT) {
+            double offset = 0.0;
+            for (int i = from; i < to; i++) {
+                offset += codes[i] == ADD ? operands[i] : -operands[i];
+            }
+            if (Double.isFinite(offset)) {
+                outcome.rewrite(ChainRewrite.Kind.FOLDED_CONSTANTS, from, to - 1, Operation.ADD, offset);
+                return value + offset;
+            }
+        } else {
+            double scale = 1.0;
+            for (int i = from; i < to; i++) {
+                double operand = operands[i];
+                if (codes[i] == MULTIPLY) {
+                    scale *= operand;
+                } else if (operand == 0.0) {
+                    return outcome.fail(CalculationResult.DIVISION_BY_ZERO);
+                } else {
+                    scale /= operand;
+                }
+            }
+            if (Double.isFinite(scale) && scale != 0.0) {
+                outcome.rewrite(ChainRewrite.Kind.FOLDED_CONSTANTS, from, to - 1, Operation.MULTIPLY, scale);
+                return value * scale;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            value = executeStep(i, value, operands[i], outcome);
+        }
+        return value;
+    }
+
+    private double scanRun(double value, double[] operands, double[] values, int from, int to,
+                           ParallelBatchExecutor executor, Outcome outcome) {
+        boolean additive = codes[from] == ADD || codes[from] == SUBTRACT;
+        if (!additive) {
+            for (int i = from; i < to; i++) {
+                if (codes[i] == DIVIDE && operands[i] == 0.0) {
+                    return outcome.fail(CalculationResult.DIVISION_BY_ZERO);
+                }
+            }
+        }
+        int length = to - from;
+        double[] totals = new double[(length + SCAN_BLOCK_SIZE - 1) / SCAN_BLOCK_SIZE];
+
+        // Pass 1: the prefix of each block on its own, and the block's total.
+        ParallelBatchExecutor.RangeTask localScan = (start, end) -> {
+            for (int blockStart = start; blockStart < end; blockStart += SCAN_BLOCK_SIZE) {
+                int blockEnd = Math.min(blockStart + SCAN_BLOCK_SIZE, end);
+                double prefix = additive ? 0.0 : 1.0;
+                for (int i = from + blockStart; i < from + blockEnd; i++) {
+                    switch (codes[i]) {
+                        case ADD: prefix += operands[i]; break;
+                        case SUBTRACT: prefix -= operands[i]; break;
+                        case MULTIPLY: prefix *= operands[i]; break;
+                        default: prefix /= operands[i]; break;
+                    }
+                    values[i] = prefix;
+                }
+                totals[blockStart / SCAN_BLOCK_SIZE] = prefix;
+            }
+        };
+        runScanPass(executor, length, localScan);
+
+        // Pass 2: the combined total before each block; there are few blocks, so this stays serial.
+        double[] carries = new double[totals.length];
+        double carry = additive ? 0.0 : 1.0;
+        for (int block = 0; block < totals.length; block++) {
+            carries[block] = carry;
+            carry = additive ? carry + totals[block] : carry * totals[block];
+        }
+        if (!Double.isFinite(carry) || carry == 0.0 && !additive) {
+            // Same fallback as executeRun: the folded constant is unusable, so run the steps one by one.
+            for (int i = from; i < to; i++) {
+                value = executeStep(i, value, operands[i], outcome);
+                values[i] = value;
+            }
+            return value;
+        }
+
+        // Pass 3: apply each block's carry and the value before the run.
+        double start = value;
+        ParallelBatchExecutor.RangeTask applyCarry = (begin, end) -> {
+            for (int i = from + begin; i < from + end; i++) {
+                double blockCarry = carries[(i - from) / SCAN_BLOCK_SIZE];
+                values[i] = additive ? start + (blockCarry + values[i]) : start * (blockCarry * values[i]);
+            }
+        };
+        runScanPass(executor, length, applyCarry);
+        return values[to - 1];
+    }
+
+    private static void runScanPass(ParallelBatchExecutor executor, int length, ParallelBatchExecutor.RangeTask task) {
+        if (executor == null) {
+            task.run(0, length);
+        } else {
+            executor.run(length, SCAN_BLOCK_SIZE, task);
+        }
+    }
+
+    /**
+     * Gets the version of the strategy snapshot this shape was compiled against.
+     *
+     * @return the strategy snapshot version
+     */
+    public long getStrategyVersion() {
+        return strategyVersion;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    byte code(int step) {
+        return codes[step];
+    }
+
+    OperationStrategy strategy(int step) {
+        return strategies[step];
+    }
+
+    Operation operation(int step) {
+        return operations[step];
+    }
+
+    /**
+     * First failure of a run, if any, and the rewrites applied when they are being reported.
+     */
+    private static final class Outcome {
+        CalculationResult failure;
+        List<ChainRewrite> rewrites;
+
+        double fail(CalculationResult result) {
+            failure = result;
+            return Double.NaN;
+        }
+
+        void rewrite(ChainRewrite.Kind kind, int firstStep, int lastStep, Operation operation, double operand) {
+            if (rewrites != null) {
+                rewrites.add(new ChainRewrite(kind, firstStep, lastStep, operation, operand));
+            }
+        }
+    }
+}
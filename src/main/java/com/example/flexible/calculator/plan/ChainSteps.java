@@ -0,0 +1,77 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+
+import java.util.List;
+
+/**
+ * The steps of a chain as parallel primitive columns: the operation sequence,
+ * which determines the chain's shape, and the operands bound to it.
+ * Steps converted from an invalid request carry the failure instead, as a shared result.
+ */
+public final class ChainSteps {
+    private static final Operation[] NO_OPERATIONS = new Operation[0];
+    private static final double[] NO_OPERANDS = new double[0];
+
+    private final Operation[] operations;
+    private final double[] operands;
+    private final CalculationResult failure;
+
+    public ChainSteps(Operation[] operations, double[] operands) {
+        if (operations == null || operands == null || operations.length != operands.length) {
+            throw new IllegalArgumentException("Operations and operands must be non-null and of the same length");
+        }
+        this.operations = operations;
+        this.operands = operands;
+        this.failure = null;
+    }
+
+    private ChainSteps(CalculationResult failure) {
+        this.operations = NO_OPERATIONS;
+        this.operands = NO_OPERANDS;
+        this.failure = failure;
+    }
+
+    /**
+     * Converts chain request steps in a single pass, validating each step.
+     * An invalid list gives steps whose {@link #getFailure()} tells why, without throwing.
+     *
+     * @param steps the chain request steps
+     * @return the steps as columns, or the failure of the first invalid step
+     */
+    public static ChainSteps from(List<ChainOperationRequest> steps) {
+        if (steps == null || steps.isEmpty()) {
+            return new ChainSteps(CalculationResult.OPERATIONS_EMPTY);
+        }
+        Operation[] operations = new Operation[steps.size()];
+        double[] operands = new double[steps.size()];
+        int i = 0;
+        for (ChainOperationRequest step : steps) {
+            if (step == null || step.getOperation() == null) {
+                return new ChainSteps(CalculationResult.OPERATION_NULL);
+            }
+            if (step.getOperand() == null) {
+                return new ChainSteps(CalculationResult.OPERAND_NULL);
+            }
+            operations[i] = step.getOperation();
+            operands[i] = step.getOperand();
+            i++;
+        }
+        return new ChainSteps(operations, operands);
+    }
+
+    /**
+     * Gets the reason the request steps were invalid.
+     *
+     * @return the shared failed result, or null if the steps are valid
+     */
+    public CalculationResult getFailure() { return failure; }
+
+    public Operation[] getOperations() { return operations; }
+
+    public double[] getOperands() { return operands; }
+
+    public int size() { return operations.length; }
+}
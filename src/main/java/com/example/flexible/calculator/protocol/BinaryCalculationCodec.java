@@ -0,0 +1,240 @@
+package com.example.flexible.calculator.protocol;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.dto.CalculationResponse;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the calculate and chain messages.
+ * All numbers are big-endian; operands and results are raw IEEE 754 doubles, so nothing is
+ * parsed or formatted as text.
+ * <ul>
+ *   <li>Calculation request ({@value #CALCULATION_REQUEST_SIZE} bytes): operation byte, num1, num2 -
+ *   the same layout as a {@link com.example.flexible.calculator.batch.BinaryBatchProcessor} input record.</li>
+ *   <li>Chain request: initial value, step count as an int, then per step an operation byte and the operand.</li>
+ *   <li>Response: a status byte. {@link #STATUS_OK} is followed by the result; {@link #STATUS_ERROR} by the
+ *   length of the error message as an unsigned short and the message in UTF-8.</li>
+ * </ul>
+ * The operation byte is {@link Operation#ordinal()}, or {@link #NULL_OPERATION} for a missing operation,
+ * which the service rejects with the same error as a missing JSON field.
+ * <p>
+ * Methods read from and write to the caller's buffers at their current position and never allocate
+ * buffers themselves, so transports can pool them.
+ */
+public final class BinaryCalculationCodec {
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final byte NULL_OPERATION = (byte) 0xFF;
+
+    public static final int CALCULATION_REQUEST_SIZE = 17;
+    public static final int CHAIN_HEADER_SIZE = 12;
+    public static final int CHAIN_STEP_SIZE = 9;
+    public static final int MAX_ERROR_LENGTH = 0xFFFF;
+    public static final int MAX_RESPONSE_SIZE = 3 + MAX_ERROR_LENGTH;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private BinaryCalculationCodec() {
+    }
+
+    /**
+     * Returns whether messages of the given type have a binary encoding.
+     */
+    public static boolean supports(Class<?> type) {
+        return type == CalculationRequest.class || type == ChainCalculationRequest.class
+                || type == CalculationResponse.class;
+    }
+
+    /**
+     * Reads a message of the given {@link #supports supported} type.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a valid message of that type
+     */
+    public static Object read(Class<?> type, ByteBuffer buffer) {
+        if (type == CalculationRequest.class) {
+            return readCalculationRequest(buffer);
+        }
+        if (type == ChainCalculationRequest.class) {
+            return readChainRequest(buffer);
+        }
+        if (type == CalculationResponse.class) {
+            return readResponse(buffer);
+        }
+        throw new IllegalArgumentException("No binary encoding for " + type.getName());
+    }
+
+    /**
+     * Writes a message of a {@link #supports supported} type; the buffer needs {@link #maxSize} bytes remaining.
+     */
+    public static void write(Object message, ByteBuffer buffer) {
+        if (message instanceof CalculationRequest request) {
+            writeCalculationRequest(request, buffer);
+        } else if (message instanceof ChainCalculationRequest request) {
+            writeChainRequest(request, buffer);
+        } else if (message instanceof CalculationResponse response) {
+            writeResponse(response, buffer);
+        } else {
+            throw new IllegalArgumentException("No binary encoding for " + message.getClass().getName());
+        }
+    }
+
+    /**
+     * Returns an upper bound on the encoded size of a message of a {@link #supports supported} type.
+     */
+    public static int maxSize(Object message) {
+        if (message instanceof CalculationRequest) {
+            return CALCULATION_REQUEST_SIZE;
+        }
+        if (message instanceof ChainCalculationRequest request) {
+            return chainRequestSize(request.getOperations().size());
+        }
+        if (message instanceof CalculationResponse response) {
+            return maxResponseSize(response);
+        }
+        throw new IllegalArgumentException("No binary encoding for " + message.getClass().getName());
+    }
+
+    /**
+     * Returns the encoded size of a chain request with the given number of steps.
+     */
+    public static int chainRequestSize(int steps) {
+        return CHAIN_HEADER_SIZE + steps * CHAIN_STEP_SIZE;
+    }
+
+    /**
+     * Returns an upper bound on the encoded size of a response, without encoding its message.
+     */
+    public static int maxResponseSize(CalculationResponse response) {
+        if (response.isSuccess() && response.getResult() != null) {
+            return 9;
+        }
+        String error = response.getError();
+        // A UTF-16 char never takes more than three bytes in UTF-8.
+        return error == null ? 3 : (int) Math.min(3 + 3L * error.length(), MAX_RESPONSE_SIZE);
+    }
+
+    /**
+     * Reads a calculation request.
+     *
+     * @throws IllegalArgumentException if the buffer is truncated or holds an unknown operation
+     */
+    public static CalculationRequest readCalculationRequest(ByteBuffer buffer) {
+        try {
+            Operation operation = readOperation(buffer.get());
+            return new CalculationRequest(operation, buffer.getDouble(), buffer.getDouble());
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated calculation request");
+        }
+    }
+
+    /**
+     * Writes a calculation request. The operands must not be null; the format has no null numbers.
+     */
+    public static void writeCalculationRequest(CalculationRequest request, ByteBuffer buffer) {
+        buffer.put(operationByte(request.getOperation()))
+                .putDouble(request.getNum1())
+                .putDouble(request.getNum2());
+    }
+
+    /**
+     * Reads a chain request.
+     *
+     * @throws IllegalArgumentException if the buffer is truncated, the step count is negative
+     * or a step holds an unknown operation
+     */
+    public static ChainCalculationRequest readChainRequest(ByteBuffer buffer) {
+        try {
+            double initialValue = buffer.getDouble();
+            int steps = buffer.getInt();
+            if (steps < 0) {
+                throw new IllegalArgumentException("Chain step count cannot be negative");
+            }
+            // Check the count against the bytes actually present before sizing the list from it.
+            if ((long) steps * CHAIN_STEP_SIZE > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            List<ChainOperationRequest> operations = new ArrayList<>(steps);
+            for (int i = 0; i < steps; i++) {
+                Operation operation = readOperation(buffer.get());
+                operations.add(new ChainOperationRequest(operation, buffer.getDouble()));
+            }
+            return new ChainCalculationRequest(initialValue, operations);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated chain request");
+        }
+    }
+
+    /**
+     * Writes a chain request of {@link #chainRequestSize} bytes. Values must not be null.
+     */
+    public static void writeChainRequest(ChainCalculationRequest request, ByteBuffer buffer) {
+        List<ChainOperationRequest> operations = request.getOperations();
+        buffer.putDouble(request.getInitialValue()).putInt(operations.size());
+        for (ChainOperationRequest step : operations) {
+            buffer.put(operationByte(step.getOperation())).putDouble(step.getOperand());
+        }
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @throws IllegalArgumentException if the buffer is truncated or holds an unknown status
+     */
+    public static CalculationResponse readResponse(ByteBuffer buffer) {
+        try {
+            byte status = buffer.get();
+            if (status == STATUS_OK) {
+                return new CalculationResponse(Double.valueOf(buffer.getDouble()));
+            }
+            if (status != STATUS_ERROR) {
+                throw new IllegalArgumentException("Unknown response status: " + status);
+            }
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] message = new byte[length];
+            buffer.get(message);
+            return new CalculationResponse(new String(message, StandardCharsets.UTF_8));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated response");
+        }
+    }
+
+    /**
+     * Writes a response; at most {@value #MAX_RESPONSE_SIZE} bytes.
+     * Error messages longer than {@value #MAX_ERROR_LENGTH} UTF-8 bytes are truncated.
+     */
+    public static void writeResponse(CalculationResponse response, ByteBuffer buffer) {
+        if (response.isSuccess() && response.getResult() != null) {
+            buffer.put(STATUS_OK).putDouble(response.getResult());
+            return;
+        }
+        String error = response.getError();
+        byte[] message = error == null ? new byte[0] : error.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(message.length, MAX_ERROR_LENGTH);
+        buffer.put(STATUS_ERROR).putShort((short) length).put(message, 0, length);
+    }
+
+    private static Operation readOperation(byte code) {
+        if (code == NULL_OPERATION) {
+            return null;
+        }
+        if (code < 0 || code >= OPERATIONS.length) {
+            throw new IllegalArgumentException("Unknown operation code: " + Byte.toUnsignedInt(code));
+        }
+        return OPERATIONS[code];
+    }
+
+    private static byte operationByte(Operation operation) {
+        return operation == null ? NULL_OPERATION : (byte) operation.ordinal();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.flexible.calculator.protocol;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Reactive-stack decoder for {@code application/octet-stream} bodies in the
+ * {@link BinaryCalculationCodec} format. The joined body is copied into a per-thread buffer
+ * and released before decoding.
+ */
+public class BinaryCalculationDecoder extends AbstractDataBufferDecoder<Object> {
+
+    public BinaryCalculationDecoder() {
+        super(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return BinaryCalculationCodec.supports(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Object decode(DataBuffer dataBuffer, ResolvableType targetType, MimeType mimeType,
+                         Map<String, Object> hints) {
+        ByteBuffer buffer;
+        try {
+            int length = dataBuffer.readableByteCount();
+            buffer = ScratchBuffers.acquire(length);
+            dataBuffer.read(buffer.array(), buffer.arrayOffset(), length);
+            buffer.limit(length);
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+        try {
+            Object message = BinaryCalculationCodec.read(targetType.toClass(), buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected " + buffer.remaining() + " trailing bytes");
+            }
+            return message;
+        } catch (IllegalArgumentException e) {
+            throw new DecodingException("Invalid binary message: " + e.getMessage(), e);
+        }
+    }
+}
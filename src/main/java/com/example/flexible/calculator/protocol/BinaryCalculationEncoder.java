@@ -0,0 +1,50 @@
+package com.example.flexible.calculator.protocol;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Reactive-stack encoder for {@code application/octet-stream} bodies in the
+ * {@link BinaryCalculationCodec} format. Messages are encoded into a per-thread buffer and
+ * copied into a buffer of exactly the encoded size from the server's (pooled) buffer factory.
+ */
+public class BinaryCalculationEncoder extends AbstractEncoder<Object> {
+
+    public BinaryCalculationEncoder() {
+        super(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Also answers true for {@code Object}, so WebFlux orders this encoder among the object encoders in
+     * registration order instead of ahead of every default writer.
+     */
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (type == Object.class || BinaryCalculationCodec.supports(type)) && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(message -> encodeValue(message, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object message, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        ByteBuffer buffer = ScratchBuffers.acquire(BinaryCalculationCodec.maxSize(message));
+        BinaryCalculationCodec.write(message, buffer);
+        buffer.flip();
+        return bufferFactory.allocateBuffer(buffer.remaining()).write(buffer);
+    }
+}
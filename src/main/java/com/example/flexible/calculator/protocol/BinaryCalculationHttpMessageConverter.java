@@ -0,0 +1,71 @@
+package com.example.flexible.calculator.protocol;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Servlet-stack message converter for {@code application/octet-stream} bodies in the
+ * {@link BinaryCalculationCodec} format.
+ * Bodies are read into and written from per-thread buffers, so a request allocates only the
+ * decoded request and response objects.
+ */
+public class BinaryCalculationHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public BinaryCalculationHttpMessageConverter() {
+        super(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BinaryCalculationCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        ByteBuffer buffer = readBody(inputMessage.getBody(), inputMessage.getHeaders().getContentLength());
+        try {
+            Object message = BinaryCalculationCodec.read(clazz, buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected " + buffer.remaining() + " trailing bytes");
+            }
+            return message;
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid binary message: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object message, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer buffer = ScratchBuffers.acquire(BinaryCalculationCodec.maxSize(message));
+        BinaryCalculationCodec.write(message, buffer);
+        buffer.flip();
+        // Headers are sent on the first write to the body, so the exact length can still be set here.
+        outputMessage.getHeaders().setContentLength(buffer.remaining());
+        outputMessage.getBody().write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+    }
+
+    private static ByteBuffer readBody(InputStream body, long contentLength) throws IOException {
+        // One spare byte lets the read loop see the end of the stream without growing the buffer.
+        int capacity = contentLength >= 0 && contentLength < ScratchBuffers.MAX_RETAINED_CAPACITY
+                ? (int) contentLength + 1 : ScratchBuffers.INITIAL_CAPACITY;
+        ByteBuffer buffer = ScratchBuffers.acquire(capacity);
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer = larger.put(buffer.flip());
+            }
+            int read = body.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            if (read < 0) {
+                return buffer.flip();
+            }
+            buffer.position(buffer.position() + read);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.flexible.calculator.protocol;
+
+import com.example.flexible.calculator.dto.CalculationResponse;
+import com.example.flexible.calculator.service.CalculationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Raw TCP listener for the {@link BinaryCalculationCodec} messages, for callers that cannot afford
+ * HTTP parsing and MVC dispatch in front of a calculation.
+ * <p>
+ * Every message is a frame: its length as a big-endian int, then that many bytes. A request frame
+ * holds a type byte ({@link #CALCULATE} or {@link #CHAIN}) followed by the encoded request; a response
+ * frame holds an encoded response. Requests go through the same {@link CalculationService} as the
+ * HTTP endpoints, so results and error messages are identical.
+ * <p>
+ * Connections may pipeline any number of requests; responses come back in request order. A single
+ * selector thread reads, calculates and writes: calculations take microseconds, so handing them to
+ * another thread would cost more than it saves. All frames read in one pass are answered with one
+ * write, and a connection is not read while its responses cannot be written. A malformed request is
+ * answered with an error response; a frame length outside {@code [1, maxFrameSize]} closes the
+ * connection, since the stream can no longer be split into frames. An unexpected exception while
+ * handling a connection is logged and closes only that connection.
+ * <p>
+ * Each connection holds two direct buffers of {@value #INITIAL_BUFFER_SIZE} bytes that can grow to
+ * about {@code maxFrameSize}, so at most {@code maxConnections} are open at once; further connections
+ * are accepted and closed straight away.
+ */
+public class BinaryCalculationServer implements AutoCloseable {
+    public static final byte CALCULATE = 0;
+    public static final byte CHAIN = 1;
+    public static final int FRAME_HEADER_SIZE = 4;
+    public static final int DEFAULT_MAX_CONNECTIONS = 1024;
+
+    static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryCalculationServer.class);
+
+    private final CalculationService calculationService;
+    private final InetSocketAddress address;
+    private final int maxFrameSize;
+    private final int maxConnections;
+    private int connections;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread eventLoop;
+    private volatile boolean running;
+
+    /**
+     * Creates a server; it does not listen until {@link #start()}.
+     *
+     * @param calculationService handles the decoded requests
+     * @param address the address to listen on; port 0 picks a free port
+     * @param maxFrameSize the largest request frame accepted, in bytes
+     */
+    public BinaryCalculationServer(CalculationService calculationService, InetSocketAddress address, int maxFrameSize) {
+        this(calculationService, address, maxFrameSize, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Creates a server; it does not listen until {@link #start()}.
+     *
+     * @param calculationService handles the decoded requests
+     * @param address the address to listen on; port 0 picks a free port
+     * @param maxFrameSize the largest request frame accepted, in bytes
+     * @param maxConnections the most connections open at once
+     */
+    public BinaryCalculationServer(CalculationService calculationService, InetSocketAddress address, int maxFrameSize,
+                                   int maxConnections) {
+        if (calculationService == null) {
+            throw new IllegalArgumentException("CalculationService cannot be null");
+        }
+        if (maxFrameSize < BinaryCalculationCodec.CALCULATION_REQUEST_SIZE + 1) {
+            throw new IllegalArgumentException("Maximum frame size is too small for a calculation request");
+        }
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Maximum connections must be positive");
+        }
+        this.calculationService = calculationService;
+        this.address = address;
+        this.maxFrameSize = maxFrameSize;
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Binds the listening socket and starts the selector thread.
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        eventLoop = new Thread(this::runEventLoop, "calculator-tcp");
+        eventLoop.setDaemon(true);
+        eventLoop.start();
+        log.info("Binary calculation server listening on {}", serverChannel.getLocalAddress());
+    }
+
+    /**
+     * Gets the port the server listens on, which differs from the configured one if that was 0.
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops listening and closes every connection.
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        eventLoop.join();
+    }
+
+    private void runEventLoop() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            log.error("Binary calculation server stopped", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.debug("Failed to close selector", e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+        } catch (IOException e) {
+            if (key.channel() == serverChannel) {
+                log.warn("Failed to accept a connection", e);
+            } else {
+                // The peer went away; nothing to answer.
+                closeQuietly(key);
+            }
+        } catch (RuntimeException e) {
+            if (key.channel() == serverChannel) {
+                log.error("Failed to accept a connection", e);
+            } else {
+                log.error("Closing connection after an unexpected failure", e);
+                closeQuietly(key);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        if (connections >= maxConnections) {
+            log.debug("Refusing connection: {} connections already open", connections);
+            channel.close();
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+        connections++;
+    }
+
+    private CalculationResponse respond(ByteBuffer frame) {
+        try {
+            byte type = frame.get();
+            CalculationResponse response;
+            switch (type) {
+                case CALCULATE:
+                    response = calculationService.calculate(BinaryCalculationCodec.readCalculationRequest(frame)).getBody();
+                    break;
+                case CHAIN:
+                    response = calculationService.calculateChain(BinaryCalculationCodec.readChainRequest(frame)).getBody();
+                    break;
+                default:
+                    return new CalculationResponse("Invalid input: Unknown frame type: " + Byte.toUnsignedInt(type));
+            }
+            if (frame.hasRemaining()) {
+                return new CalculationResponse("Invalid input: Unexpected " + frame.remaining() + " trailing bytes");
+            }
+            return response;
+        } catch (IllegalArgumentException e) {
+            return new CalculationResponse("Invalid input: " + e.getMessage());
+        }
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        if (key.attachment() instanceof Connection && key.channel().isOpen()) {
+            connections--;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Failed to close channel", e);
+        }
+    }
+
+    /**
+     * Per-connection buffers. Both are direct, so socket reads and writes need no intermediate copy.
+     * {@code input} is kept in write mode between reads, {@code output} in write mode between flushes.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private ByteBuffer input = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+        private ByteBuffer output = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() throws IOException {
+            if (channel.read(input) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            input.flip();
+            int needed = 0;
+            while (input.remaining() >= FRAME_HEADER_SIZE) {
+                int length = input.getInt(input.position());
+                if (length < 1 || length > maxFrameSize) {
+                    closeQuietly(key);
+                    return;
+                }
+                if (input.remaining() < FRAME_HEADER_SIZE + length) {
+                    needed = FRAME_HEADER_SIZE + length;
+                    break;
+                }
+                int frameEnd = input.position() + FRAME_HEADER_SIZE + length;
+                int limit = input.limit();
+                input.position(input.position() + FRAME_HEADER_SIZE).limit(frameEnd);
+                writeFrame(respond(input));
+                input.limit(limit).position(frameEnd);
+            }
+            input.compact();
+            if (needed > input.capacity()) {
+                input = grow(input, needed);
+            }
+            flush();
+        }
+
+        void flush() throws IOException {
+            output.flip();
+            channel.write(output);
+            output.compact();
+            // Stop reading while responses are pending, so a client that does not read cannot grow the buffers.
+            key.interestOps(output.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private void writeFrame(CalculationResponse response) {
+            int size = FRAME_HEADER_SIZE + BinaryCalculationCodec.maxResponseSize(response);
+            if (output.remaining() < size) {
+                output = grow(output, output.position() + size);
+            }
+            int start = output.position();
+            output.position(start + FRAME_HEADER_SIZE);
+            BinaryCalculationCodec.writeResponse(response, output);
+            output.putInt(start, output.position() - start - FRAME_HEADER_SIZE);
+        }
+
+        private ByteBuffer grow(ByteBuffer buffer, int capacity) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(capacity, buffer.capacity() * 2));
+            return larger.put(buffer.flip());
+        }
+    }
+}
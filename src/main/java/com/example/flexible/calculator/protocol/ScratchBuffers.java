@@ -0,0 +1,36 @@
+package com.example.flexible.calculator.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Per-thread heap buffers reused by the HTTP adapters of {@link BinaryCalculationCodec}.
+ * Buffers grow on demand; requests above {@value #MAX_RETAINED_CAPACITY} bytes get a one-off
+ * buffer, so a single large chain does not pin memory on every worker thread.
+ * Virtual threads are not reused, so under them each request effectively allocates its own buffer.
+ */
+final class ScratchBuffers {
+    static final int INITIAL_CAPACITY = 4096;
+    static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_CAPACITY));
+
+    private ScratchBuffers() {
+    }
+
+    /**
+     * Returns a cleared buffer of at least the given capacity, owned by the calling thread
+     * until its next call.
+     */
+    static ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer = BUFFERS.get();
+        if (buffer.capacity() >= capacity) {
+            return buffer.clear();
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(capacity, buffer.capacity() * 2));
+        if (larger.capacity() <= MAX_RETAINED_CAPACITY) {
+            BUFFERS.set(larger);
+        }
+        return larger;
+    }
+}
@@ -0,0 +1,582 @@
+package com.example.flexible.calculator.service;
+
+import com.example.flexible.calculator.BatchResult;
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.*;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.metrics.CalculatorMetrics;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainSteps;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request handling shared by the servlet and reactive controllers.
+ * Validates requests, runs them through the calculator beans and maps failures to
+ * error responses, so both web stacks answer identically. Single and chained calculations
+ * use the result-code API, so their failures raise no exceptions and reuse pre-built responses.
+ */
+public class CalculationService {
+    /**
+     * Default limit on the digits of decimal results, both for requested precisions and exact results.
+     */
+    public static final int DEFAULT_MAX_PRECISION = 100;
+
+    // Responses for failures with a fixed message are built once and shared; their bodies are read-only.
+    private static final ResponseEntity<CalculationResponse> REQUEST_NULL =
+            ResponseEntity.badRequest().body(CalculationResponse.readOnlyError("Invalid input: Request cannot be null"));
+    private static final Map<CalculationResult, ResponseEntity<CalculationResponse>> CACHED_ERRORS = new IdentityHashMap<>();
+    private static final CalculationResult CHAIN_INITIAL_VALUE_NULL =
+            CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Initial value cannot be null");
+    private static final CalculationResult PRECISION_NEGATIVE =
+            CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Precision cannot be negative");
+    private static final CalculationResult INTERMEDIATES_WITH_PRECISION =
+            CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Intermediates are not supported with precision");
+    private static final CalculationResult DECIMAL_NOT_FINITE =
+            CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Decimal operands must be finite");
+    private static final Map<String, Operation> OPERATIONS_BY_NAME = new HashMap<>();
+
+    static {
+        for (Operation operation : Operation.values()) {
+            OPERATIONS_BY_NAME.put(operation.name(), operation);
+        }
+        cacheError(CHAIN_INITIAL_VALUE_NULL);
+        cacheError(CalculationResult.OPERATIONS_EMPTY);
+        cacheError(CalculationResult.DIVISION_BY_ZERO);
+        cacheError(CalculationResult.OPERATION_NULL);
+        cacheError(CalculationResult.OPERAND_NULL);
+        cacheError(CalculationResult.NUMBERS_NULL);
+        cacheError(PRECISION_NEGATIVE);
+        cacheError(DECIMAL_NOT_FINITE);
+        cacheError(INTERMEDIATES_WITH_PRECISION);
+        for (Operation operation : Operation.values()) {
+            cacheError(CalculationResult.unsupported(operation));
+        }
+    }
+
+    private static void cacheError(CalculationResult result) {
+        CACHED_ERRORS.put(result, ResponseEntity.badRequest().body(CalculationResponse.readOnlyError(errorMessage(result))));
+    }
+
+    private final Calculator calculator;
+    private final ChainPlanCache planCache;
+    private final ExpressionCompiler expressionCompiler;
+    private final CalculatorMetrics metrics;
+    private final int maxPrecision;
+    private final CalculationResult precisionTooLarge;
+    private final CalculationResult exactResultTooLong;
+    private final Map<CalculationResult, ResponseEntity<CalculationResponse>> limitErrors = new IdentityHashMap<>();
+
+    public CalculationService(Calculator calculator, ChainPlanCache planCache, ExpressionCompiler expressionCompiler) {
+        this(calculator, planCache, expressionCompiler, null);
+    }
+
+    public CalculationService(Calculator calculator, ChainPlanCache planCache, ExpressionCompiler expressionCompiler,
+                              CalculatorMetrics metrics) {
+        this(calculator, planCache, expressionCompiler, metrics, DEFAULT_MAX_PRECISION);
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param calculator the calculator for single and batch calculations
+     * @param planCache the cache of compiled chain shapes
+     * @param expressionCompiler the compiler for infix expressions
+     * @param metrics the meters recording chained calculations, or null to record nothing
+     * @param maxPrecision the largest precision a request may ask for, and the most digits of an exact result
+     */
+    public CalculationService(Calculator calculator, ChainPlanCache planCache, ExpressionCompiler expressionCompiler,
+                              CalculatorMetrics metrics, int maxPrecision) {
+        if (maxPrecision <= 0) {
+            throw new IllegalArgumentException("Maximum precision must be positive");
+        }
+        this.calculator = calculator;
+        this.planCache = planCache;
+        this.expressionCompiler = expressionCompiler;
+        this.metrics = metrics;
+        this.maxPrecision = maxPrecision;
+        this.precisionTooLarge = CalculationResult.failure(CalculationStatus.INVALID_INPUT,
+                "Precision cannot exceed " + maxPrecision);
+        this.exactResultTooLong = CalculationResult.failure(CalculationStatus.INVALID_INPUT,
+                "Exact result would exceed " + maxPrecision + " digits; set a precision to round it");
+        limitErrors.put(precisionTooLarge, ResponseEntity.badRequest()
+                .body(CalculationResponse.readOnlyError(errorMessage(precisionTooLarge))));
+        limitErrors.put(exactResultTooLong, ResponseEntity.badRequest()
+                .body(CalculationResponse.readOnlyError(errorMessage(exactResultTooLong))));
+    }
+
+    /**
+     * Performs a single calculation operation, in decimal arithmetic when the request has a precision.
+     */
+    public ResponseEntity<CalculationResponse> calculate(CalculationRequest request) {
+        if (request == null) {
+            return REQUEST_NULL;
+        }
+        if (request.getOperation() == null) {
+            return CACHED_ERRORS.get(CalculationResult.OPERATION_NULL);
+        }
+        if (request.getNum1() == null || request.getNum2() == null) {
+            return CACHED_ERRORS.get(CalculationResult.NUMBERS_NULL);
+        }
+        try {
+            if (request.getPrecision() != null) {
+                return toResponse(calculateDecimal(request));
+            }
+            return toResponse(calculator.tryCalculate(request.getOperation(), request.getNum1(), request.getNum2()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Performs chained calculations through a compiled shape cached by its operation sequence.
+     * Requests with a precision run step by step in decimal arithmetic instead, rounding after each step.
+     * Requests asking for intermediates also get the value after every step.
+     */
+    public ResponseEntity<CalculationResponse> calculateChain(ChainCalculationRequest request) {
+        if (request == null) {
+            return REQUEST_NULL;
+        }
+        try {
+            CalculationResult invalid = validateChainRequest(request);
+            if (invalid != null) {
+                return toResponse(invalid);
+            }
+            ChainSteps steps = ChainSteps.from(request.getOperations());
+            if (steps.getFailure() != null) {
+                return toResponse(steps.getFailure());
+            }
+            if (request.isIntermediates()) {
+                if (request.getPrecision() != null) {
+                    return toResponse(INTERMEDIATES_WITH_PRECISION);
+                }
+                double[] values = new double[steps.size()];
+                CalculationResult result = scanChain(request.getInitialValue(), steps, values);
+                return result.isSuccess()
+                        ? ResponseEntity.ok(new CalculationResponse(Double.valueOf(result.getValue()), values))
+                        : toResponse(result);
+            }
+            if (request.getPrecision() != null) {
+                return toResponse(evaluateDecimalChain(request, steps, request.getPrecision()));
+            }
+            return toResponse(evaluateChain(request.getInitialValue(), steps));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new CalculationResponse("Invalid input: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Performs a chained calculation read token by token from a JSON chain request.
+     * Each step is applied as soon as it has been read, so memory use does not depend on the
+     * number of steps. {@code initialValue} must come before {@code operations}; other fields are
+     * ignored, except {@code precision} and {@code intermediates}, which streamed chains do not support. Failing steps are
+     * reported with their zero-based index and stop the calculation.
+     *
+     * @param parser a parser positioned before the request object
+     * @throws IOException if the request body cannot be read
+     */
+    public ResponseEntity<CalculationResponse> calculateChainStream(JsonParser parser) throws IOException {
+        long start = System.nanoTime();
+        int steps = 0;
+        CalculationResult result;
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return invalidInput("Request must be a JSON object");
+            }
+            Calculator.ChainCalculator chain = null;
+            boolean sawOperations = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("initialValue".equals(field)) {
+                    if (sawOperations) {
+                        return invalidInput("Initial value must precede operations");
+                    }
+                    if (!value.isNumeric()) {
+                        return invalidInput(value == JsonToken.VALUE_NULL
+                                ? "Initial value cannot be null" : "Initial value must be a number");
+                    }
+                    chain = calculator.startChain(parser.getDoubleValue());
+                } else if ("operations".equals(field)) {
+                    if (chain == null) {
+                        return invalidInput("Initial value must precede operations");
+                    }
+                    if (value != JsonToken.START_ARRAY) {
+                        return invalidInput("Operations must be an array");
+                    }
+                    sawOperations = true;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        result = applyStep(parser, chain);
+                        if (!result.isSuccess()) {
+                            return failedStep(steps, result, start);
+                        }
+                        steps++;
+                    }
+                } else if ("precision".equals(field) && value != JsonToken.VALUE_NULL) {
+                    // Streamed steps are folded in double arithmetic; fail rather than silently ignore it.
+                    return invalidInput("Precision is not supported for streamed chains");
+                } else if ("intermediates".equals(field) && value == JsonToken.VALUE_TRUE) {
+                    // Keeping every value would give up the constant memory use of streaming.
+                    return invalidInput("Intermediates are not supported for streamed chains");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (chain == null) {
+                return CACHED_ERRORS.get(CHAIN_INITIAL_VALUE_NULL);
+            }
+            if (steps == 0) {
+                return CACHED_ERRORS.get(CalculationResult.OPERATIONS_EMPTY);
+            }
+            result = CalculationResult.success(chain.getResult());
+        } catch (JsonParseException e) {
+            return invalidInput("Malformed JSON at line " + e.getLocation().getLineNr());
+        }
+        if (metrics != null) {
+            metrics.recordChain(steps, System.nanoTime() - start);
+        }
+        return toResponse(result);
+    }
+
+    /**
+     * Evaluates an infix expression with variable bindings.
+     */
+    public ResponseEntity<CalculationResponse> evaluate(ExpressionRequest request) {
+        if (request == null) {
+            return REQUEST_NULL;
+        }
+        try {
+            // Rejected operands, such as division by zero, come back as results; syntax errors still throw.
+            return toResponse(expressionCompiler.compile(request.getExpression()).tryEvaluate(request.getVariables()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new CalculationResponse("Invalid input: " + e.getMessage()));
+        } catch (ArithmeticException e) {
+            return ResponseEntity.badRequest().body(new CalculationResponse("Math error: " + e.getMessage()));
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.badRequest().body(new CalculationResponse("Unsupported operation: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Performs a batch of independent calculations; failures are reported per index.
+     */
+    public ResponseEntity<BatchCalculationResponse> calculateBatch(BatchCalculationRequest request) {
+        try {
+            validateBatchRequest(request);
+
+            BatchResult result = calculator.calculateBatch(request.getOperations(), request.getNum1(), request.getNum2());
+
+            Map<Integer, String> errors = new LinkedHashMap<>();
+            if (result.hasErrors()) {
+                for (int i = 0; i < result.size(); i++) {
+                    String error = result.getError(i);
+                    if (error != null) {
+                        errors.put(i, error);
+                    }
+                }
+            }
+            return ResponseEntity.ok(new BatchCalculationResponse(result.getResults(), errors));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BatchCalculationResponse("Invalid input: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new BatchCalculationResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reduces an array of values to one aggregate, in parallel for large arrays.
+     */
+    public ResponseEntity<CalculationResponse> reduce(ReductionRequest request) {
+        if (request == null) {
+            return REQUEST_NULL;
+        }
+        try {
+            return ResponseEntity.ok(new CalculationResponse(calculator.reduce(request.getReduction(), request.getValues())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new CalculationResponse("Invalid input: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new CalculationResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    private CalculationResult evaluateChain(double initialValue, ChainSteps steps) {
+        if (metrics == null) {
+            return planCache.evaluate(initialValue, steps);
+        }
+        long start = System.nanoTime();
+        CalculationResult result = planCache.evaluate(initialValue, steps);
+        metrics.recordChain(steps.size(), System.nanoTime() - start);
+        if (!result.isSuccess()) {
+            metrics.recordChainFailure(result.getMessage());
+        }
+        return result;
+    }
+
+    private CalculationResult scanChain(double initialValue, ChainSteps steps, double[] values) {
+        long start = System.nanoTime();
+        CalculationResult result = planCache.scan(initialValue, steps, values);
+        if (metrics != null) {
+            metrics.recordChain(steps.size(), System.nanoTime() - start);
+            if (!result.isSuccess()) {
+                metrics.recordChainFailure(result.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private CalculationResult calculateDecimal(CalculationRequest request) {
+        CalculationResult invalid = checkPrecision(request.getPrecision());
+        if (invalid != null) {
+            return invalid;
+        }
+        BigDecimal num1 = decimal(request.getDecimalNum1(), request.getNum1());
+        BigDecimal num2 = decimal(request.getDecimalNum2(), request.getNum2());
+        if (num1 == null || num2 == null) {
+            return DECIMAL_NOT_FINITE;
+        }
+        return calculateDecimal(request.getOperation(), num1, num2, mathContext(request.getPrecision()));
+    }
+
+    private CalculationResult evaluateDecimalChain(ChainCalculationRequest request, ChainSteps steps, int precision) {
+        CalculationResult invalid = checkPrecision(precision);
+        if (invalid != null) {
+            return invalid;
+        }
+        MathContext mathContext = mathContext(precision);
+        BigDecimal value = decimal(request.getDecimalInitialValue(), request.getInitialValue());
+        if (value == null) {
+            return DECIMAL_NOT_FINITE;
+        }
+        long start = System.nanoTime();
+        Operation[] operations = steps.getOperations();
+        double[] operands = steps.getOperands();
+        List<ChainOperationRequest> requestSteps = request.getOperations();
+        // Compiled shapes run steps in double arithmetic, so decimal chains bypass the plan cache.
+        CalculationResult result = null;
+        for (int i = 0; i < operations.length; i++) {
+            BigDecimal operand = decimal(requestSteps.get(i).getDecimalOperand(), operands[i]);
+            if (operand == null) {
+                return DECIMAL_NOT_FINITE;
+            }
+            result = calculateDecimal(operations[i], value, operand, mathContext);
+            if (!result.isSuccess()) {
+                break;
+            }
+            value = result.getDecimalValue();
+        }
+        if (metrics != null) {
+            metrics.recordChain(steps.size(), System.nanoTime() - start);
+            if (!result.isSuccess()) {
+                metrics.recordChainFailure(result.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs one decimal step. Exact results are limited to the maximum precision; sums and products
+     * are checked before they are computed, since their size follows from the operands.
+     */
+    private CalculationResult calculateDecimal(Operation operation, BigDecimal num1, BigDecimal num2,
+                                               MathContext mathContext) {
+        if (mathContext.getPrecision() == 0 && exactDigits(operation, num1, num2) > maxPrecision) {
+            return exactResultTooLong;
+        }
+        CalculationResult result = calculator.tryCalculate(operation, num1, num2, mathContext);
+        if (mathContext.getPrecision() == 0 && result.isSuccess() && result.getDecimalValue().precision() > maxPrecision) {
+            return exactResultTooLong;
+        }
+        return result;
+    }
+
+    /**
+     * Gets an upper bound on the digits of an exact sum, difference or product, or 0 for other operations.
+     * A sum spans from the highest leading digit to the lowest last digit of its operands, plus a carry.
+     */
+    private static long exactDigits(Operation operation, BigDecimal num1, BigDecimal num2) {
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+                if (num1.signum() == 0 || num2.signum() == 0) {
+                    // Adding zero still widens the result to the larger scale.
+                    return Math.max(num1.precision(), num2.precision())
+                            + Math.abs((long) num1.scale() - num2.scale());
+                }
+                long leading = Math.max((long) num1.precision() - num1.scale(), (long) num2.precision() - num2.scale());
+                return leading + Math.max(num1.scale(), num2.scale()) + 1;
+            case MULTIPLY:
+                return (long) num1.precision() + num2.precision();
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Checks a request precision against its bounds.
+     *
+     * @return the failure for a negative or too large precision, or null if it is valid
+     */
+    private CalculationResult checkPrecision(int precision) {
+        if (precision < 0) {
+            return PRECISION_NEGATIVE;
+        }
+        return precision > maxPrecision ? precisionTooLarge : null;
+    }
+
+    /**
+     * Maps a valid request precision to its MathContext: 0 keeps results exact, otherwise results are
+     * rounded half-even to that many significant digits.
+     */
+    private static MathContext mathContext(int precision) {
+        return precision == 0 ? MathContext.UNLIMITED : new MathContext(precision, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Gets the decimal value of a request number: the literal the caller sent when it was bound from
+     * JSON, otherwise the shortest decimal that parses back to the double.
+     *
+     * @return the decimal, or null for infinite or NaN values
+     */
+    private static BigDecimal decimal(BigDecimal exact, double value) {
+        if (exact != null) {
+            return exact;
+        }
+        return Double.isFinite(value) ? BigDecimal.valueOf(value) : null;
+    }
+
+    private static CalculationResult applyStep(JsonParser parser, Calculator.ChainCalculator chain) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return CalculationResult.OPERATION_NULL;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Step must be an object");
+        }
+        Operation operation = null;
+        boolean hasOperand = false;
+        double operand = 0.0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("operation".equals(field) && value == JsonToken.VALUE_STRING) {
+                operation = OPERATIONS_BY_NAME.get(parser.getText());
+                if (operation == null) {
+                    return CalculationResult.failure(CalculationStatus.INVALID_INPUT,
+                            "Unknown operation: " + parser.getText());
+                }
+            } else if ("operand".equals(field) && value.isNumeric()) {
+                operand = parser.getDoubleValue();
+                hasOperand = true;
+            } else if (("operation".equals(field) || "operand".equals(field)) && value != JsonToken.VALUE_NULL) {
+                return CalculationResult.failure(CalculationStatus.INVALID_INPUT, "Invalid value for " + field);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (operation == null) {
+            return CalculationResult.OPERATION_NULL;
+        }
+        if (!hasOperand) {
+            return CalculationResult.OPERAND_NULL;
+        }
+        return chain.tryApply(operation, operand);
+    }
+
+    private ResponseEntity<CalculationResponse> failedStep(int index, CalculationResult result, long start) {
+        if (metrics != null) {
+            metrics.recordChain(index + 1, System.nanoTime() - start);
+            metrics.recordChainFailure(result.getMessage());
+        }
+        return errorResponse(CalculationResult.failure(result.getStatus(), "Step " + index + ": " + result.getMessage()));
+    }
+
+    private static ResponseEntity<CalculationResponse> invalidInput(String message) {
+        return errorResponse(CalculationResult.failure(CalculationStatus.INVALID_INPUT, message));
+    }
+
+    private ResponseEntity<CalculationResponse> toResponse(CalculationResult result) {
+        if (result.isSuccess()) {
+            BigDecimal decimalValue = result.getDecimalValue();
+            return ResponseEntity.ok(decimalValue != null
+                    ? new CalculationResponse(decimalValue) : new CalculationResponse(Double.valueOf(result.getValue())));
+        }
+        ResponseEntity<CalculationResponse> cached = CACHED_ERRORS.get(result);
+        if (cached == null) {
+            cached = limitErrors.get(result);
+        }
+        return cached != null ? cached : errorResponse(result);
+    }
+
+    private static ResponseEntity<CalculationResponse> errorResponse(CalculationResult result) {
+        return ResponseEntity.badRequest().body(new CalculationResponse(errorMessage(result)));
+    }
+
+    /**
+     * Formats a failed result as the error message of a response, prefixed by its kind of failure.
+     */
+    static String errorMessage(CalculationResult result) {
+        String prefix;
+        switch (result.getStatus()) {
+            case INVALID_INPUT:
+                prefix = "Invalid input: ";
+                break;
+            case UNSUPPORTED_OPERATION:
+                prefix = "Unsupported operation: ";
+                break;
+            default:
+                prefix = "Math error: ";
+                break;
+        }
+        return prefix + result.getMessage();
+    }
+
+    private void validateBatchRequest(BatchCalculationRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        if (request.getOperations() == null || request.getNum1() == null || request.getNum2() == null) {
+            throw new IllegalArgumentException("Batch columns cannot be null");
+        }
+    }
+
+    /**
+     * Checks the parts of a chain request outside its steps.
+     *
+     * @return the shared failed result, or null if the request is valid
+     */
+    private static CalculationResult validateChainRequest(ChainCalculationRequest request) {
+        if (request.getInitialValue() == null) {
+            return CHAIN_INITIAL_VALUE_NULL;
+        }
+        // The steps are validated while ChainSteps converts them, in the same pass.
+        return null;
+    }
+}
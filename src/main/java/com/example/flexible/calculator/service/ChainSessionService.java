@@ -0,0 +1,115 @@
+package com.example.flexible.calculator.service;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.dto.ChainSessionRequest;
+import com.example.flexible.calculator.dto.ChainSessionResponse;
+import com.example.flexible.calculator.session.ChainSession;
+import com.example.flexible.calculator.session.ChainSessionStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Request handling for incremental chain sessions, shared by both web stacks.
+ * Each request applies one step to a chain held in a {@link ChainSessionStore}, so a session of
+ * n steps costs O(n) in total instead of re-sending and re-running a growing chain.
+ * Unknown or expired sessions are answered with 404, and a full store with 503.
+ */
+public class ChainSessionService {
+
+    // Shared between requests, so their bodies are read-only.
+    private static final ResponseEntity<ChainSessionResponse> INITIAL_VALUE_NULL =
+            ResponseEntity.badRequest().body(ChainSessionResponse.readOnlyError("Invalid input: Initial value cannot be null"));
+    private static final ResponseEntity<ChainSessionResponse> OPERAND_NULL =
+            ResponseEntity.badRequest().body(ChainSessionResponse.readOnlyError("Invalid input: Operand cannot be null"));
+    private static final ResponseEntity<ChainSessionResponse> STORE_FULL =
+            ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ChainSessionResponse.readOnlyError("Too many chain sessions; try again later"));
+
+    private final ChainSessionStore store;
+
+    public ChainSessionService(ChainSessionStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("ChainSessionStore cannot be null");
+        }
+        this.store = store;
+    }
+
+    /**
+     * Starts a session at the request's initial value.
+     */
+    public ResponseEntity<ChainSessionResponse> create(ChainSessionRequest request) {
+        if (request == null || request.getInitialValue() == null) {
+            return INITIAL_VALUE_NULL;
+        }
+        ChainSession session = store.create(request.getInitialValue());
+        if (session == null) {
+            return STORE_FULL;
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ChainSessionResponse(session.getId(), request.getInitialValue()));
+    }
+
+    /**
+     * Applies one step to a session. A failing step is reported and leaves the session's value unchanged.
+     */
+    public ResponseEntity<ChainSessionResponse> apply(String id, ChainOperationRequest request) {
+        ChainSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        if (request == null) {
+            return error(CalculationResult.OPERATION_NULL);
+        }
+        if (request.getOperand() == null) {
+            return OPERAND_NULL;
+        }
+        CalculationResult result = session.apply(request.getOperation(), request.getOperand());
+        if (!result.isSuccess()) {
+            return error(result);
+        }
+        return ResponseEntity.ok(new ChainSessionResponse(id, result.getValue()));
+    }
+
+    /**
+     * Gets the current value of a session.
+     */
+    public ResponseEntity<ChainSessionResponse> get(String id) {
+        ChainSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        return ResponseEntity.ok(new ChainSessionResponse(id, session.getResult()));
+    }
+
+    /**
+     * Restarts a session from the request's initial value.
+     */
+    public ResponseEntity<ChainSessionResponse> reset(String id, ChainSessionRequest request) {
+        ChainSession session = store.get(id);
+        if (session == null) {
+            return notFound(id);
+        }
+        if (request == null || request.getInitialValue() == null) {
+            return INITIAL_VALUE_NULL;
+        }
+        session.reset(request.getInitialValue());
+        return ResponseEntity.ok(new ChainSessionResponse(id, request.getInitialValue()));
+    }
+
+    /**
+     * Ends a session.
+     */
+    public ResponseEntity<Void> close(String id) {
+        return store.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<ChainSessionResponse> notFound(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ChainSessionResponse("Chain session not found: " + id));
+    }
+
+    private static ResponseEntity<ChainSessionResponse> error(CalculationResult result) {
+        return ResponseEntity.badRequest().body(new ChainSessionResponse(CalculationService.errorMessage(result)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.flexible.calculator.session;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A running chain held server-side between requests, so clients send one step at a time instead of
+ * re-sending the whole chain. Operations on one session are serialized by its own lock; different
+ * sessions never contend.
+ */
+public final class ChainSession {
+    private final String id;
+    private final Calculator.ChainCalculator chain;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long createdAt;
+    private volatile long lastAccessedAt;
+
+    ChainSession(String id, Calculator.ChainCalculator chain, long now) {
+        this.id = id;
+        this.chain = chain;
+        this.createdAt = now;
+        this.lastAccessedAt = now;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Applies one step to the current value. A failing step leaves the value unchanged.
+     *
+     * @param operation the operation to perform
+     * @param operand the operand for the operation
+     * @return the new current value, or the reason the step failed
+     */
+    public CalculationResult apply(Operation operation, double operand) {
+        lock.lock();
+        try {
+            return chain.tryApply(operation, operand);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the current value.
+     */
+    public double getResult() {
+        lock.lock();
+        try {
+            return chain.getResult();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restarts the chain from a new value.
+     *
+     * @param value the new value to start from
+     */
+    public void reset(double value) {
+        lock.lock();
+        try {
+            chain.reset(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void touch(long now) {
+        lastAccessedAt = now;
+    }
+
+    boolean isExpired(long now, long idleNanos, long ttlNanos) {
+        return now - lastAccessedAt >= idleNanos || ttlNanos > 0 && now - createdAt >= ttlNanos;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.flexible.calculator.session;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, thread-safe store of {@link ChainSession}s keyed by random ids.
+ * <p>
+ * Sessions expire when they have not been used for the idle timeout, or once they reach the
+ * time-to-live. Expired sessions are removed when they are next looked up, and by a sweep that runs
+ * at most once per idle timeout, piggybacked on session creation, so the store needs no thread of
+ * its own. When the store is full, creation sweeps at once and fails if no session has expired.
+ * Lookups and creations go through a {@link ConcurrentHashMap} and take no store-wide lock.
+ */
+public class ChainSessionStore {
+    private final Calculator calculator;
+    private final int maximumSessions;
+    private final long idleNanos;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, ChainSession> sessions = new ConcurrentHashMap<>();
+    // Reserved before a session is inserted, so concurrent creations cannot overshoot the cap.
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong nextSweepAt;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a store holding at most {@code maximumSessions} sessions.
+     *
+     * @param calculator the calculator sessions apply their steps with
+     * @param maximumSessions the maximum number of live sessions
+     * @param idleTimeout how long an unused session is kept
+     * @param ttl how long a session lives at most, or zero for no limit
+     */
+    public ChainSessionStore(Calculator calculator, int maximumSessions, Duration idleTimeout, Duration ttl) {
+        this(calculator, maximumSessions, idleTimeout, ttl, System::nanoTime);
+    }
+
+    ChainSessionStore(Calculator calculator, int maximumSessions, Duration idleTimeout, Duration ttl,
+                      LongSupplier clock) {
+        if (calculator == null) {
+            throw new IllegalArgumentException("Calculator cannot be null");
+        }
+        if (maximumSessions < 0) {
+            throw new IllegalArgumentException("Maximum sessions cannot be negative");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Time-to-live cannot be null or negative");
+        }
+        this.calculator = calculator;
+        this.maximumSessions = maximumSessions;
+        this.idleNanos = idleTimeout.toNanos();
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.nextSweepAt = new AtomicLong(clock.getAsLong() + idleNanos);
+    }
+
+    /**
+     * Starts a new session.
+     *
+     * @param initialValue the starting value of its chain
+     * @return the session, or null if the store is full
+     */
+    public ChainSession create(double initialValue) {
+        long now = clock.getAsLong();
+        long sweepAt = nextSweepAt.get();
+        if (now - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, now + idleNanos)) {
+            evictExpired(now);
+        }
+        if (!reserve()) {
+            evictExpired(now);
+            if (!reserve()) {
+                return null;
+            }
+        }
+        ChainSession session = new ChainSession(UUID.randomUUID().toString(), calculator.startChain(initialValue), now);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Gets a live session and marks it as used.
+     *
+     * @param id the session id
+     * @return the session, or null if it does not exist or has expired
+     */
+    public ChainSession get(String id) {
+        ChainSession session = id == null ? null : sessions.get(id);
+        long now = clock.getAsLong();
+        if (session != null && session.isExpired(now, idleNanos, ttlNanos)) {
+            evict(session);
+            session = null;
+        }
+        if (session == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param id the session id
+     * @return whether a live session was removed
+     */
+    public boolean remove(String id) {
+        ChainSession session = id == null ? null : sessions.get(id);
+        if (session == null) {
+            return false;
+        }
+        if (session.isExpired(clock.getAsLong(), idleNanos, ttlNanos)) {
+            evict(session);
+            return false;
+        }
+        return release(session);
+    }
+
+    /**
+     * Removes every expired session.
+     *
+     * @return the number of sessions removed
+     */
+    public int evictExpired() {
+        return evictExpired(clock.getAsLong());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getMaximumSessions() {
+        return maximumSessions;
+    }
+
+    /**
+     * Gets the lookup counters: hits and misses count {@link #get} calls, evictions count expired sessions.
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private int evictExpired(long now) {
+        int evicted = 0;
+        for (ChainSession session : sessions.values()) {
+            if (session.isExpired(now, idleNanos, ttlNanos) && evict(session)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = count.get();
+            if (current >= maximumSessions) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean evict(ChainSession session) {
+        if (release(session)) {
+            evictions.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean release(ChainSession session) {
+        // Only the caller that actually removes the session gives back its slot.
+        if (sessions.remove(session.getId(), session)) {
+            count.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.flexible.calculator.strategy;
+
+/**
+ * Marker for strategies whose results are worth memoizing: costly, deterministic and free of side effects.
+ * When memoization is enabled, the factory wraps strategies carrying this marker in a cache keyed by
+ * the operation and the raw bits of both operands. The built-in arithmetic strategies are cheaper
+ * than a cache lookup and do not implement it.
+ */
+public interface CacheableOperationStrategy extends OperationStrategy {
+}
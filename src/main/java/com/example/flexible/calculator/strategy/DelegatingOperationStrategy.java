@@ -0,0 +1,32 @@
+package com.example.flexible.calculator.strategy;
+
+import com.example.flexible.calculator.CalculationStatus;
+
+/**
+ * A strategy that wraps another strategy without changing its results, e.g. to add instrumentation.
+ * Components that recognise specific strategy implementations unwrap decorators first.
+ */
+public interface DelegatingOperationStrategy extends OperationStrategy {
+    /**
+     * @return the wrapped strategy
+     */
+    OperationStrategy getDelegate();
+
+    @Override
+    default CalculationStatus validate(double operand1, double operand2) {
+        return getDelegate().validate(operand1, operand2);
+    }
+
+    /**
+     * Strips all decorators from a strategy.
+     *
+     * @param strategy the strategy, possibly decorated
+     * @return the innermost strategy
+     */
+    static OperationStrategy unwrap(OperationStrategy strategy) {
+        while (strategy instanceof DelegatingOperationStrategy) {
+            strategy = ((DelegatingOperationStrategy) strategy).getDelegate();
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.flexible.calculator.strategy;
+
+import com.example.flexible.calculator.strategy.kernel.ArrayKernels;
+
+import java.util.Arrays;
+
+/**
+ * Strategy with an exact form over integral operands.
+ * {@link #executeExact} computes in {@code long} and rejects results that a {@code long} cannot
+ * hold exactly; {@link #executeWide} computes those in a wider type instead, so integer inputs are
+ * never rounded through {@code double} unless the result itself is not an integer.
+ * The built-in arithmetic strategies implement it.
+ */
+public interface IntegralOperationStrategy extends OperationStrategy {
+    /**
+     * Performs the operation exactly on two integral operands.
+     * Operands must first pass {@link #validate}.
+     *
+     * @param operand1 the first operand
+     * @param operand2 the second operand
+     * @return the exact result
+     * @throws ArithmeticException if the result is not a {@code long}: it overflows or is not an integer
+     */
+    long executeExact(long operand1, long operand2) throws ArithmeticException;
+
+    /**
+     * Performs the operation for operands whose result {@link #executeExact} rejects.
+     *
+     * @param operand1 the first operand
+     * @param operand2 the second operand
+     * @return the result as a {@link java.math.BigInteger} if it is an integer, otherwise as a {@link Double}
+     */
+    Number executeWide(long operand1, long operand2);
+
+    /**
+     * Performs {@link #executeExact} element-wise over the first {@code length} entries of two operand
+     * columns, without throwing. Indices whose result is rejected, including operands that fail
+     * {@link #validate}, are returned so the caller can handle them; their entries in {@code results}
+     * are undefined. Implementations can override this with a loop that does not throw.
+     *
+     * @param operands1 the first operands
+     * @param operands2 the second operands
+     * @param results the array receiving the results
+     * @param length the number of entries to process
+     * @return the ascending rejected indices, or {@link ArrayKernels#NO_INDICES} if there are none
+     */
+    default int[] executeExactBatch(long[] operands1, long[] operands2, long[] results, int length) {
+        int[] rejected = ArrayKernels.NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            try {
+                if (validate(operands1[i], operands2[i]).isSuccess()) {
+                    results[i] = executeExact(operands1[i], operands2[i]);
+                    continue;
+                }
+            } catch (ArithmeticException e) {
+                // Rejected below.
+            }
+            if (count == rejected.length) {
+                rejected = Arrays.copyOf(rejected, Math.max(8, count * 2));
+            }
+            rejected[count++] = i;
+        }
+        return count == rejected.length ? rejected : Arrays.copyOf(rejected, count);
+    }
+}
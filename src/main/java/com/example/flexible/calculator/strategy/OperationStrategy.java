@@ -1,5 +1,7 @@
 package com.example.flexible.calculator.strategy;
 
+import com.example.flexible.calculator.CalculationStatus;
+
 /**
  * Strategy interface for calculator operations.
  * Enables the Open-Closed Principle by allowing new operations
@@ -15,4 +17,40 @@ public interface OperationStrategy {
      * @throws ArithmeticException if the operation is invalid (e.g., division by zero)
      */
     double execute(double operand1, double operand2) throws ArithmeticException;
-}
\ No newline at end of file
+
+    /**
+     * Checks whether {@link #execute} accepts the operands, without throwing.
+     * Implementations whose {@code execute} can throw should override this so callers on the
+     * exception-free path never reach the throw.
+     *
+     * @param operand1 the first operand
+     * @param operand2 the second operand
+     * @return {@link CalculationStatus#OK}, or the reason the operands are rejected
+     */
+    default CalculationStatus validate(double operand1, double operand2) {
+        return CalculationStatus.OK;
+    }
+
+    /**
+     * Performs the operation element-wise over the first {@code length} entries of two operand columns.
+     * Failures do not abort the batch: the failing index gets {@code NaN} as its result
+     * and the error message is stored at the same index in {@code errors}.
+     * Implementations can override this with a tighter loop that does not throw.
+     *
+     * @param operands1 the first operands
+     * @param operands2 the second operands
+     * @param results the array receiving the results
+     * @param errors the array receiving error messages for failed indices
+     * @param length the number of entries to process
+     */
+    default void executeBatch(double[] operands1, double[] operands2, double[] results, String[] errors, int length) {
+        for (int i = 0; i < length; i++) {
+            try {
+                results[i] = execute(operands1[i], operands2[i]);
+            } catch (ArithmeticException e) {
+                results[i] = Double.NaN;
+                errors[i] = e.getMessage();
+            }
+        }
+    }
+}
@@ -1,13 +1,37 @@
 package com.example.flexible.calculator.strategy.impl;
 
-import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
+import com.example.flexible.calculator.strategy.kernel.ArrayKernels;
+import com.example.flexible.calculator.strategy.kernel.LongKernels;
+
+import java.math.BigInteger;
 
 /**
  * Strategy implementation for addition operation.
  */
-public class AdditionStrategy implements OperationStrategy {
+public class AdditionStrategy implements IntegralOperationStrategy {
     @Override
     public double execute(double operand1, double operand2) {
         return operand1 + operand2;
     }
+
+    @Override
+    public void executeBatch(double[] operands1, double[] operands2, double[] results, String[] errors, int length) {
+        ArrayKernels.get().add(operands1, operands2, results, length);
+    }
+
+    @Override
+    public long executeExact(long operand1, long operand2) {
+        return Math.addExact(operand1, operand2);
+    }
+
+    @Override
+    public Number executeWide(long operand1, long operand2) {
+        return BigInteger.valueOf(operand1).add(BigInteger.valueOf(operand2));
+    }
+
+    @Override
+    public int[] executeExactBatch(long[] operands1, long[] operands2, long[] results, int length) {
+        return LongKernels.add(operands1, operands2, results, length);
+    }
 }
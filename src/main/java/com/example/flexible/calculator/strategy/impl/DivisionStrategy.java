@@ -1,16 +1,81 @@
 package com.example.flexible.calculator.strategy.impl;
 
-import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.strategy.IntegralOperationStrategy;
+import com.example.flexible.calculator.strategy.kernel.ArrayKernels;
+import com.example.flexible.calculator.strategy.kernel.LongKernels;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 /**
  * Strategy implementation for division operation.
  */
-public class DivisionStrategy implements OperationStrategy {
+public class DivisionStrategy implements IntegralOperationStrategy {
+    public static final String DIVISION_BY_ZERO = "Division by zero is not allowed";
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
     @Override
     public double execute(double operand1, double operand2) throws ArithmeticException {
         if (operand2 == 0.0) {
-            throw new ArithmeticException("Division by zero is not allowed");
+            throw new ArithmeticException(DIVISION_BY_ZERO);
+        }
+        return operand1 / operand2;
+    }
+
+    @Override
+    public CalculationStatus validate(double operand1, double operand2) {
+        return operand2 == 0.0 ? CalculationStatus.DIVISION_BY_ZERO : CalculationStatus.OK;
+    }
+
+    @Override
+    public void executeBatch(double[] operands1, double[] operands2, double[] results, String[] errors, int length) {
+        for (int index : ArrayKernels.get().divide(operands1, operands2, results, length)) {
+            results[index] = Double.NaN;
+            errors[index] = DIVISION_BY_ZERO;
+        }
+    }
+
+    @Override
+    public long executeExact(long operand1, long operand2) throws ArithmeticException {
+        if (operand2 == 0) {
+            throw new ArithmeticException(DIVISION_BY_ZERO);
+        }
+        if (operand2 == -1 && operand1 == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        if (operand1 % operand2 != 0) {
+            throw new ArithmeticException("Quotient is not an integer");
         }
         return operand1 / operand2;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns {@code Long.MIN_VALUE / -1} as a BigInteger and other quotients as the nearest double.
+     */
+    @Override
+    public Number executeWide(long operand1, long operand2) {
+        if (operand2 == 0) {
+            throw new ArithmeticException(DIVISION_BY_ZERO);
+        }
+        if (operand1 % operand2 == 0) {
+            return BigInteger.valueOf(operand1).divide(BigInteger.valueOf(operand2));
+        }
+        if (isExactDouble(operand1) && isExactDouble(operand2)) {
+            // Both operands convert exactly, so the double division rounds only once.
+            return (double) operand1 / operand2;
+        }
+        return new BigDecimal(operand1).divide(new BigDecimal(operand2), MathContext.DECIMAL128).doubleValue();
+    }
+
+    @Override
+    public int[] executeExactBatch(long[] operands1, long[] operands2, long[] results, int length) {
+        return LongKernels.divide(operands1, operands2, results, length);
+    }
+
+    private static boolean isExactDouble(long value) {
+        return value >= -MAX_EXACT_DOUBLE && value <= MAX_EXACT_DOUBLE;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+/**
+ * Element-wise arithmetic over primitive operand columns, used by the built-in strategies' batch paths.
+ * <p>
+ * {@link #get()} returns a SIMD implementation built on {@code jdk.incubator.vector} when the JVM
+ * was started with {@code --add-modules jdk.incubator.vector}, and a scalar implementation otherwise.
+ * Both produce bit-identical results, since every lane performs the same IEEE 754 operation.
+ */
+public interface ArrayKernels {
+    int[] NO_INDICES = new int[0];
+
+    void add(double[] operands1, double[] operands2, double[] results, int length);
+
+    void subtract(double[] operands1, double[] operands2, double[] results, int length);
+
+    void multiply(double[] operands1, double[] operands2, double[] results, int length);
+
+    /**
+     * Divides element-wise without throwing. Entries with a zero divisor get the raw IEEE quotient
+     * ({@code ±Infinity} or {@code NaN}); their indices are returned so the caller can report them.
+     *
+     * @return the ascending indices whose divisor is zero, or {@link #NO_INDICES} if there are none
+     */
+    int[] divide(double[] operands1, double[] operands2, double[] results, int length);
+
+    /**
+     * @return true if this implementation uses SIMD instructions
+     */
+    boolean isVectorized();
+
+    /**
+     * @return the best implementation available in this JVM
+     */
+    static ArrayKernels get() {
+        return KernelSelector.BEST;
+    }
+
+    /**
+     * @return the scalar implementation, regardless of Vector API availability
+     */
+    static ArrayKernels scalar() {
+        return ScalarArrayKernels.INSTANCE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+/**
+ * Picks the kernel implementation once per JVM.
+ */
+final class KernelSelector {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    static final ArrayKernels BEST = select();
+
+    private KernelSelector() {
+    }
+
+    private static ArrayKernels select() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarArrayKernels.INSTANCE;
+        }
+        try {
+            // Loaded reflectively so this class links even when the module is absent.
+            return (ArrayKernels) Class.forName(KernelSelector.class.getPackageName() + ".VectorArrayKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ScalarArrayKernels.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Exact element-wise arithmetic over {@code long} operand columns, used by the built-in strategies'
+ * integral batch paths. Loops detect overflow with sign and high-word tests instead of
+ * {@link Math#addExact} and friends, so a failing index costs no exception; its index is returned
+ * and its result entry is left undefined.
+ */
+public final class LongKernels {
+
+    private LongKernels() {
+    }
+
+    /**
+     * @return the ascending indices whose sum overflows, or {@link ArrayKernels#NO_INDICES} if there are none
+     */
+    public static int[] add(long[] operands1, long[] operands2, long[] results, int length) {
+        int[] overflows = ArrayKernels.NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long x = operands1[i];
+            long y = operands2[i];
+            long sum = x + y;
+            results[i] = sum;
+            if (((x ^ sum) & (y ^ sum)) < 0) {
+                overflows = append(overflows, count++, i);
+            }
+        }
+        return trim(overflows, count);
+    }
+
+    /**
+     * @return the ascending indices whose difference overflows, or {@link ArrayKernels#NO_INDICES} if there are none
+     */
+    public static int[] subtract(long[] operands1, long[] operands2, long[] results, int length) {
+        int[] overflows = ArrayKernels.NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long x = operands1[i];
+            long y = operands2[i];
+            long difference = x - y;
+            results[i] = difference;
+            if (((x ^ y) & (x ^ difference)) < 0) {
+                overflows = append(overflows, count++, i);
+            }
+        }
+        return trim(overflows, count);
+    }
+
+    /**
+     * @return the ascending indices whose product overflows, or {@link ArrayKernels#NO_INDICES} if there are none
+     */
+    public static int[] multiply(long[] operands1, long[] operands2, long[] results, int length) {
+        int[] overflows = ArrayKernels.NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long x = operands1[i];
+            long y = operands2[i];
+            long product = x * y;
+            results[i] = product;
+            if (Math.multiplyHigh(x, y) != (product >> 63)) {
+                overflows = append(overflows, count++, i);
+            }
+        }
+        return trim(overflows, count);
+    }
+
+    /**
+     * Divides element-wise, keeping only quotients without a remainder.
+     *
+     * @return the ascending indices with a zero divisor, a remainder or an overflowing quotient
+     * ({@code Long.MIN_VALUE / -1}), or {@link ArrayKernels#NO_INDICES} if there are none
+     */
+    public static int[] divide(long[] operands1, long[] operands2, long[] results, int length) {
+        int[] rejected = ArrayKernels.NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long x = operands1[i];
+            long y = operands2[i];
+            if (y == 0 || (y == -1 && x == Long.MIN_VALUE) || x % y != 0) {
+                rejected = append(rejected, count++, i);
+            } else {
+                results[i] = x / y;
+            }
+        }
+        return trim(rejected, count);
+    }
+
+    private static int[] append(int[] indices, int count, int index) {
+        if (count == indices.length) {
+            indices = Arrays.copyOf(indices, Math.max(8, count * 2));
+        }
+        indices[count] = index;
+        return indices;
+    }
+
+    private static int[] trim(int[] indices, int count) {
+        return count == indices.length ? indices : Arrays.copyOf(indices, count);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Plain loop kernels, used when the Vector API is not available.
+ */
+final class ScalarArrayKernels implements ArrayKernels {
+    static final ScalarArrayKernels INSTANCE = new ScalarArrayKernels();
+
+    private ScalarArrayKernels() {
+    }
+
+    @Override
+    public void add(double[] operands1, double[] operands2, double[] results, int length) {
+        for (int i = 0; i < length; i++) {
+            results[i] = operands1[i] + operands2[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] operands1, double[] operands2, double[] results, int length) {
+        for (int i = 0; i < length; i++) {
+            results[i] = operands1[i] - operands2[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] operands1, double[] operands2, double[] results, int length) {
+        for (int i = 0; i < length; i++) {
+            results[i] = operands1[i] * operands2[i];
+        }
+    }
+
+    @Override
+    public int[] divide(double[] operands1, double[] operands2, double[] results, int length) {
+        int[] zeroDivisors = NO_INDICES;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            double divisor = operands2[i];
+            results[i] = operands1[i] / divisor;
+            if (divisor == 0.0) {
+                if (count == zeroDivisors.length) {
+                    zeroDivisors = Arrays.copyOf(zeroDivisors, Math.max(8, count * 2));
+                }
+                zeroDivisors[count++] = i;
+            }
+        }
+        return count == zeroDivisors.length ? zeroDivisors : Arrays.copyOf(zeroDivisors, count);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD kernels on {@link DoubleVector} at the platform's preferred width.
+ * Only loaded through {@link ArrayKernels#get()} once {@code jdk.incubator.vector} is known to be present.
+ */
+final class VectorArrayKernels implements ArrayKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorArrayKernels() {
+    }
+
+    @Override
+    public void add(double[] operands1, double[] operands2, double[] results, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, operands1, i)
+                    .add(DoubleVector.fromArray(SPECIES, operands2, i))
+                    .intoArray(results, i);
+        }
+        for (; i < length; i++) {
+            results[i] = operands1[i] + operands2[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] operands1, double[] operands2, double[] results, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, operands1, i)
+                    .sub(DoubleVector.fromArray(SPECIES, operands2, i))
+                    .intoArray(results, i);
+        }
+        for (; i < length; i++) {
+            results[i] = operands1[i] - operands2[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] operands1, double[] operands2, double[] results, int length) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, operands1, i)
+                    .mul(DoubleVector.fromArray(SPECIES, operands2, i))
+                    .intoArray(results, i);
+        }
+        for (; i < length; i++) {
+            results[i] = operands1[i] * operands2[i];
+        }
+    }
+
+    @Override
+    public int[] divide(double[] operands1, double[] operands2, double[] results, int length) {
+        int[] zeroDivisors = NO_INDICES;
+        int count = 0;
+        int i = 0;
+        for (int upper = SPECIES.loopBound(length); i < upper; i += SPECIES.length()) {
+            DoubleVector divisors = DoubleVector.fromArray(SPECIES, operands2, i);
+            DoubleVector.fromArray(SPECIES, operands1, i).div(divisors).intoArray(results, i);
+            VectorMask<Double> zero = divisors.compare(VectorOperators.EQ, 0.0);
+            if (zero.anyTrue()) {
+                for (int lane = zero.firstTrue(); lane < SPECIES.length(); lane++) {
+                    if (zero.laneIsSet(lane)) {
+                        if (count == zeroDivisors.length) {
+                            zeroDivisors = Arrays.copyOf(zeroDivisors, Math.max(8, count * 2));
+                        }
+                        zeroDivisors[count++] = i + lane;
+                    }
+                }
+            }
+        }
+        for (; i < length; i++) {
+            double divisor = operands2[i];
+            results[i] = operands1[i] / divisor;
+            if (divisor == 0.0) {
+                if (count == zeroDivisors.length) {
+                    zeroDivisors = Arrays.copyOf(zeroDivisors, Math.max(8, count * 2));
+                }
+                zeroDivisors[count++] = i;
+            }
+        }
+        return count == zeroDivisors.length ? zeroDivisors : Arrays.copyOf(zeroDivisors, count);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
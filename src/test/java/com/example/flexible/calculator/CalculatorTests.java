@@ -1,8 +1,19 @@
 package com.example.flexible.calculator;
 
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -185,4 +196,286 @@ class CalculatorTest {
         double result3 = calculator.calculate(Operation.DIVIDE, Integer.valueOf(-10), Integer.valueOf(-2));
         assertEquals(5.0, result3, 0.001);
     }
+
+    @Test
+    @DisplayName("Batch calculation with mixed operations")
+    void testBatchMixedOperations() {
+        Operation[] operations = {Operation.ADD, Operation.MULTIPLY, Operation.SUBTRACT, Operation.ADD, Operation.DIVIDE};
+        double[] num1 = {5, 6, 10, -1, 15};
+        double[] num2 = {3, 7, 4, 1, 3};
+
+        BatchResult result = calculator.calculateBatch(operations, num1, num2);
+
+        assertArrayEquals(new double[]{8, 42, 6, 0, 5}, result.getResults(), 0.001);
+        assertFalse(result.hasErrors());
+    }
+
+    @Test
+    @DisplayName("Batch division by zero is reported per index")
+    void testBatchDivisionByZero() {
+        Operation[] operations = {Operation.DIVIDE, Operation.ADD, Operation.DIVIDE};
+        double[] num1 = {10, 1, 9};
+        double[] num2 = {0, 2, 3};
+
+        BatchResult result = calculator.calculateBatch(operations, num1, num2);
+
+        assertEquals(1, result.getErrorCount());
+        assertTrue(Double.isNaN(result.getResults()[0]));
+        assertEquals("Division by zero is not allowed", result.getError(0));
+        assertEquals(3.0, result.getResults()[1], 0.001);
+        assertNull(result.getError(1));
+        assertEquals(3.0, result.getResults()[2], 0.001);
+    }
+
+    @Test
+    @DisplayName("Batch null operation is reported per index")
+    void testBatchNullOperation() {
+        BatchResult result = calculator.calculateBatch(
+                new Operation[]{null, Operation.MULTIPLY}, new double[]{1, 2}, new double[]{1, 4});
+
+        assertEquals("Operation cannot be null", result.getError(0));
+        assertEquals(8.0, result.getResults()[1], 0.001);
+    }
+
+    @Test
+    @DisplayName("Batch columns of different length throw IllegalArgumentException")
+    void testBatchColumnLengthMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateBatch(new Operation[]{Operation.ADD}, new double[]{1, 2}, new double[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateBatch(null, new double[0], new double[0]));
+    }
+
+    @Test
+    @DisplayName("Parallel batch matches sequential batch, including per-index errors")
+    void testParallelBatchMatchesSequential() {
+        int length = 50_000;
+        Random random = new Random(7);
+        Operation[] all = Operation.values();
+        Operation[] operations = new Operation[length];
+        double[] num1 = new double[length];
+        double[] num2 = new double[length];
+        for (int i = 0; i < length; i++) {
+            operations[i] = i % 997 == 0 ? null : all[random.nextInt(all.length)];
+            num1[i] = random.nextDouble() * 100;
+            num2[i] = random.nextInt(10);
+        }
+
+        ParallelBatchExecutor executor = new ParallelBatchExecutor(4, 1000);
+        try {
+            Calculator parallel = new Calculator(new OperationStrategyFactory(), executor);
+            BatchResult expected = calculator.calculateBatch(operations, num1, num2);
+            BatchResult actual = parallel.calculateBatch(operations, num1, num2);
+
+            assertArrayEquals(expected.getResults(), actual.getResults());
+            for (int i = 0; i < length; i++) {
+                assertEquals(expected.getError(i), actual.getError(i));
+            }
+            assertTrue(actual.hasErrors());
+
+            Operation[] divisions = new Operation[length];
+            Arrays.fill(divisions, Operation.DIVIDE);
+            BatchResult divided = parallel.calculateBatch(divisions, num1, num2);
+            assertArrayEquals(calculator.calculateBatch(divisions, num1, num2).getResults(), divided.getResults());
+            assertEquals(calculator.calculateBatch(divisions, num1, num2).getErrorCount(), divided.getErrorCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Batches below the parallel threshold run on the caller thread")
+    void testSmallBatchRunsOnCallerThread() {
+        ParallelBatchExecutor executor = new ParallelBatchExecutor(2, 100);
+        try {
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            executor.run(99, (from, to) -> threads.add(Thread.currentThread()));
+            assertEquals(Set.of(Thread.currentThread()), threads);
+
+            threads.clear();
+            executor.run(100_000, (from, to) -> threads.add(Thread.currentThread()));
+            assertFalse(threads.contains(Thread.currentThread()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("tryCalculate returns results and shared failures without throwing")
+    void testTryCalculate() {
+        CalculationResult sum = calculator.tryCalculate(Operation.ADD, 5, 3);
+        assertTrue(sum.isSuccess());
+        assertEquals(8.0, sum.getValue());
+
+        assertSame(CalculationResult.DIVISION_BY_ZERO, calculator.tryCalculate(Operation.DIVIDE, 1, 0));
+        assertSame(CalculationResult.OPERATION_NULL, calculator.tryCalculate(null, 1, 2));
+        assertSame(CalculationResult.NUMBERS_NULL, calculator.tryCalculate(Operation.ADD, null, 2));
+
+        Calculator partial = new Calculator(new OperationStrategyFactory(Map.of(Operation.ADD, (a, b) -> a + b)));
+        CalculationResult unsupported = partial.tryCalculate(Operation.MULTIPLY, 1, 2);
+        assertEquals(CalculationStatus.UNSUPPORTED_OPERATION, unsupported.getStatus());
+        assertEquals("Operation MULTIPLY is not supported", unsupported.getMessage());
+    }
+
+    @Test
+    @DisplayName("tryCalculate reports exceptions from strategies without validate as arithmetic errors")
+    void testTryCalculateThrowingStrategy() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        factory.registerStrategy(Operation.SUBTRACT, (a, b) -> {
+            throw new ArithmeticException("Negative result");
+        });
+
+        CalculationResult result = new Calculator(factory).tryCalculate(Operation.SUBTRACT, 1, 2);
+
+        assertEquals(CalculationStatus.ARITHMETIC_ERROR, result.getStatus());
+        assertEquals("Negative result", result.getMessage());
+        assertTrue(Double.isNaN(result.getValue()));
+    }
+
+    @Test
+    @DisplayName("Chain tryApply keeps the current value when a step fails")
+    void testChainTryApply() {
+        Calculator.ChainCalculator chain = calculator.startChain(10);
+
+        assertEquals(15.0, chain.tryApply(Operation.ADD, 5).getValue());
+        assertSame(CalculationResult.DIVISION_BY_ZERO, chain.tryApply(Operation.DIVIDE, 0));
+        assertSame(CalculationResult.OPERATION_NULL, chain.tryApply(null, 1));
+        assertEquals(15.0, chain.getResult());
+    }
+
+    @Test
+    @DisplayName("Decimal tryCalculate returns exact results and rejects custom strategies")
+    void testTryCalculateDecimal() {
+        CalculationResult sum = calculator.tryCalculate(Operation.ADD, new BigDecimal("0.1"), new BigDecimal("0.2"),
+                MathContext.UNLIMITED);
+        assertEquals(new BigDecimal("0.3"), sum.getDecimalValue());
+        assertEquals(0.3, sum.getValue());
+
+        CalculationResult third = calculator.tryCalculate(Operation.DIVIDE, BigDecimal.ONE, new BigDecimal("3"),
+                MathContext.DECIMAL32);
+        assertEquals(new BigDecimal("0.3333333"), third.getDecimalValue());
+        assertEquals(CalculationStatus.ARITHMETIC_ERROR, calculator.tryCalculate(Operation.DIVIDE, BigDecimal.ONE,
+                new BigDecimal("3"), MathContext.UNLIMITED).getStatus());
+        assertSame(CalculationResult.DIVISION_BY_ZERO, calculator.tryCalculate(Operation.DIVIDE, BigDecimal.ONE,
+                BigDecimal.ZERO, MathContext.UNLIMITED));
+
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        factory.registerStrategy(Operation.MULTIPLY, (a, b) -> a * b * 2);
+        CalculationResult custom = new Calculator(factory).tryCalculate(Operation.MULTIPLY, BigDecimal.ONE,
+                BigDecimal.ONE, MathContext.UNLIMITED);
+        assertEquals(CalculationStatus.UNSUPPORTED_OPERATION, custom.getStatus());
+        assertEquals("Operation MULTIPLY does not support decimal precision", custom.getMessage());
+    }
+
+    @Test
+    @DisplayName("calculateExact computes in long and widens only when the result does not fit")
+    void testCalculateExact() {
+        long large = (1L << 53) + 1;
+        assertEquals(large + 2, calculator.calculateExact(Operation.ADD, large, 2));
+        assertEquals(-3L, calculator.calculateExact(Operation.DIVIDE, 9, -3));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE),
+                calculator.calculateExact(Operation.ADD, Long.MAX_VALUE, 1));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).negate(),
+                calculator.calculateExact(Operation.DIVIDE, Long.MIN_VALUE, -1));
+        assertEquals(3.5, calculator.calculateExact(Operation.DIVIDE, 7, 2));
+        assertThrows(ArithmeticException.class, () -> calculator.calculateExact(Operation.DIVIDE, 1, 0));
+
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        factory.registerStrategy(Operation.MULTIPLY, (a, b) -> a * b * 2);
+        assertEquals(12.0, new Calculator(factory).calculateExact(Operation.MULTIPLY, 2, 3));
+    }
+
+    @Test
+    @DisplayName("Exact batch keeps long results primitive and reports errors per index")
+    void testCalculateExactBatch() {
+        Operation[] operations = {Operation.MULTIPLY, Operation.ADD, Operation.DIVIDE, Operation.DIVIDE, null,
+                Operation.MULTIPLY};
+        long[] num1 = {Long.MAX_VALUE, 1L << 60, 7, 1, 1, 3};
+        long[] num2 = {2, 1, 2, 0, 1, 4};
+
+        IntegralBatchResult result = calculator.calculateExactBatch(operations, num1, num2);
+
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), result.getResult(0));
+        assertTrue(result.isLong(1));
+        assertEquals((1L << 60) + 1, result.getResults()[1]);
+        assertEquals(3.5, result.getResult(2));
+        assertEquals("Division by zero is not allowed", result.getError(3));
+        assertEquals("Operation cannot be null", result.getError(4));
+        assertEquals(12L, result.getResult(5));
+        assertEquals(2, result.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("Parallel exact batch matches the sequential one and single calculations")
+    void testParallelExactBatchMatchesSequential() {
+        Random random = new Random(7);
+        int length = 50_000;
+        Operation[] operations = new Operation[length];
+        long[] num1 = new long[length];
+        long[] num2 = new long[length];
+        for (int i = 0; i < length; i++) {
+            operations[i] = Operation.values()[random.nextInt(Operation.values().length)];
+            num1[i] = random.nextBoolean() ? random.nextLong() : random.nextInt(1000);
+            num2[i] = random.nextInt(10) - 2;
+        }
+        ParallelBatchExecutor executor = new ParallelBatchExecutor(4, 1024);
+        try {
+            IntegralBatchResult parallel = new Calculator(new OperationStrategyFactory(), executor)
+                    .calculateExactBatch(operations, num1, num2);
+            IntegralBatchResult sequential = calculator.calculateExactBatch(operations, num1, num2);
+            for (int i = 0; i < length; i++) {
+                assertEquals(sequential.getResult(i), parallel.getResult(i));
+                assertEquals(sequential.getError(i), parallel.getError(i));
+                if (sequential.getError(i) == null) {
+                    assertEquals(calculator.calculateExact(operations[i], num1[i], num2[i]), sequential.getResult(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Reductions compute aggregates with compensated sums")
+    void testReduce() {
+        double[] tenths = new double[10];
+        Arrays.fill(tenths, 0.1);
+        assertEquals(1.0, calculator.reduce(Reduction.SUM, tenths));
+        assertEquals(1.0, calculator.reduce(Reduction.SUM, new double[]{1e16, 1.0, -1e16}));
+        assertEquals(0.1, calculator.reduce(Reduction.MEAN, tenths));
+        assertEquals(24.0, calculator.reduce(Reduction.PRODUCT, new double[]{1, 2, 3, 4}));
+        assertEquals(-2.0, calculator.reduce(Reduction.MIN, new double[]{3, -2, 7}));
+        assertEquals(7.0, calculator.reduce(Reduction.MAX, new double[]{3, -2, 7}));
+        assertEquals(Double.POSITIVE_INFINITY,
+                calculator.reduce(Reduction.SUM, new double[]{1.0, Double.POSITIVE_INFINITY, 2.0}));
+
+        assertEquals(0.0, calculator.reduce(Reduction.SUM, new double[0]));
+        assertEquals(1.0, calculator.reduce(Reduction.PRODUCT, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> calculator.reduce(Reduction.MEAN, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> calculator.reduce(null, tenths));
+        assertThrows(IllegalArgumentException.class, () -> calculator.reduce(Reduction.SUM, null));
+    }
+
+    @Test
+    @DisplayName("Parallel reductions are bit-for-bit identical for every thread count")
+    void testParallelReduceIsReproducible() {
+        Random random = new Random(11);
+        double[] values = new double[1_000_003];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+        }
+        for (Reduction reduction : Reduction.values()) {
+            double sequential = calculator.reduce(reduction, values);
+            for (int parallelism : new int[]{1, 3, 8}) {
+                ParallelBatchExecutor executor = new ParallelBatchExecutor(parallelism, 1000);
+                try {
+                    double parallel = new Calculator(new OperationStrategyFactory(), executor).reduce(reduction, values);
+                    assertEquals(Double.doubleToRawLongBits(sequential), Double.doubleToRawLongBits(parallel),
+                            reduction + " with " + parallelism + " threads");
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.example.flexible.calculator.batch;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BinaryBatchProcessor.
+ */
+class BinaryBatchProcessorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records spanning several chunks are calculated in input order")
+    void testProcessAcrossChunks() throws IOException {
+        Operation[] operations = Operation.values();
+        int records = 1000;
+        Path input = directory.resolve("input.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+            for (int i = 0; i < records; i++) {
+                out.writeByte(operations[i % operations.length].ordinal());
+                out.writeDouble(i);
+                out.writeDouble(i % 7 + 1);
+            }
+        }
+        Path output = directory.resolve("output.bin");
+
+        BinaryBatchProcessor.BatchReport report = new BinaryBatchProcessor(new Calculator(), 64).process(input, output, 4);
+
+        assertEquals(records, report.getRecords());
+        assertEquals(0, report.getFailures());
+        assertEquals((long) records * BinaryBatchProcessor.OUTPUT_RECORD_SIZE, Files.size(output));
+        Calculator calculator = new Calculator();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(output))) {
+            for (int i = 0; i < records; i++) {
+                assertEquals(BinaryBatchProcessor.STATUS_OK, in.readByte());
+                assertEquals(calculator.calculate(operations[i % operations.length], i, i % 7 + 1), in.readDouble());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Failed and unknown records get a status code and NaN")
+    void testFailureStatuses() throws IOException {
+        Path input = directory.resolve("input.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+            out.writeByte(Operation.DIVIDE.ordinal());
+            out.writeDouble(1.0);
+            out.writeDouble(0.0);
+            out.writeByte(0x7F);
+            out.writeDouble(1.0);
+            out.writeDouble(2.0);
+            out.writeByte(Operation.ADD.ordinal());
+            out.writeDouble(1.0);
+            out.writeDouble(2.0);
+        }
+        Path output = directory.resolve("output.bin");
+
+        BinaryBatchProcessor.BatchReport report = new BinaryBatchProcessor(new Calculator()).process(input, output, 1);
+
+        assertEquals(3, report.getRecords());
+        assertEquals(2, report.getFailures());
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(output))) {
+            assertEquals(BinaryBatchProcessor.STATUS_FAILED, in.readByte());
+            assertTrue(Double.isNaN(in.readDouble()));
+            assertEquals(BinaryBatchProcessor.STATUS_INVALID_OPERATION, in.readByte());
+            assertTrue(Double.isNaN(in.readDouble()));
+            assertEquals(BinaryBatchProcessor.STATUS_OK, in.readByte());
+            assertEquals(3.0, in.readDouble());
+        }
+    }
+
+    @Test
+    @DisplayName("Input that is not a whole number of records is rejected")
+    void testTruncatedInput() throws IOException {
+        Path input = directory.resolve("input.bin");
+        Files.write(input, new byte[BinaryBatchProcessor.INPUT_RECORD_SIZE + 3]);
+
+        BinaryBatchProcessor processor = new BinaryBatchProcessor(new Calculator());
+        assertThrows(IllegalArgumentException.class,
+                () -> processor.process(input, directory.resolve("output.bin"), 1));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.flexible.calculator.cache;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.strategy.CacheableOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import com.example.flexible.calculator.strategy.impl.AdditionStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memoization cache and its strategy decorator.
+ */
+class ResultCacheTest {
+
+    /**
+     * Stands in for a costly strategy and counts how often it really runs.
+     */
+    private static final class CountingStrategy implements CacheableOperationStrategy {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public double execute(double operand1, double operand2) {
+            calls.incrementAndGet();
+            if (operand2 < 0) {
+                throw new ArithmeticException("Negative rate");
+            }
+            return operand1 * Math.pow(1 + operand2, 10);
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated operands are computed once and counted as hits")
+    void testMemoizesRepeatedOperands() {
+        ResultCache cache = new ResultCache(1024, Duration.ZERO);
+        CountingStrategy strategy = new CountingStrategy();
+        OperationStrategy memoized = cache.memoize(Operation.MULTIPLY, strategy);
+
+        double first = memoized.execute(1000.0, 0.05);
+        assertEquals(first, memoized.execute(1000.0, 0.05));
+        memoized.execute(1000.0, 0.06);
+
+        assertEquals(2, strategy.calls.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getSize());
+        assertEquals(1.0 / 3, stats.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Keys use raw bits and the operation, and failures are not cached")
+    void testKeysAndFailures() {
+        ResultCache cache = new ResultCache(1024, Duration.ZERO);
+        CountingStrategy strategy = new CountingStrategy();
+
+        cache.getOrCompute(Operation.ADD, 0.0, 1.0, strategy);
+        cache.getOrCompute(Operation.ADD, -0.0, 1.0, strategy);
+        cache.getOrCompute(Operation.SUBTRACT, 0.0, 1.0, strategy);
+        assertEquals(3, strategy.calls.get());
+
+        assertThrows(ArithmeticException.class, () -> cache.getOrCompute(Operation.ADD, 1.0, -1.0, strategy));
+        assertThrows(ArithmeticException.class, () -> cache.getOrCompute(Operation.ADD, 1.0, -1.0, strategy));
+        assertEquals(5, strategy.calls.get());
+    }
+
+    @Test
+    @DisplayName("Entries expire after the time-to-live")
+    void testTimeToLive() {
+        AtomicLong now = new AtomicLong();
+        ResultCache cache = new ResultCache(16, Duration.ofSeconds(10), now::get);
+        CountingStrategy strategy = new CountingStrategy();
+
+        cache.getOrCompute(Operation.ADD, 1.0, 2.0, strategy);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        cache.getOrCompute(Operation.ADD, 1.0, 2.0, strategy);
+        assertEquals(1, strategy.calls.get());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(0, cache.size());
+        cache.getOrCompute(Operation.ADD, 1.0, 2.0, strategy);
+        assertEquals(2, strategy.calls.get());
+    }
+
+    @Test
+    @DisplayName("The cache stays within its maximum size and counts evictions")
+    void testBoundedSize() {
+        ResultCache cache = new ResultCache(100, Duration.ZERO);
+        CountingStrategy strategy = new CountingStrategy();
+        for (int i = 0; i < 10_000; i++) {
+            cache.getOrCompute(Operation.ADD, i, 0.5, strategy);
+        }
+
+        assertTrue(cache.getMaximumSize() <= 100);
+        assertEquals(cache.getMaximumSize(), cache.size());
+        assertEquals(10_000 - cache.getMaximumSize(), cache.getStats().getEvictions());
+
+        ResultCache disabled = new ResultCache(0, Duration.ZERO);
+        disabled.getOrCompute(Operation.ADD, 1.0, 2.0, strategy);
+        disabled.getOrCompute(Operation.ADD, 1.0, 2.0, strategy);
+        assertEquals(2, disabled.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Only strategies marked cacheable are wrapped by the factory")
+    void testOnlyCacheableStrategiesAreMemoized() {
+        ResultCache cache = new ResultCache(1024, Duration.ZERO);
+        OperationStrategyFactory factory = new OperationStrategyFactory(cache::memoize);
+        CountingStrategy strategy = new CountingStrategy();
+        factory.registerStrategy(Operation.MULTIPLY, strategy);
+
+        assertInstanceOf(AdditionStrategy.class, factory.getStrategy(Operation.ADD));
+        assertInstanceOf(MemoizingOperationStrategy.class, factory.getStrategy(Operation.MULTIPLY));
+
+        Calculator calculator = new Calculator(factory);
+        calculator.calculate(Operation.MULTIPLY, 100, 0.01);
+        calculator.calculateBatch(new Operation[]{Operation.MULTIPLY, Operation.MULTIPLY, Operation.MULTIPLY},
+                new double[]{100, 100, 100}, new double[]{0.01, 0.01, -1});
+        assertEquals(2, strategy.calls.get());
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.flexible.calculator.controller;
 
+import com.example.flexible.calculator.BatchResult;
+import com.example.flexible.calculator.CalculationResult;
 import com.example.flexible.calculator.Calculator;
 import com.example.flexible.calculator.Operation;
 import com.example.flexible.calculator.dto.*;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.service.CalculationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,7 +23,14 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,10 +43,12 @@ class CalculatorControllerTest {
     @Mock
     private Calculator calculator;
 
-    @Mock
-    private Calculator.ChainCalculator chainCalculator;
+    @Spy
+    private ChainPlanCache planCache = new ChainPlanCache(new ChainPlanCompiler(new OperationStrategyFactory()), 16);
+
+    @Spy
+    private ExpressionCompiler expressionCompiler = new ExpressionCompiler(new OperationStrategyFactory(), 16);
 
-    @InjectMocks
     private CalculatorController calculatorController;
 
     private MockMvc mockMvc;
@@ -40,6 +56,7 @@ class CalculatorControllerTest {
 
     @BeforeEach
     void setUp() {
+        calculatorController = new CalculatorController(new CalculationService(calculator, planCache, expressionCompiler));
         mockMvc = MockMvcBuilders.standaloneSetup(calculatorController).build();
         objectMapper = new ObjectMapper();
     }
@@ -54,7 +71,7 @@ class CalculatorControllerTest {
         request.setNum1(Double.valueOf(5.0));
         request.setNum2(Double.valueOf(3.0));
 
-        when(calculator.calculate(Operation.ADD, 5.0, 3.0)).thenReturn(8.0);
+        when(calculator.tryCalculate(Operation.ADD, 5.0, 3.0)).thenReturn(CalculationResult.success(8.0));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
@@ -64,7 +81,7 @@ class CalculatorControllerTest {
                 .andExpect(jsonPath("$.result").value(8.0))
                 .andExpect(jsonPath("$.error").doesNotExist());
 
-        verify(calculator).calculate(Operation.ADD, 5.0, 3.0);
+        verify(calculator).tryCalculate(Operation.ADD, 5.0, 3.0);
     }
 
     @Test
@@ -75,7 +92,7 @@ class CalculatorControllerTest {
         request.setNum1(10.0);
         request.setNum2(4.0);
 
-        when(calculator.calculate(Operation.SUBTRACT, 10.0, 4.0)).thenReturn(6.0);
+        when(calculator.tryCalculate(Operation.SUBTRACT, 10.0, 4.0)).thenReturn(CalculationResult.success(6.0));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
@@ -93,7 +110,7 @@ class CalculatorControllerTest {
         request.setNum1(7.0);
         request.setNum2(3.0);
 
-        when(calculator.calculate(Operation.MULTIPLY, 7.0, 3.0)).thenReturn(21.0);
+        when(calculator.tryCalculate(Operation.MULTIPLY, 7.0, 3.0)).thenReturn(CalculationResult.success(21.0));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
@@ -111,7 +128,7 @@ class CalculatorControllerTest {
         request.setNum1(Double.valueOf(15.0));
         request.setNum2(Double.valueOf(3.0));
 
-        when(calculator.calculate(Operation.DIVIDE, 15.0, 3.0)).thenReturn(5.0);
+        when(calculator.tryCalculate(Operation.DIVIDE, 15.0, 3.0)).thenReturn(CalculationResult.success(5.0));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
@@ -142,7 +159,7 @@ class CalculatorControllerTest {
         // Given
         CalculationRequest request = new CalculationRequest();
         request.setOperation(Operation.ADD);
-        request.setNum1(null);
+        request.setNum1((Double) null);
         request.setNum2(3.0);
 
         // When & Then
@@ -161,15 +178,26 @@ class CalculatorControllerTest {
         request.setNum1(Double.valueOf(10.0));
         request.setNum2(Double.valueOf(0.0));
 
-        when(calculator.calculate(Operation.DIVIDE, 10.0, 0.0))
-                .thenThrow(new ArithmeticException("Division by zero"));
+        when(calculator.tryCalculate(Operation.DIVIDE, 10.0, 0.0))
+                .thenReturn(CalculationResult.DIVISION_BY_ZERO);
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value("Math error: Division by zero"));
+                .andExpect(jsonPath("$.error").value("Math error: Division by zero is not allowed"));
+    }
+
+    @Test
+    void calculate_RepeatedDivisionByZero_ReusesErrorResponse() {
+        when(calculator.tryCalculate(Operation.DIVIDE, 10.0, 0.0)).thenReturn(CalculationResult.DIVISION_BY_ZERO);
+        CalculationRequest request = new CalculationRequest(Operation.DIVIDE, 10.0, 0.0);
+
+        assertSame(calculatorController.calculate(request), calculatorController.calculate(request));
+        CalculationResponse shared = calculatorController.calculate(request).getBody();
+        assertThrows(UnsupportedOperationException.class, () -> shared.setError("changed"));
+        assertEquals("Math error: Division by zero is not allowed", shared.getError());
     }
 
     @Test
@@ -180,15 +208,15 @@ class CalculatorControllerTest {
         request.setNum1(Double.valueOf(5.0));
         request.setNum2(Double.valueOf(3.0));
 
-        when(calculator.calculate(Operation.ADD, 5.0, 3.0))
-                .thenThrow(new UnsupportedOperationException("Operation not supported"));
+        when(calculator.tryCalculate(Operation.ADD, 5.0, 3.0))
+                .thenReturn(CalculationResult.unsupported(Operation.ADD));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value("Unsupported operation: Operation not supported"));
+                .andExpect(jsonPath("$.error").value("Unsupported operation: Operation ADD is not supported"));
     }
 
     @Test
@@ -199,7 +227,7 @@ class CalculatorControllerTest {
         request.setNum1(Double.valueOf(5.0));
         request.setNum2(Double.valueOf(3.0));
 
-        when(calculator.calculate(Operation.ADD, 5.0, 3.0))
+        when(calculator.tryCalculate(Operation.ADD, 5.0, 3.0))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         // When & Then
@@ -228,11 +256,6 @@ class CalculatorControllerTest {
 
         request.setOperations(Arrays.asList(op1, op2));
 
-        when(calculator.startChain(10.0)).thenReturn(chainCalculator);
-        when(chainCalculator.apply(Operation.ADD, 5.0)).thenReturn(chainCalculator);
-        when(chainCalculator.apply(Operation.MULTIPLY, 2.0)).thenReturn(chainCalculator);
-        when(chainCalculator.getResult()).thenReturn(30.0);
-
         // When & Then
         mockMvc.perform(post("/api/calculator/chain")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -240,10 +263,7 @@ class CalculatorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.result").value(30.0));
 
-        verify(calculator).startChain(10.0);
-        verify(chainCalculator).apply(Operation.ADD, 5.0);
-        verify(chainCalculator).apply(Operation.MULTIPLY, 2.0);
-        verify(chainCalculator).getResult();
+        verify(planCache).getShape(any(Operation[].class));
     }
 
     @Test
@@ -258,10 +278,6 @@ class CalculatorControllerTest {
 
         request.setOperations(Arrays.asList(op1));
 
-        when(calculator.startChain(5.0)).thenReturn(chainCalculator);
-        when(chainCalculator.apply(Operation.ADD, 3.0)).thenReturn(chainCalculator);
-        when(chainCalculator.getResult()).thenReturn(8.0);
-
         // When & Then
         mockMvc.perform(post("/api/calculator/chain")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -270,11 +286,38 @@ class CalculatorControllerTest {
                 .andExpect(jsonPath("$.result").value(8.0));
     }
 
+    @Test
+    void calculateChain_Intermediates_ReturnsValueAfterEachStep() throws Exception {
+        // Given
+        ChainCalculationRequest request = new ChainCalculationRequest(10.0, Arrays.asList(
+                new ChainOperationRequest(Operation.ADD, 5.0),
+                new ChainOperationRequest(Operation.MULTIPLY, 2.0),
+                new ChainOperationRequest(Operation.SUBTRACT, 4.0)));
+        request.setIntermediates(true);
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(26.0))
+                .andExpect(jsonPath("$.intermediates[0]").value(15.0))
+                .andExpect(jsonPath("$.intermediates[1]").value(30.0))
+                .andExpect(jsonPath("$.intermediates[2]").value(26.0));
+
+        request.setPrecision(10);
+        mockMvc.perform(post("/api/calculator/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Intermediates are not supported with precision"));
+    }
+
     @Test
     void calculateChain_NullInitialValue_ReturnsBadRequest() throws Exception {
         // Given
         ChainCalculationRequest request = new ChainCalculationRequest();
-        request.setInitialValue(null);
+        request.setInitialValue((Double) null);
         request.setOperations(Arrays.asList(new ChainOperationRequest()));
 
         // When & Then
@@ -328,7 +371,7 @@ class CalculatorControllerTest {
 
         ChainOperationRequest op1 = new ChainOperationRequest();
         op1.setOperation(Operation.ADD);
-        op1.setOperand(null);
+        op1.setOperand((Double) null);
 
         request.setOperations(Arrays.asList(op1));
 
@@ -352,16 +395,319 @@ class CalculatorControllerTest {
 
         request.setOperations(Arrays.asList(op1));
 
-        when(calculator.startChain(10.0)).thenReturn(chainCalculator);
-        when(chainCalculator.apply(Operation.DIVIDE, 0.0))
-                .thenThrow(new ArithmeticException("Division by zero"));
-
         // When & Then
         mockMvc.perform(post("/api/calculator/chain")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value("Math error: Division by zero"));
+                .andExpect(jsonPath("$.error").value("Math error: Division by zero is not allowed"));
+    }
+
+    // ========== Streaming Calculation Tests ==========
+
+    @Test
+    void calculateStream_NdjsonRecords_ReturnsOneResponsePerRecord() throws Exception {
+        // Given
+        String body = "{\"operation\":\"ADD\",\"num1\":5.0,\"num2\":3.0}\n"
+                + "{\"operation\":\"DIVIDE\",\"num1\":10.0,\"num2\":0.0}\n"
+                + "{\"operation\":\"POWER\",\"num1\":1.0,\"num2\":2.0}\n"
+                + "{\"operation\":\"MULTIPLY\",\"num1\":6.0,\"num2\":7.0}\n";
+
+        when(calculator.tryCalculate(Operation.ADD, 5.0, 3.0)).thenReturn(CalculationResult.success(8.0));
+        when(calculator.tryCalculate(Operation.DIVIDE, 10.0, 0.0))
+                .thenReturn(CalculationResult.DIVISION_BY_ZERO);
+        when(calculator.tryCalculate(Operation.MULTIPLY, 6.0, 7.0)).thenReturn(CalculationResult.success(42.0));
+
+        // When
+        String content = mockMvc.perform(post("/api/calculator/stream")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = content.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(8.0, objectMapper.readValue(lines[0], CalculationResponse.class).getResult());
+        assertEquals("Math error: Division by zero is not allowed",
+                objectMapper.readValue(lines[1], CalculationResponse.class).getError());
+        assertFalse(objectMapper.readValue(lines[2], CalculationResponse.class).isSuccess());
+        assertEquals(42.0, objectMapper.readValue(lines[3], CalculationResponse.class).getResult());
+    }
+
+    @Test
+    void calculateStream_MalformedRecord_EndsStreamWithError() throws Exception {
+        // Given
+        String body = "{\"operation\":\"ADD\",\"num1\":1.0,\"num2\":1.0}\n{not json\n"
+                + "{\"operation\":\"ADD\",\"num1\":2.0,\"num2\":2.0}\n";
+
+        when(calculator.tryCalculate(Operation.ADD, 1.0, 1.0)).thenReturn(CalculationResult.success(2.0));
+
+        // When
+        String content = mockMvc.perform(post("/api/calculator/stream")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = content.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Invalid input: Malformed record at line 2",
+                objectMapper.readValue(lines[1], CalculationResponse.class).getError());
+    }
+
+    // ========== Streaming Chain Tests ==========
+
+    @Test
+    void calculateChainStream_LongChain_ReturnsResult() throws Exception {
+        // Given
+        StringBuilder body = new StringBuilder("{\"initialValue\":10.0,\"comment\":{\"ignored\":[1,2]},\"operations\":[");
+        for (int i = 0; i < 10_000; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"operation\":\"ADD\",\"operand\":1}");
+        }
+        body.append("]}");
+
+        // When & Then
+        realCalculatorMvc().perform(post("/api/calculator/chain/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(10_010.0));
+    }
+
+    @Test
+    void calculateChainStream_FailingStep_ReportsIndex() throws Exception {
+        // Given
+        String divisionByZero = "{\"initialValue\":10.0,\"operations\":[{\"operation\":\"ADD\",\"operand\":5.0},"
+                + "{\"operation\":\"MULTIPLY\",\"operand\":2.0},{\"operation\":\"DIVIDE\",\"operand\":0}]}";
+        String missingOperation = "{\"initialValue\":10.0,\"operations\":[{\"operation\":\"ADD\",\"operand\":5.0},"
+                + "{\"operand\":2.0}]}";
+        String unknownOperation = "{\"initialValue\":10.0,\"operations\":[{\"operation\":\"POWER\",\"operand\":2.0}]}";
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(divisionByZero))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Math error: Step 2: Division by zero is not allowed"));
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(missingOperation))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Step 1: Operation cannot be null"));
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(unknownOperation))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Step 0: Unknown operation: POWER"));
+    }
+
+    @Test
+    void calculateChainStream_InvalidRequest_ReturnsBadRequest() throws Exception {
+        // Given
+        String operationsFirst = "{\"operations\":[{\"operation\":\"ADD\",\"operand\":5.0}],\"initialValue\":10.0}";
+        String noOperations = "{\"initialValue\":10.0,\"operations\":[]}";
+        String malformed = "{\"initialValue\":10.0,\n\"operations\":[{\"operation\":";
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(operationsFirst))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Initial value must precede operations"));
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(noOperations))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Operations list cannot be null or empty"));
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(malformed))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Malformed JSON at line 2"));
+    }
+
+    @Test
+    void calculate_WithPrecision_ReturnsDecimalResult() throws Exception {
+        // Given
+        String exactSum = "{\"operation\":\"ADD\",\"num1\":0.1,\"num2\":0.2,\"precision\":0}";
+        String roundedQuotient = "{\"operation\":\"DIVIDE\",\"num1\":2,\"num2\":3,\"precision\":4}";
+        String negativePrecision = "{\"operation\":\"ADD\",\"num1\":1,\"num2\":2,\"precision\":-1}";
+        String longLiteral = "{\"operation\":\"ADD\",\"num1\":1234567890123456.78,\"num2\":0.01,\"precision\":0}";
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(exactSum))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"decimalResult\":0.3")))
+                .andExpect(jsonPath("$.result").value(0.3));
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(roundedQuotient))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"decimalResult\":0.6667")));
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(negativePrecision))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Precision cannot be negative"));
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(longLiteral))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"decimalResult\":1234567890123456.79")));
+    }
+
+    @Test
+    void calculateChain_WithPrecision_ReturnsDecimalResult() throws Exception {
+        // Given
+        String tenths = "{\"initialValue\":0,\"precision\":0,\"operations\":["
+                + "{\"operation\":\"ADD\",\"operand\":0.1},{\"operation\":\"ADD\",\"operand\":0.1},"
+                + "{\"operation\":\"ADD\",\"operand\":0.1},{\"operation\":\"MULTIPLY\",\"operand\":3}]}";
+        String inexact = "{\"initialValue\":1,\"precision\":0,\"operations\":[{\"operation\":\"DIVIDE\",\"operand\":3}]}";
+        String longLiterals = "{\"initialValue\":1234567890123456.78,\"precision\":0,\"operations\":["
+                + "{\"operation\":\"SUBTRACT\",\"operand\":0.000000000000000001}]}";
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/chain").contentType(MediaType.APPLICATION_JSON).content(tenths))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"decimalResult\":0.9")));
+        mvc.perform(post("/api/calculator/chain").contentType(MediaType.APPLICATION_JSON).content(longLiterals))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"decimalResult\":1234567890123456.779999999999999999")));
+        mvc.perform(post("/api/calculator/chain").contentType(MediaType.APPLICATION_JSON).content(inexact))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Math error: Non-terminating decimal expansion")));
+        mvc.perform(post("/api/calculator/chain/stream").contentType(MediaType.APPLICATION_JSON).content(tenths))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Precision is not supported for streamed chains"));
+    }
+
+    @Test
+    void calculateWithPrecision_BeyondLimits_ReturnsBadRequest() throws Exception {
+        // Given
+        String tooPrecise = "{\"operation\":\"DIVIDE\",\"num1\":1,\"num2\":3,\"precision\":101}";
+        String wideSum = "{\"operation\":\"ADD\",\"num1\":1e-999999999,\"num2\":1,\"precision\":0}";
+        StringBuilder growingChain = new StringBuilder("{\"initialValue\":1,\"precision\":0,\"operations\":[");
+        for (int i = 0; i < 200; i++) {
+            growingChain.append(i == 0 ? "" : ",").append("{\"operation\":\"MULTIPLY\",\"operand\":1.1}");
+        }
+        growingChain.append("]}");
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(tooPrecise))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Precision cannot exceed 100"));
+        mvc.perform(post("/api/calculator/calculate").contentType(MediaType.APPLICATION_JSON).content(wideSum))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Invalid input: Exact result would exceed 100 digits")));
+        mvc.perform(post("/api/calculator/chain").contentType(MediaType.APPLICATION_JSON).content(growingChain.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Invalid input: Exact result would exceed 100 digits")));
+    }
+
+    @Test
+    void reduce_ValidRequest_ReturnsAggregate() throws Exception {
+        // Given
+        String tenths = "{\"reduction\":\"SUM\",\"values\":[0.1,0.1,0.1,0.1,0.1,0.1,0.1,0.1,0.1,0.1]}";
+        String emptyMean = "{\"reduction\":\"MEAN\",\"values\":[]}";
+
+        // When & Then
+        MockMvc mvc = realCalculatorMvc();
+        mvc.perform(post("/api/calculator/reduce").contentType(MediaType.APPLICATION_JSON).content(tenths))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(1.0));
+        mvc.perform(post("/api/calculator/reduce").contentType(MediaType.APPLICATION_JSON).content(emptyMean))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Values cannot be empty for MEAN"));
+    }
+
+    private MockMvc realCalculatorMvc() {
+        // Streamed steps, decimal results and reductions are computed by the calculator itself, so these tests use a real one.
+        CalculationService service = new CalculationService(new Calculator(), planCache, expressionCompiler);
+        return MockMvcBuilders.standaloneSetup(new CalculatorController(service)).build();
+    }
+
+    // ========== Expression Evaluation Tests ==========
+
+    @Test
+    void evaluate_ValidExpression_ReturnsResult() throws Exception {
+        // Given
+        ExpressionRequest request = new ExpressionRequest("(a + b) * c / d",
+                Map.of("a", 1.0, "b", 2.0, "c", 3.0, "d", 4.0));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(2.25));
+    }
+
+    @Test
+    void evaluate_UnboundVariable_ReturnsBadRequest() throws Exception {
+        // Given
+        ExpressionRequest request = new ExpressionRequest("a + b", Map.of("a", 1.0));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Variable 'b' is not bound"));
+    }
+
+    @Test
+    void evaluate_DivisionByZero_ReturnsBadRequest() throws Exception {
+        // Given
+        ExpressionRequest request = new ExpressionRequest("1 / (x - x)", Map.of("x", 3.0));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Math error: Division by zero is not allowed"));
+    }
+
+    @Test
+    void evaluate_TooManyTerms_ReturnsBadRequest() throws Exception {
+        // Given
+        ExpressionRequest request = new ExpressionRequest("x" + "+x".repeat(19_999), Map.of("x", 1.0));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/evaluate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Invalid input: Expression has more than 1024 operators")));
+    }
+
+    // ========== Batch Calculation Tests ==========
+
+    @Test
+    void calculateBatch_ValidRequest_ReturnsResultsAndPerIndexErrors() throws Exception {
+        // Given
+        Operation[] operations = {Operation.ADD, Operation.DIVIDE};
+        double[] num1 = {5.0, 10.0};
+        double[] num2 = {3.0, 0.0};
+        BatchCalculationRequest request = new BatchCalculationRequest(operations, num1, num2);
+
+        when(calculator.calculateBatch(operations, num1, num2))
+                .thenReturn(new BatchResult(new double[]{8.0, Double.NaN},
+                        new String[]{null, "Division by zero is not allowed"}));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.results[0]").value(8.0))
+                .andExpect(jsonPath("$.errors['1']").value("Division by zero is not allowed"))
+                .andExpect(jsonPath("$.errors['0']").doesNotExist());
+    }
+
+    @Test
+    void calculateBatch_MissingColumn_ReturnsBadRequest() throws Exception {
+        // Given
+        BatchCalculationRequest request = new BatchCalculationRequest(
+                new Operation[]{Operation.ADD}, new double[]{1.0}, null);
+
+        // When & Then
+        mockMvc.perform(post("/api/calculator/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Batch columns cannot be null"));
     }
 
     // ========== GET Endpoints Tests ==========
@@ -395,7 +741,7 @@ class CalculatorControllerTest {
         request.setNum2(Double.valueOf(2.71828));
 
         double expectedResult = 3.14159 * 2.71828;
-        when(calculator.calculate(Operation.MULTIPLY, 3.14159, 2.71828)).thenReturn(expectedResult);
+        when(calculator.tryCalculate(Operation.MULTIPLY, 3.14159, 2.71828)).thenReturn(CalculationResult.success(expectedResult));
 
         // When & Then
         mockMvc.perform(post("/api/calculator/calculate")
@@ -420,10 +766,6 @@ class CalculatorControllerTest {
 
         request.setOperations(Arrays.asList(operations));
 
-        when(calculator.startChain(10.0)).thenReturn(chainCalculator);
-        when(chainCalculator.apply(any(Operation.class), any(Double.class))).thenReturn(chainCalculator);
-        when(chainCalculator.getResult()).thenReturn(27.0);
-
         // When & Then
         mockMvc.perform(post("/api/calculator/chain")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,87 @@
+package com.example.flexible.calculator.controller;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.service.ChainSessionService;
+import com.example.flexible.calculator.session.ChainSessionStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for ChainSessionController.
+ */
+class ChainSessionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ChainSessionStore store = new ChainSessionStore(new Calculator(), 1, Duration.ofMinutes(5), Duration.ZERO);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChainSessionController(new ChainSessionService(store))).build();
+    }
+
+    @Test
+    @DisplayName("A session applies steps one request at a time")
+    void session_AppliesStepsIncrementally() throws Exception {
+        String body = mockMvc.perform(post("/api/calculator/chain/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"initialValue\": 10.0}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.result").value(10.0))
+                .andReturn().getResponse().getContentAsString();
+        String id = new ObjectMapper().readTree(body).get("sessionId").asText();
+        String session = "/api/calculator/chain/sessions/" + id;
+
+        mockMvc.perform(post(session + "/steps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operation\": \"ADD\", \"operand\": 5.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(15.0));
+        mockMvc.perform(post(session + "/steps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operation\": \"DIVIDE\", \"operand\": 0.0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Math error: Division by zero is not allowed"));
+        mockMvc.perform(get(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(15.0));
+        mockMvc.perform(post(session + "/reset")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"initialValue\": 2.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(2.0));
+
+        mockMvc.perform(post("/api/calculator/chain/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"initialValue\": 1.0}"))
+                .andExpect(status().isServiceUnavailable());
+
+        mockMvc.perform(delete(session)).andExpect(status().isNoContent());
+        mockMvc.perform(get(session))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Chain session not found: " + id));
+    }
+
+    @Test
+    @DisplayName("Sessions need an initial value and steps need an operand")
+    void session_InvalidInput_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/calculator/chain/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid input: Initial value cannot be null"));
+        mockMvc.perform(post("/api/calculator/chain/sessions/missing/steps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operation\": \"ADD\", \"operand\": 1.0}"))
+                .andExpect(status().isNotFound());
+    }
+}
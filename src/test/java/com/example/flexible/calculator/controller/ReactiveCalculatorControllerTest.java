@@ -0,0 +1,209 @@
+package com.example.flexible.calculator.controller;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.dto.ChainSessionResponse;
+import com.example.flexible.calculator.protocol.BinaryCalculationCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Tests for ReactiveCalculatorController running on Netty with the reactive profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveCalculatorControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Test
+    @DisplayName("Reactive profile serves the API from Netty")
+    void reactiveProfile_UsesNetty() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    @DisplayName("Single calculation returns the result")
+    void calculate_ValidRequest_ReturnsResult() {
+        webTestClient.post().uri("/api/calculator/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"operation\":\"ADD\",\"num1\":5.0,\"num2\":3.0}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(8.0)
+                .jsonPath("$.error").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Division by zero maps to the same error as the servlet controller")
+    void calculate_DivisionByZero_ReturnsBadRequest() {
+        webTestClient.post().uri("/api/calculator/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"operation\":\"DIVIDE\",\"num1\":10.0,\"num2\":0.0}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Math error: Division by zero is not allowed");
+    }
+
+    @Test
+    @DisplayName("Chained calculation returns the result")
+    void calculateChain_ValidRequest_ReturnsResult() {
+        webTestClient.post().uri("/api/calculator/chain")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"initialValue\":10.0,\"operations\":["
+                        + "{\"operation\":\"ADD\",\"operand\":5.0},{\"operation\":\"MULTIPLY\",\"operand\":2.0}]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("Streamed chain is applied while the body is read")
+    void calculateChainStream_LongChain_ReturnsResult() {
+        StringBuilder body = new StringBuilder("{\"initialValue\":10.0,\"operations\":[");
+        for (int i = 0; i < 10_000; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"operation\":\"ADD\",\"operand\":1.0}");
+        }
+        body.append("]}");
+
+        webTestClient.post().uri("/api/calculator/chain/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(10_010.0);
+        webTestClient.post().uri("/api/calculator/chain/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"initialValue\":10.0,\"operations\":[{\"operation\":\"ADD\",\"operand\":5.0},"
+                        + "{\"operation\":\"DIVIDE\",\"operand\":0}]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Math error: Step 1: Division by zero is not allowed");
+    }
+
+    @Test
+    @DisplayName("Batch reports per-index errors")
+    void calculateBatch_DivisionByZero_ReportsIndex() {
+        webTestClient.post().uri("/api/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"operations\":[\"ADD\",\"DIVIDE\"],\"num1\":[5.0,10.0],\"num2\":[3.0,0.0]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0]").isEqualTo(8.0)
+                .jsonPath("$.errors.1").isEqualTo("Division by zero is not allowed");
+    }
+
+    @Test
+    @DisplayName("Reduce returns the aggregate")
+    void reduce_ValidRequest_ReturnsAggregate() {
+        webTestClient.post().uri("/api/calculator/reduce")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"reduction\":\"MAX\",\"values\":[3.0,-2.0,7.0]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(7.0);
+    }
+
+    @Test
+    @DisplayName("NDJSON stream is answered record by record")
+    void calculateStream_Records_ReturnsOneResponsePerRecord() {
+        webTestClient.post().uri("/api/calculator/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"operation\":\"ADD\",\"num1\":5.0,\"num2\":3.0}\n"
+                        + "{\"operation\":\"DIVIDE\",\"num1\":1.0,\"num2\":0.0}\n"
+                        + "{\"operation\":\"MULTIPLY\",\"num1\":6.0,\"num2\":7.0}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo("{\"result\":8.0,\"error\":null,\"success\":true}\n"
+                        + "{\"result\":null,\"error\":\"Math error: Division by zero is not allowed\",\"success\":false}\n"
+                        + "{\"result\":42.0,\"error\":null,\"success\":true}\n");
+    }
+
+    @Test
+    @DisplayName("Supported operations are listed")
+    void getSupportedOperations_ReturnsAllOperations() {
+        webTestClient.get().uri("/api/calculator/operations")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Binary calculation is answered in the binary format")
+    void calculate_BinaryRequest_ReturnsBinaryResponse() {
+        ByteBuffer request = ByteBuffer.allocate(BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.DIVIDE, 10.0, 0.0), request);
+
+        byte[] response = webTestClient.post().uri("/api/calculator/calculate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(request.array())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertEquals("Math error: Division by zero is not allowed",
+                BinaryCalculationCodec.readResponse(ByteBuffer.wrap(response)).getError());
+    }
+
+    @Test
+    @DisplayName("Truncated binary request is rejected")
+    void calculate_TruncatedBinaryRequest_ReturnsBadRequest() {
+        webTestClient.post().uri("/api/calculator/calculate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(new byte[]{0, 1, 2})
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Chain sessions apply steps one request at a time")
+    void chainSession_AppliesStepsIncrementally() {
+        ChainSessionResponse created = webTestClient.post().uri("/api/calculator/chain/sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"initialValue\":10.0}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ChainSessionResponse.class)
+                .returnResult().getResponseBody();
+        String session = "/api/calculator/chain/sessions/" + created.getSessionId();
+
+        webTestClient.post().uri(session + "/steps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"operation\":\"MULTIPLY\",\"operand\":3.0}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(30.0);
+        webTestClient.delete().uri(session).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri(session).exchange().expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.flexible.calculator.decimal;
+
+import com.example.flexible.calculator.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for decimal arithmetic and its scaled-long division.
+ */
+class DecimalArithmeticTest {
+
+    private static final MathContext PRECISION_10 = new MathContext(10, RoundingMode.HALF_EVEN);
+
+    @Test
+    @DisplayName("Decimal fractions are added exactly")
+    void testExactSum() {
+        BigDecimal sum = DecimalArithmetic.apply(Operation.ADD, new BigDecimal("0.1"), new BigDecimal("0.2"),
+                MathContext.UNLIMITED);
+        assertEquals(new BigDecimal("0.3"), sum);
+        assertEquals(new BigDecimal("-1.95"), DecimalArithmetic.apply(Operation.SUBTRACT,
+                new BigDecimal("0.05"), new BigDecimal("2"), MathContext.UNLIMITED));
+    }
+
+    @Test
+    @DisplayName("Terminating quotients are exact and others are rounded or rejected")
+    void testDivision() {
+        assertEquals(new BigDecimal("0.125"), DecimalArithmetic.apply(Operation.DIVIDE,
+                BigDecimal.ONE, new BigDecimal("8"), MathContext.UNLIMITED));
+        assertEquals(new BigDecimal("0.3333333333"), DecimalArithmetic.apply(Operation.DIVIDE,
+                BigDecimal.ONE, new BigDecimal("3"), PRECISION_10));
+        assertThrows(ArithmeticException.class, () -> DecimalArithmetic.apply(Operation.DIVIDE,
+                BigDecimal.ONE, new BigDecimal("3"), MathContext.UNLIMITED));
+    }
+
+    @Test
+    @DisplayName("Overflowing quotients fall back to BigDecimal division")
+    void testOverflowFallback() {
+        BigDecimal large = new BigDecimal("999999999999999999");
+        BigDecimal sixteen = new BigDecimal("16");
+        assertNull(DecimalArithmetic.divideScaled(999999999999999999L, 0, 16, 0, MathContext.UNLIMITED));
+        assertEquals(new BigDecimal("62499999999999999.9375"),
+                DecimalArithmetic.apply(Operation.DIVIDE, large, sixteen, MathContext.UNLIMITED));
+    }
+
+    @Test
+    @DisplayName("Results equal BigDecimal arithmetic, scale included")
+    void testMatchesBigDecimal() {
+        SplittableRandom random = new SplittableRandom(42);
+        MathContext[] contexts = {MathContext.UNLIMITED, MathContext.DECIMAL64, PRECISION_10, new MathContext(3)};
+        for (int i = 0; i < 50_000; i++) {
+            BigDecimal a = randomDecimal(random);
+            // Every other divisor has only factors of two and five, so its quotients terminate.
+            BigDecimal b = i % 2 == 0 ? randomDecimal(random) : BigDecimal.valueOf(
+                    (random.nextBoolean() ? 1 : -1) * (1L << random.nextInt(30)) * (long) Math.pow(5, random.nextInt(8)),
+                    random.nextInt(-2, 9));
+            MathContext mathContext = contexts[i % contexts.length];
+            assertEquals(a.add(b, mathContext), DecimalArithmetic.apply(Operation.ADD, a, b, mathContext));
+            assertEquals(a.subtract(b, mathContext), DecimalArithmetic.apply(Operation.SUBTRACT, a, b, mathContext));
+            assertEquals(a.multiply(b, mathContext), DecimalArithmetic.apply(Operation.MULTIPLY, a, b, mathContext));
+            if (b.signum() == 0) {
+                continue;
+            }
+            BigDecimal quotient;
+            try {
+                quotient = a.divide(b, mathContext);
+            } catch (ArithmeticException e) {
+                assertThrows(ArithmeticException.class, () -> DecimalArithmetic.apply(Operation.DIVIDE, a, b, mathContext));
+                continue;
+            }
+            assertEquals(quotient, DecimalArithmetic.apply(Operation.DIVIDE, a, b, mathContext), a + " / " + b);
+        }
+    }
+
+    private static BigDecimal randomDecimal(SplittableRandom random) {
+        long unscaled = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L) / random.nextLong(1, 1_000_000);
+        return BigDecimal.valueOf(unscaled, random.nextInt(-2, 9));
+    }
+}
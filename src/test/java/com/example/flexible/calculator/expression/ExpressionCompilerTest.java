@@ -0,0 +1,102 @@
+package com.example.flexible.calculator.expression;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpressionCompiler.
+ */
+class ExpressionCompilerTest {
+    private OperationStrategyFactory factory;
+    private ExpressionCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        factory = new OperationStrategyFactory();
+        compiler = new ExpressionCompiler(factory, 16);
+    }
+
+    @Test
+    @DisplayName("Operator precedence, associativity and parentheses")
+    void testPrecedence() {
+        assertEquals(14.0, compiler.compile("2 + 3 * 4").evaluate(Map.of()));
+        assertEquals(20.0, compiler.compile("(2 + 3) * 4").evaluate(Map.of()));
+        assertEquals(1.0, compiler.compile("8 / 4 / 2").evaluate(Map.of()));
+        assertEquals(-5.0, compiler.compile("10 - 7 - 8").evaluate(Map.of()));
+        assertEquals(-6.0, compiler.compile("-(2 + 4)").evaluate(Map.of()));
+        assertEquals(2.5e3, compiler.compile("2.5e3").evaluate(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Variables are bound by name and slotted in order of appearance")
+    void testVariables() {
+        CompiledExpression expression = compiler.compile("(a + b) * c / d + a");
+
+        assertEquals(List.of("a", "b", "c", "d"), expression.getVariables());
+        assertEquals(3.25, expression.evaluate(Map.of("a", 1.0, "b", 2.0, "c", 3.0, "d", 4.0)));
+        assertEquals(3.25, expression.evaluate(new double[]{1.0, 2.0, 3.0, 4.0}));
+    }
+
+    @Test
+    @DisplayName("Compiled expressions are cached by text")
+    void testCaching() {
+        CompiledExpression first = compiler.compile("x * 2");
+        CompiledExpression second = compiler.compile("x * 2");
+
+        assertSame(first, second);
+        assertEquals(1, compiler.getCacheStats().getHits());
+        assertEquals(1, compiler.getCacheStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Expressions use registered strategies and recompile when they change")
+    void testRegisteredStrategies() {
+        assertEquals(5.0, compiler.compile("2 + 3").evaluate(Map.of()));
+
+        factory.registerStrategy(Operation.ADD, (a, b) -> a + b + 100);
+
+        assertEquals(105.0, compiler.compile("2 + 3").evaluate(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Division by zero throws ArithmeticException")
+    void testDivisionByZero() {
+        CompiledExpression expression = compiler.compile("a / b");
+
+        assertThrows(ArithmeticException.class, () -> expression.evaluate(Map.of("a", 1.0, "b", 0.0)));
+    }
+
+    @Test
+    @DisplayName("tryEvaluate reports division by zero and unbound variables as results")
+    void testTryEvaluateFailures() {
+        CompiledExpression expression = compiler.compile("a / b + 1 / b");
+
+        assertSame(CalculationResult.DIVISION_BY_ZERO, expression.tryEvaluate(Map.of("a", 1.0, "b", 0.0)));
+        assertEquals(2.0, expression.tryEvaluate(Map.of("a", 1.0, "b", 1.0)).getValue());
+        CalculationResult unbound = expression.tryEvaluate(Map.of("a", 1.0));
+        assertEquals(CalculationStatus.INVALID_INPUT, unbound.getStatus());
+        assertEquals("Variable 'b' is not bound", unbound.getMessage());
+    }
+
+    @Test
+    @DisplayName("Malformed expressions throw IllegalArgumentException")
+    void testMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("(1 + 2"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("1 +"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("1 $ 2"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("1..2"));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("(".repeat(1000) + "1" + ")".repeat(1000)));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("x" + "+x".repeat(1025)));
+    }
+}
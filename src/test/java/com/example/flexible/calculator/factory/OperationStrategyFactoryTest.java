@@ -7,6 +7,14 @@ import com.example.flexible.calculator.strategy.impl.AdditionStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -48,4 +56,54 @@ class OperationStrategyFactoryTest {
         assertThrows(IllegalArgumentException.class,
                 () -> factory.registerStrategy(Operation.ADD, null));
     }
+
+    @Test
+    @DisplayName("Registration publishes a new snapshot with a higher version")
+    void testRegisterStrategyPublishesNewSnapshot() {
+        StrategySnapshot before = factory.snapshot();
+        OperationStrategy custom = (a, b) -> a + b + 1;
+
+        factory.registerStrategy(Operation.ADD, custom);
+
+        assertEquals(before.getVersion() + 1, factory.getVersion());
+        assertSame(custom, factory.getStrategy(Operation.ADD));
+        assertNotSame(custom, before.getStrategy(Operation.ADD));
+    }
+
+    @Test
+    @DisplayName("Factory built from a map only supports the given operations")
+    void testMapConstructor() {
+        OperationStrategyFactory custom = new OperationStrategyFactory(Map.of(Operation.ADD, new AdditionStrategy()));
+
+        assertTrue(custom.snapshot().isSupported(Operation.ADD));
+        assertFalse(custom.snapshot().isSupported(Operation.DIVIDE));
+        assertThrows(UnsupportedOperationException.class,
+                () -> custom.getStrategy(Operation.DIVIDE));
+    }
+
+    @Test
+    @DisplayName("Concurrent registrations are all published")
+    void testConcurrentRegistration() throws Exception {
+        int threads = 8;
+        int registrationsPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < registrationsPerThread; i++) {
+                        factory.registerStrategy(Operation.MULTIPLY, (a, b) -> a * b);
+                        assertNotNull(factory.getStrategy(Operation.ADD));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * registrationsPerThread, factory.getVersion());
+    }
 }
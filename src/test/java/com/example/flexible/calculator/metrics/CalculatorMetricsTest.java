@@ -0,0 +1,130 @@
+package com.example.flexible.calculator.metrics;
+
+import com.example.flexible.calculator.BatchResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.plan.ChainSteps;
+import com.example.flexible.calculator.service.CalculationService;
+import com.example.flexible.calculator.strategy.impl.AdditionStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalculatorMetrics and InstrumentedOperationStrategy.
+ */
+class CalculatorMetricsTest {
+    private SimpleMeterRegistry registry;
+    private CalculatorMetrics metrics;
+    private OperationStrategyFactory factory;
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new CalculatorMetrics(registry);
+        factory = new OperationStrategyFactory(metrics::instrument);
+        calculator = new Calculator(factory);
+    }
+
+    @Test
+    @DisplayName("Single calculations are timed and counted per operation")
+    void testSingleCalculationsRecorded() {
+        calculator.calculate(Operation.ADD, 1, 2);
+        calculator.calculate(Operation.ADD, 3, 4);
+        calculator.calculate(Operation.MULTIPLY, 3, 4);
+
+        assertEquals(2.0, registry.get("calculator.operation.calls").tag("operation", "ADD").counter().count());
+        assertEquals(2, registry.get("calculator.operation.latency")
+                .tags("operation", "ADD", "mode", "single").timer().count());
+        assertEquals(1.0, registry.get("calculator.operation.calls").tag("operation", "MULTIPLY").counter().count());
+    }
+
+    @Test
+    @DisplayName("Divisions by zero are counted for single and batch calls")
+    void testDivisionByZeroCounted() {
+        assertThrows(ArithmeticException.class, () -> calculator.calculate(Operation.DIVIDE, 1, 0));
+        BatchResult result = calculator.calculateBatch(
+                new Operation[]{Operation.DIVIDE, Operation.DIVIDE, Operation.DIVIDE},
+                new double[]{1, 2, 3}, new double[]{0, 1, 0});
+
+        assertEquals(2, result.getErrorCount());
+        assertEquals(3.0, registry.get("calculator.division.by.zero").tag("path", "strategy").counter().count());
+        assertEquals(3.0, registry.get("calculator.operation.errors").tag("operation", "DIVIDE").counter().count());
+        assertEquals(4.0, registry.get("calculator.operation.calls").tag("operation", "DIVIDE").counter().count());
+        assertEquals(1, registry.get("calculator.operation.latency")
+                .tags("operation", "DIVIDE", "mode", "batch").timer().count());
+    }
+
+    @Test
+    @DisplayName("Exact single and batch calculations are recorded")
+    void testExactCalculationsRecorded() {
+        calculator.calculateExact(Operation.ADD, 1, 2);
+        calculator.calculateExact(Operation.MULTIPLY, Long.MAX_VALUE, 2);
+        assertThrows(ArithmeticException.class, () -> calculator.calculateExact(Operation.DIVIDE, 1, 0));
+        calculator.calculateExactBatch(new Operation[]{Operation.ADD, Operation.ADD, Operation.ADD},
+                new long[]{1, 2, Long.MAX_VALUE}, new long[]{1, 2, 1});
+
+        assertEquals(4.0, registry.get("calculator.operation.calls").tag("operation", "ADD").counter().count());
+        assertEquals(1, registry.get("calculator.operation.latency")
+                .tags("operation", "ADD", "mode", "batch").timer().count());
+        assertEquals(1.0, registry.get("calculator.operation.calls").tag("operation", "MULTIPLY").counter().count());
+        assertEquals(1.0, registry.get("calculator.operation.errors").tag("operation", "DIVIDE").counter().count());
+    }
+
+    @Test
+    @DisplayName("Strategies registered later are instrumented too")
+    void testRegisteredStrategyInstrumented() {
+        factory.registerStrategy(Operation.SUBTRACT, new AdditionStrategy());
+
+        assertInstanceOf(InstrumentedOperationStrategy.class, factory.getStrategy(Operation.SUBTRACT));
+        calculator.calculate(Operation.SUBTRACT, 1, 2);
+        assertEquals(1.0, registry.get("calculator.operation.calls").tag("operation", "SUBTRACT").counter().count());
+    }
+
+    @Test
+    @DisplayName("Chain lengths and chain failures are recorded by the service")
+    void testChainsRecorded() {
+        CalculationService service = new CalculationService(calculator,
+                new ChainPlanCache(new ChainPlanCompiler(factory), 16), new ExpressionCompiler(factory, 16), metrics);
+
+        service.calculateChain(new ChainCalculationRequest(1.0, List.of(
+                new ChainOperationRequest(Operation.ADD, 2.0),
+                new ChainOperationRequest(Operation.MULTIPLY, 3.0),
+                new ChainOperationRequest(Operation.SUBTRACT, 1.0))));
+        service.calculateChain(new ChainCalculationRequest(1.0, List.of(
+                new ChainOperationRequest(Operation.DIVIDE, 0.0))));
+
+        assertEquals(2, registry.get("calculator.chain.length").summary().count());
+        assertEquals(4.0, registry.get("calculator.chain.length").summary().totalAmount());
+        assertEquals(1.0, registry.get("calculator.chain.errors").counter().count());
+        assertEquals(1.0, registry.get("calculator.division.by.zero").tag("path", "chain").counter().count());
+    }
+
+    @Test
+    @DisplayName("Monitored caches publish their counters and hit ratio")
+    void testCacheMonitored() {
+        ChainPlanCache planCache = new ChainPlanCache(new ChainPlanCompiler(factory), 16);
+        metrics.monitorCache("chain-plan", planCache::getStats);
+        ChainSteps steps = new ChainSteps(new Operation[]{Operation.ADD}, new double[]{1.0});
+
+        planCache.execute(1.0, steps);
+        planCache.execute(2.0, steps);
+
+        assertEquals(1.0, registry.get("calculator.cache.hits").tag("cache", "chain-plan").functionCounter().count());
+        assertEquals(1.0, registry.get("calculator.cache.misses").tag("cache", "chain-plan").functionCounter().count());
+        assertEquals(0.5, registry.get("calculator.cache.hit.ratio").tag("cache", "chain-plan").gauge().value());
+        assertEquals(1.0, registry.get("calculator.cache.size").tag("cache", "chain-plan").gauge().value());
+    }
+}
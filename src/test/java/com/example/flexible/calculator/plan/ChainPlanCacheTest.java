@@ -0,0 +1,258 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.CalculationStatus;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.ParallelBatchExecutor;
+import com.example.flexible.calculator.cache.CacheStats;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChainPlanCache.
+ */
+class ChainPlanCacheTest {
+    private static final Operation[] SHAPE = {Operation.ADD, Operation.MULTIPLY, Operation.SUBTRACT};
+
+    private OperationStrategyFactory factory;
+    private ChainPlanCache cache;
+
+    @BeforeEach
+    void setUp() {
+        factory = new OperationStrategyFactory();
+        cache = new ChainPlanCache(new ChainPlanCompiler(factory), 2);
+    }
+
+    @Test
+    @DisplayName("Repeated shapes with different operands reuse one compiled shape")
+    void testRepeatedShapeHits() {
+        double first = cache.execute(10.0, new ChainSteps(SHAPE.clone(), new double[]{5.0, 2.0, 3.0}));
+        double second = cache.execute(1.0, new ChainSteps(SHAPE.clone(), new double[]{1.0, 4.0, 8.0}));
+
+        assertEquals(27.0, first);
+        assertEquals(0.0, second);
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+        assertSame(cache.getShape(SHAPE.clone()), cache.getShape(SHAPE.clone()));
+    }
+
+    @Test
+    @DisplayName("Least recently used shape is evicted when the cache is full")
+    void testEviction() {
+        cache.getShape(new Operation[]{Operation.ADD});
+        cache.getShape(new Operation[]{Operation.MULTIPLY});
+        cache.getShape(new Operation[]{Operation.ADD});
+        cache.getShape(new Operation[]{Operation.DIVIDE});
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+
+        cache.getShape(new Operation[]{Operation.ADD});
+        assertEquals(1, cache.getStats().getHits() - stats.getHits());
+    }
+
+    @Test
+    @DisplayName("Shapes are recompiled after a strategy is registered")
+    void testRecompiledAfterRegistration() {
+        ChainShape before = cache.getShape(SHAPE.clone());
+
+        factory.registerStrategy(Operation.ADD, (a, b) -> a + b + 100);
+        ChainShape after = cache.getShape(SHAPE.clone());
+
+        assertNotSame(before, after);
+        assertEquals(227.0, after.execute(10.0, new double[]{5.0, 2.0, 3.0}));
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on one shape compile it once")
+    void testConcurrentMissesCompileOnce() throws Exception {
+        int threads = 8;
+        AtomicInteger compilations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(threads);
+        ChainPlanCache slowCache = new ChainPlanCache(new ChainPlanCompiler(factory) {
+            @Override
+            public ChainShape compileShape(Operation[] operations) {
+                compilations.incrementAndGet();
+                try {
+                    // Hold the first compilation until every thread has asked for the shape.
+                    started.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.compileShape(operations);
+            }
+        }, 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ChainShape>> shapes = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                shapes.add(executor.submit(() -> {
+                    started.countDown();
+                    return slowCache.getShape(SHAPE.clone());
+                }));
+            }
+            ChainShape first = shapes.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ChainShape> shape : shapes) {
+                assertSame(first, shape.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    @DisplayName("Cached shapes still detect division by zero")
+    void testDivisionByZero() {
+        ChainShape shape = cache.getShape(new Operation[]{Operation.ADD, Operation.DIVIDE});
+
+        assertEquals(3.0, shape.execute(1.0, new double[]{2.0, 1.0}));
+        assertThrows(ArithmeticException.class, () -> shape.execute(1.0, new double[]{2.0, 0.0}));
+    }
+
+    @Test
+    @DisplayName("Reassociating shapes fold runs but still detect division by zero")
+    void testReassociatingShape() {
+        ChainPlanCache reassociating = new ChainPlanCache(new ChainPlanCompiler(factory, true), 4);
+        ChainShape shape = reassociating.getShape(new Operation[]{
+                Operation.ADD, Operation.SUBTRACT, Operation.ADD, Operation.MULTIPLY, Operation.DIVIDE});
+
+        assertEquals(12.0, shape.execute(1.0, new double[]{4.0, 2.0, 3.0, 6.0, 3.0}), 1e-12);
+        assertThrows(ArithmeticException.class, () -> shape.execute(1.0, new double[]{4.0, 2.0, 3.0, 6.0, 0.0}));
+    }
+
+    @Test
+    @DisplayName("Operands must match the shape")
+    void testOperandCountMismatch() {
+        ChainShape shape = cache.getShape(SHAPE.clone());
+
+        assertThrows(IllegalArgumentException.class, () -> shape.execute(1.0, new double[]{1.0}));
+    }
+
+    @Test
+    @DisplayName("A cache of size zero never stores shapes")
+    void testDisabledCache() {
+        ChainPlanCache disabled = new ChainPlanCache(new ChainPlanCompiler(factory), 0);
+
+        disabled.getShape(SHAPE.clone());
+        disabled.getShape(SHAPE.clone());
+
+        assertEquals(0, disabled.getStats().getHits());
+        assertEquals(0, disabled.getStats().getSize());
+    }
+
+    @Test
+    @DisplayName("Shapes longer than the maximum shape length are not retained")
+    void testLongShapeNotCached() {
+        ChainPlanCache bounded = new ChainPlanCache(new ChainPlanCompiler(factory), 4, 3, null);
+        Operation[] longShape = {Operation.ADD, Operation.MULTIPLY, Operation.SUBTRACT, Operation.DIVIDE};
+
+        ChainShape first = bounded.getShape(longShape.clone());
+        ChainShape second = bounded.getShape(longShape.clone());
+
+        assertNotSame(first, second);
+        assertEquals(0, bounded.getStats().getSize());
+        assertEquals(2.0, bounded.execute(1.0, new ChainSteps(longShape.clone(), new double[]{3.0, 2.0, 4.0, 2.0})));
+        assertSame(bounded.getShape(SHAPE.clone()), bounded.getShape(SHAPE.clone()));
+        assertEquals(1, bounded.getStats().getSize());
+    }
+
+    @Test
+    @DisplayName("Evaluate reports failing steps as shared results instead of throwing")
+    void testEvaluateReportsFailures() {
+        ChainSteps divideByZero = new ChainSteps(new Operation[]{Operation.ADD, Operation.DIVIDE}, new double[]{1.0, 0.0});
+        ChainSteps valid = new ChainSteps(SHAPE.clone(), new double[]{5.0, 2.0, 3.0});
+
+        assertSame(CalculationResult.DIVISION_BY_ZERO, cache.evaluate(10.0, divideByZero));
+        assertEquals(27.0, cache.evaluate(10.0, valid).getValue());
+
+        OperationStrategyFactory partial = new OperationStrategyFactory(Map.of(Operation.ADD, (a, b) -> a + b));
+        ChainPlanCache partialCache = new ChainPlanCache(new ChainPlanCompiler(partial), 4);
+        CalculationResult unsupported = partialCache.evaluate(1.0,
+                new ChainSteps(new Operation[]{Operation.ADD, Operation.MULTIPLY}, new double[]{1.0, 2.0}));
+        assertSame(CalculationResult.unsupported(Operation.MULTIPLY), unsupported);
+        assertEquals(CalculationStatus.UNSUPPORTED_OPERATION, unsupported.getStatus());
+    }
+
+    @Test
+    @DisplayName("Scans of a shape that does not reassociate match evaluating each prefix")
+    void testScanMatchesPrefixes() {
+        ChainSteps steps = new ChainSteps(new Operation[]{
+                Operation.ADD, Operation.ADD, Operation.MULTIPLY, Operation.DIVIDE, Operation.SUBTRACT},
+                new double[]{0.1, 0.2, 3.0, 7.0, 0.3});
+        double[] values = new double[steps.size()];
+
+        CalculationResult result = cache.scan(1.0, steps, values);
+
+        for (int i = 0; i < steps.size(); i++) {
+            ChainSteps prefix = new ChainSteps(Arrays.copyOf(steps.getOperations(), i + 1),
+                    Arrays.copyOf(steps.getOperands(), i + 1));
+            assertEquals(cache.evaluate(1.0, prefix).getValue(), values[i]);
+        }
+        assertEquals(values[steps.size() - 1], result.getValue());
+        assertSame(CalculationResult.DIVISION_BY_ZERO, cache.scan(1.0,
+                new ChainSteps(new Operation[]{Operation.ADD, Operation.DIVIDE}, new double[]{1.0, 0.0}), new double[2]));
+    }
+
+    @Test
+    @DisplayName("Reassociating scans give the same values on any number of threads")
+    void testReassociatingScanReproducible() {
+        int length = 40_000;
+        Operation[] operations = new Operation[length];
+        double[] operands = new double[length];
+        Random random = new Random(21);
+        for (int i = 0; i < length; i++) {
+            // Long additive and multiplicative runs, each spanning several scan blocks.
+            boolean additive = (i / 10_000) % 2 == 0;
+            operations[i] = additive
+                    ? (random.nextBoolean() ? Operation.ADD : Operation.SUBTRACT)
+                    : (random.nextBoolean() ? Operation.MULTIPLY : Operation.DIVIDE);
+            operands[i] = additive ? random.nextDouble() : 1.0 + (random.nextDouble() - 0.5) * 1e-3;
+        }
+        ChainSteps steps = new ChainSteps(operations, operands);
+        double[] sequential = new double[length];
+        CalculationResult expected = new ChainPlanCache(new ChainPlanCompiler(factory, true), 4)
+                .scan(1.0, steps, sequential);
+
+        ParallelBatchExecutor executor = new ParallelBatchExecutor(4, 1024);
+        try {
+            double[] parallel = new double[length];
+            CalculationResult result = new ChainPlanCache(new ChainPlanCompiler(factory, true), 4, executor)
+                    .scan(1.0, steps, parallel);
+            assertArrayEquals(sequential, parallel);
+            assertEquals(expected.getValue(), result.getValue());
+        } finally {
+            executor.shutdown();
+        }
+        double[] exact = new double[length];
+        cache.scan(1.0, steps, exact);
+        for (int i = 0; i < length; i++) {
+            assertEquals(exact[i], sequential[i], 1e-9 * Math.max(1.0, Math.abs(exact[i])));
+        }
+
+        operations[length - 1] = Operation.DIVIDE;
+        operands[length - 1] = 0.0;
+        assertSame(CalculationResult.DIVISION_BY_ZERO, new ChainPlanCache(new ChainPlanCompiler(factory, true), 4)
+                .scan(1.0, steps, new double[length]));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.flexible.calculator.plan;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.strategy.DelegatingOperationStrategy;
+import com.example.flexible.calculator.strategy.OperationStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChainPlanCompiler.
+ */
+class ChainPlanCompilerTest {
+    private OperationStrategyFactory factory;
+    private ChainPlanCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        factory = new OperationStrategyFactory();
+        compiler = new ChainPlanCompiler(factory);
+    }
+
+    @Test
+    @DisplayName("Exact shapes match step-by-step evaluation bit for bit")
+    void testExactPlanMatchesChainCalculator() {
+        Calculator calculator = new Calculator(factory);
+        Random random = new Random(42);
+        double[] interesting = {0.0, -0.0, 1.0, -1.0, 2.0, 0.5, 1024.0, 0x1p-1022, 0x1p1000, 3.0, 0.1, 1e-310, 1e308};
+        double[] initialValues = {0.0, -0.0, 1.0, -7.25, 1e-320, 1e308, -1e308, Double.MIN_NORMAL, 123456.789};
+
+        for (int round = 0; round < 500; round++) {
+            int length = 1 + random.nextInt(12);
+            Operation[] operations = new Operation[length];
+            double[] operands = new double[length];
+            for (int i = 0; i < length; i++) {
+                operations[i] = Operation.values()[random.nextInt(Operation.values().length)];
+                operands[i] = interesting[random.nextInt(interesting.length)];
+                if (operations[i] == Operation.DIVIDE && operands[i] == 0.0) {
+                    operands[i] = 4.0;
+                }
+            }
+            ChainShape shape = compiler.compileShape(operations);
+
+            for (double initial : initialValues) {
+                Calculator.ChainCalculator chain = calculator.startChain(initial);
+                for (int i = 0; i < length; i++) {
+                    chain.apply(operations[i], operands[i]);
+                }
+                assertEquals(Double.doubleToLongBits(chain.getResult()),
+                        Double.doubleToLongBits(shape.execute(initial, operands)),
+                        () -> "Mismatch for initial value " + initial);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Identity steps are dropped and reported")
+    void testIdentityStepsDropped() {
+        ChainShape shape = compiler.compileShape(
+                new Operation[]{Operation.MULTIPLY, Operation.SUBTRACT, Operation.ADD, Operation.DIVIDE});
+        double[] operands = {1.0, 0.0, 3.0, 1.0};
+
+        List<ChainRewrite> rewrites = shape.getRewrites(5.0, operands);
+
+        assertEquals(3, rewrites.stream().filter(r -> r.getKind() == ChainRewrite.Kind.DROPPED_IDENTITY).count());
+        assertEquals(List.of(0, 1, 3), rewrites.stream().map(ChainRewrite::getFirstStep).toList());
+        assertEquals(8.0, shape.execute(5.0, operands));
+    }
+
+    @Test
+    @DisplayName("Adding positive zero is kept because it changes negative zero")
+    void testAddPositiveZeroKept() {
+        ChainShape shape = compiler.compileShape(new Operation[]{Operation.ADD});
+        double[] operands = {0.0};
+
+        assertTrue(shape.getRewrites(-0.0, operands).isEmpty());
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(shape.execute(-0.0, operands)));
+    }
+
+    @Test
+    @DisplayName("Division by a power of two becomes an exact multiplication and folds")
+    void testPowerOfTwoScalingFolds() {
+        ChainShape shape = compiler.compileShape(
+                new Operation[]{Operation.MULTIPLY, Operation.DIVIDE, Operation.MULTIPLY, Operation.DIVIDE});
+        double[] operands = {2.0, 0.125, -1.0, 3.0};
+
+        List<ChainRewrite> rewrites = shape.getRewrites(3.0, operands);
+
+        assertTrue(rewrites.stream().anyMatch(r -> r.getKind() == ChainRewrite.Kind.DIVISION_TO_MULTIPLICATION
+                && r.getFirstStep() == 1 && r.getOperand() == 8.0));
+        assertTrue(rewrites.stream().anyMatch(r -> r.getKind() == ChainRewrite.Kind.FOLDED_CONSTANTS
+                && r.getFirstStep() == 0 && r.getLastStep() == 2 && r.getOperand() == -16.0));
+        assertEquals(-16.0, shape.execute(3.0, operands));
+    }
+
+    @Test
+    @DisplayName("Division by zero still fails")
+    void testDivisionByZero() {
+        ChainShape shape = compiler.compileShape(new Operation[]{Operation.ADD, Operation.DIVIDE, Operation.ADD});
+        double[] operands = {5.0, 0.0, 1.0};
+
+        ArithmeticException exception = assertThrows(ArithmeticException.class, () -> shape.execute(10.0, operands));
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+        assertSame(CalculationResult.DIVISION_BY_ZERO, shape.evaluate(10.0, operands));
+    }
+
+    @Test
+    @DisplayName("Custom strategies are called, not rewritten")
+    void testCustomStrategyNotRewritten() {
+        factory.registerStrategy(Operation.ADD, (a, b) -> a + b + 100);
+
+        ChainShape shape = compiler.compileShape(new Operation[]{Operation.ADD, Operation.ADD});
+
+        assertEquals(ChainShape.STRATEGY, shape.code(0));
+        assertEquals(203.0, shape.execute(0.0, new double[]{1.0, 2.0}));
+    }
+
+    @Test
+    @DisplayName("Reassociating compiler folds runs into one offset and one scale")
+    void testReassociatingFolds() {
+        ChainPlanCompiler reassociating = new ChainPlanCompiler(factory, true);
+        int length = 1000;
+        Operation[] operations = new Operation[length];
+        double[] operands = new double[length];
+        for (int i = 0; i < length; i++) {
+            operations[i] = i < length / 2
+                    ? (i % 2 == 0 ? Operation.ADD : Operation.SUBTRACT)
+                    : (i % 2 == 0 ? Operation.MULTIPLY : Operation.DIVIDE);
+            operands[i] = i < length / 2 ? (i % 2 == 0 ? 3.0 : 1.0) : (i % 2 == 0 ? 3.0 : 1.5);
+        }
+
+        ChainShape shape = reassociating.compileShape(operations);
+
+        double expected = (10.0 + 500.0) * Math.pow(2.0, 250);
+        assertEquals(expected, shape.execute(10.0, operands), expected * 1e-12);
+    }
+
+    @Test
+    @DisplayName("Null operation throws IllegalArgumentException")
+    void testNullOperation() {
+        assertThrows(IllegalArgumentException.class,
+                () -> compiler.compileShape(new Operation[]{null}));
+    }
+
+    @Test
+    @DisplayName("Built-ins wrapped by a delegating decorator are still inlined")
+    void testDecoratedBuiltInsInlined() {
+        OperationStrategyFactory decorated = new OperationStrategyFactory((operation, strategy) ->
+                new DelegatingOperationStrategy() {
+                    @Override
+                    public double execute(double operand1, double operand2) {
+                        return strategy.execute(operand1, operand2);
+                    }
+
+                    @Override
+                    public OperationStrategy getDelegate() {
+                        return strategy;
+                    }
+                });
+        Operation[] operations = Operation.values();
+
+        ChainShape plain = compiler.compileShape(operations);
+        ChainShape shape = new ChainPlanCompiler(decorated).compileShape(operations);
+
+        for (int i = 0; i < operations.length; i++) {
+            assertEquals(plain.code(i), shape.code(i));
+            assertNotEquals(ChainShape.STRATEGY, shape.code(i));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.flexible.calculator.protocol;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.dto.CalculationResponse;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary calculation wire format.
+ */
+class BinaryCalculationCodecTest {
+
+    @Test
+    @DisplayName("Calculation request round-trips and uses the batch record layout")
+    void testCalculationRequestRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.MULTIPLY, 2.5, -4.0), buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(Operation.MULTIPLY.ordinal(), buffer.get(0));
+        assertEquals(2.5, buffer.getDouble(1));
+
+        CalculationRequest decoded = BinaryCalculationCodec.readCalculationRequest(buffer.flip());
+        assertEquals(Operation.MULTIPLY, decoded.getOperation());
+        assertEquals(2.5, decoded.getNum1());
+        assertEquals(-4.0, decoded.getNum2());
+    }
+
+    @Test
+    @DisplayName("Chain request round-trips with null operations")
+    void testChainRequestRoundTrip() {
+        ChainCalculationRequest request = new ChainCalculationRequest(10.0, List.of(
+                new ChainOperationRequest(Operation.ADD, 5.0),
+                new ChainOperationRequest(null, 2.0)));
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCalculationCodec.chainRequestSize(2));
+        BinaryCalculationCodec.writeChainRequest(request, buffer);
+
+        assertFalse(buffer.hasRemaining());
+        ChainCalculationRequest decoded = BinaryCalculationCodec.readChainRequest(buffer.flip());
+        assertEquals(10.0, decoded.getInitialValue());
+        assertEquals(Operation.ADD, decoded.getOperations().get(0).getOperation());
+        assertNull(decoded.getOperations().get(1).getOperation());
+        assertEquals(2.0, decoded.getOperations().get(1).getOperand());
+    }
+
+    @Test
+    @DisplayName("Success and error responses round-trip within their size bound")
+    void testResponseRoundTrip() {
+        CalculationResponse success = new CalculationResponse(42.0);
+        CalculationResponse error = new CalculationResponse("Math error: Division by zero ÷ 0");
+
+        for (CalculationResponse response : List.of(success, error)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCalculationCodec.maxResponseSize(response));
+            BinaryCalculationCodec.writeResponse(response, buffer);
+            CalculationResponse decoded = BinaryCalculationCodec.readResponse(buffer.flip());
+            assertEquals(response.isSuccess(), decoded.isSuccess());
+            assertEquals(response.getResult(), decoded.getResult());
+            assertEquals(response.getError(), decoded.getError());
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed input is rejected with IllegalArgumentException")
+    void testMalformedInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryCalculationCodec.readCalculationRequest(ByteBuffer.wrap(new byte[]{0, 1})));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryCalculationCodec.readCalculationRequest(ByteBuffer.allocate(17).put(0, (byte) 42)));
+
+        // A step count larger than the body must not be trusted for allocation.
+        ByteBuffer chain = ByteBuffer.allocate(BinaryCalculationCodec.CHAIN_HEADER_SIZE).putDouble(1.0).putInt(Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> BinaryCalculationCodec.readChainRequest(chain.flip()));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryCalculationCodec.read(String.class, ByteBuffer.allocate(1)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.flexible.calculator.protocol;
+
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.dto.CalculationResponse;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for binary request and response bodies on the servlet stack.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryCalculationHttpMessageConverterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Binary calculation is answered in the binary format")
+    void calculate_BinaryRequest_ReturnsBinaryResponse() throws Exception {
+        ByteBuffer request = ByteBuffer.allocate(BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.ADD, 5.0, 3.0), request);
+
+        MvcResult result = mockMvc.perform(post("/api/calculator/calculate")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(request.array()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().longValue("Content-Length", 9))
+                .andReturn();
+
+        CalculationResponse response = readResponse(result);
+        assertEquals(8.0, response.getResult());
+    }
+
+    @Test
+    @DisplayName("Binary chain is answered in the binary format")
+    void calculateChain_BinaryRequest_ReturnsBinaryResponse() throws Exception {
+        ChainCalculationRequest chain = new ChainCalculationRequest(10.0, List.of(
+                new ChainOperationRequest(Operation.ADD, 5.0),
+                new ChainOperationRequest(Operation.MULTIPLY, 2.0)));
+        ByteBuffer request = ByteBuffer.allocate(BinaryCalculationCodec.chainRequestSize(2));
+        BinaryCalculationCodec.writeChainRequest(chain, request);
+
+        MvcResult result = mockMvc.perform(post("/api/calculator/chain")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(request.array()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(30.0, readResponse(result).getResult());
+    }
+
+    @Test
+    @DisplayName("Binary request without an explicit Accept header is answered in JSON")
+    void calculate_BinaryRequestAcceptingAll_ReturnsJson() throws Exception {
+        ByteBuffer request = ByteBuffer.allocate(BinaryCalculationCodec.CALCULATION_REQUEST_SIZE);
+        BinaryCalculationCodec.writeCalculationRequest(new CalculationRequest(Operation.DIVIDE, 1.0, 0.0), request);
+
+        mockMvc.perform(post("/api/calculator/calculate")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.ALL)
+                        .content(request.array()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Math error: Division by zero is not allowed"));
+    }
+
+    @Test
+    @DisplayName("Unknown operation codes and trailing bytes are rejected")
+    void calculate_MalformedBinaryRequest_ReturnsBadRequest() throws Exception {
+        byte[] unknownOperation = new byte[BinaryCalculationCodec.CALCULATION_REQUEST_SIZE];
+        unknownOperation[0] = 42;
+        byte[] trailingBytes = new byte[BinaryCalculationCodec.CALCULATION_REQUEST_SIZE + 1];
+
+        for (byte[] body : List.of(unknownOperation, trailingBytes)) {
+            mockMvc.perform(post("/api/calculator/calculate")
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private static CalculationResponse readResponse(MvcResult result) {
+        return BinaryCalculationCodec.readResponse(ByteBuffer.wrap(result.getResponse().getContentAsByteArray()));
+    }
+}
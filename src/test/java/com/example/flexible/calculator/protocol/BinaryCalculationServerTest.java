@@ -0,0 +1,160 @@
+package com.example.flexible.calculator.protocol;
+
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import com.example.flexible.calculator.dto.CalculationRequest;
+import com.example.flexible.calculator.dto.CalculationResponse;
+import com.example.flexible.calculator.dto.ChainCalculationRequest;
+import com.example.flexible.calculator.dto.ChainOperationRequest;
+import com.example.flexible.calculator.expression.ExpressionCompiler;
+import com.example.flexible.calculator.factory.OperationStrategyFactory;
+import com.example.flexible.calculator.plan.ChainPlanCache;
+import com.example.flexible.calculator.plan.ChainPlanCompiler;
+import com.example.flexible.calculator.service.CalculationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BinaryCalculationServer over loopback connections.
+ */
+class BinaryCalculationServerTest {
+
+    private BinaryCalculationServer server;
+    private SocketChannel client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // NaN operands stand in for a bug in the service, so failure isolation can be tested.
+        CalculationService service = new CalculationService(new Calculator(),
+                new ChainPlanCache(new ChainPlanCompiler(new OperationStrategyFactory()), 16),
+                new ExpressionCompiler(new OperationStrategyFactory(), 16)) {
+            @Override
+            public ResponseEntity<CalculationResponse> calculate(CalculationRequest request) {
+                if (request.getNum1() != null && request.getNum1().isNaN()) {
+                    throw new IllegalStateException("Simulated failure");
+                }
+                return super.calculate(request);
+            }
+        };
+        server = new BinaryCalculationServer(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024, 2);
+        server.start();
+        client = connect();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Pipelined requests are answered in order on one connection")
+    void pipelinedRequests() throws IOException {
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        writeFrame(requests, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.ADD, 5.0, 3.0));
+        writeFrame(requests, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.DIVIDE, 1.0, 0.0));
+        writeFrame(requests, BinaryCalculationServer.CHAIN, new ChainCalculationRequest(10.0, List.of(
+                new ChainOperationRequest(Operation.ADD, 5.0), new ChainOperationRequest(Operation.MULTIPLY, 2.0))));
+        client.write(requests.flip());
+
+        assertEquals(8.0, readResponse().getResult());
+        assertEquals("Math error: Division by zero is not allowed", readResponse().getError());
+        assertEquals(30.0, readResponse().getResult());
+    }
+
+    @Test
+    @DisplayName("Malformed requests get error responses and leave the connection usable")
+    void malformedRequest() throws IOException {
+        ByteBuffer requests = ByteBuffer.allocate(64);
+        requests.putInt(2).put((byte) 7).put((byte) 0);
+        requests.putInt(3).put(BinaryCalculationServer.CALCULATE).put((byte) 0).put((byte) 0);
+        writeFrame(requests, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.MULTIPLY, 4.0, 2.5));
+        client.write(requests.flip());
+
+        assertEquals("Invalid input: Unknown frame type: 7", readResponse().getError());
+        assertEquals("Invalid input: Truncated calculation request", readResponse().getError());
+        assertEquals(10.0, readResponse().getResult());
+    }
+
+    @Test
+    @DisplayName("An oversized frame closes the connection")
+    void oversizedFrame() throws IOException {
+        client.write(ByteBuffer.allocate(8).putInt(4096).putInt(0).flip());
+
+        assertEquals(-1, client.read(ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    @DisplayName("An unexpected failure closes only the connection that caused it")
+    void unexpectedFailure() throws IOException {
+        try (SocketChannel other = connect()) {
+            ByteBuffer request = ByteBuffer.allocate(64);
+            writeFrame(request, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.ADD, 1.0, 2.0));
+            other.write(request.flip());
+            assertEquals(3.0, readResponse(other).getResult());
+
+            request.clear();
+            writeFrame(request, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.ADD, Double.NaN, 1.0));
+            client.write(request.flip());
+            assertEquals(-1, client.read(ByteBuffer.allocate(16)));
+
+            request.clear();
+            writeFrame(request, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.MULTIPLY, 4.0, 2.5));
+            other.write(request.flip());
+            assertEquals(10.0, readResponse(other).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Connections beyond the maximum are closed on accept")
+    void connectionLimit() throws IOException {
+        try (SocketChannel second = connect(); SocketChannel third = connect()) {
+            ByteBuffer request = ByteBuffer.allocate(64);
+            writeFrame(request, BinaryCalculationServer.CALCULATE, new CalculationRequest(Operation.ADD, 1.0, 2.0));
+            second.write(request.flip());
+            assertEquals(3.0, readResponse(second).getResult());
+
+            assertEquals(-1, third.read(ByteBuffer.allocate(16)));
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+    private static void writeFrame(ByteBuffer buffer, byte type, Object request) {
+        buffer.putInt(1 + BinaryCalculationCodec.maxSize(request)).put(type);
+        BinaryCalculationCodec.write(request, buffer);
+    }
+
+    private CalculationResponse readResponse() throws IOException {
+        return readResponse(client);
+    }
+
+    private static CalculationResponse readResponse(SocketChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, BinaryCalculationServer.FRAME_HEADER_SIZE);
+        return BinaryCalculationCodec.readResponse(readFully(channel, header.getInt()));
+    }
+
+    private static ByteBuffer readFully(SocketChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                fail("Connection closed");
+            }
+        }
+        return buffer.flip();
+    }
+}
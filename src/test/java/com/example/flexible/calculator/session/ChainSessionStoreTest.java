@@ -0,0 +1,115 @@
+package com.example.flexible.calculator.session;
+
+import com.example.flexible.calculator.CalculationResult;
+import com.example.flexible.calculator.Calculator;
+import com.example.flexible.calculator.Operation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChainSessionStore.
+ */
+class ChainSessionStoreTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private ChainSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        store = new ChainSessionStore(new Calculator(), 2, Duration.ofSeconds(10), Duration.ofSeconds(60), clock::get);
+    }
+
+    @Test
+    @DisplayName("Sessions apply steps incrementally and can be reset and removed")
+    void testIncrementalSteps() {
+        ChainSession session = store.create(10.0);
+
+        assertEquals(15.0, store.get(session.getId()).apply(Operation.ADD, 5.0).getValue());
+        assertEquals(30.0, store.get(session.getId()).apply(Operation.MULTIPLY, 2.0).getValue());
+        assertSame(CalculationResult.DIVISION_BY_ZERO, session.apply(Operation.DIVIDE, 0.0));
+        assertEquals(30.0, session.getResult());
+
+        session.reset(1.0);
+        assertEquals(1.0, session.getResult());
+        assertTrue(store.remove(session.getId()));
+        assertNull(store.get(session.getId()));
+        assertFalse(store.remove(session.getId()));
+        assertNull(store.get("unknown"));
+    }
+
+    @Test
+    @DisplayName("Sessions expire when idle or past their time-to-live")
+    void testExpiry() {
+        ChainSession session = store.create(1.0);
+
+        clock.addAndGet(9 * SECOND);
+        assertNotNull(store.get(session.getId()));
+        clock.addAndGet(9 * SECOND);
+        assertNotNull(store.get(session.getId()));
+        clock.addAndGet(10 * SECOND);
+        assertNull(store.get(session.getId()));
+
+        ChainSession active = store.create(1.0);
+        for (int i = 0; i < 6; i++) {
+            clock.addAndGet(9 * SECOND);
+            assertNotNull(store.get(active.getId()));
+        }
+        clock.addAndGet(9 * SECOND);
+        assertNull(store.get(active.getId()), "time-to-live applies even to sessions in use");
+        assertEquals(2, store.getStats().getEvictions());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("A full store evicts expired sessions before refusing new ones")
+    void testCapacity() {
+        ChainSession first = store.create(1.0);
+        clock.addAndGet(5 * SECOND);
+        store.create(2.0);
+
+        assertNull(store.create(3.0));
+        clock.addAndGet(6 * SECOND);
+        assertNotNull(store.create(3.0), "the first session has expired and frees its slot");
+        assertNull(store.get(first.getId()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent steps on one session are serialized")
+    void testConcurrentApplies() throws Exception {
+        ChainSession session = store.create(0.0);
+        int threads = 4;
+        int stepsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < stepsPerThread; i++) {
+                        store.get(session.getId()).apply(Operation.ADD, 1.0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * stepsPerThread, session.getResult());
+    }
+}
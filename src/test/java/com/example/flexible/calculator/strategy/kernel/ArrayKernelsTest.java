@@ -0,0 +1,86 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ArrayKernels.
+ */
+class ArrayKernelsTest {
+    private static final double[] SPECIALS = {0.0, -0.0, 1.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE};
+
+    @Test
+    @DisplayName("Vector kernels are selected when the incubator module is present")
+    void testSelection() {
+        boolean modulePresent = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(modulePresent, ArrayKernels.get().isVectorized());
+        assertFalse(ArrayKernels.scalar().isVectorized());
+    }
+
+    @Test
+    @DisplayName("Selected kernels match scalar kernels bit for bit, including tails and special values")
+    void testMatchesScalar() {
+        Random random = new Random(42);
+        ArrayKernels best = ArrayKernels.get();
+        ArrayKernels scalar = ArrayKernels.scalar();
+        for (int length = 0; length <= 67; length++) {
+            double[] a = operands(random, length);
+            double[] b = operands(random, length);
+            double[] expected = new double[length];
+            double[] actual = new double[length];
+
+            scalar.add(a, b, expected, length);
+            best.add(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+
+            scalar.subtract(a, b, expected, length);
+            best.subtract(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+
+            scalar.multiply(a, b, expected, length);
+            best.multiply(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+
+            int[] expectedZeros = scalar.divide(a, b, expected, length);
+            int[] actualZeros = best.divide(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+            assertArrayEquals(expectedZeros, actualZeros);
+        }
+    }
+
+    @Test
+    @DisplayName("Divide reports every zero divisor, including negative zero")
+    void testDivideReportsZeroDivisors() {
+        int length = 40;
+        double[] a = new double[length];
+        double[] b = new double[length];
+        Arrays.fill(a, 3.0);
+        Arrays.fill(b, 2.0);
+        b[0] = 0.0;
+        b[9] = -0.0;
+        b[39] = 0.0;
+        double[] results = new double[length];
+
+        int[] zeros = ArrayKernels.get().divide(a, b, results, length);
+
+        assertArrayEquals(new int[]{0, 9, 39}, zeros);
+        assertEquals(1.5, results[1]);
+        assertSame(ArrayKernels.NO_INDICES, ArrayKernels.get().divide(a, new double[]{1.0}, results, 1));
+    }
+
+    private static double[] operands(Random random, int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt(4) == 0
+                    ? SPECIALS[random.nextInt(SPECIALS.length)]
+                    : (random.nextDouble() - 0.5) * 1e6;
+        }
+        return values;
+    }
+}
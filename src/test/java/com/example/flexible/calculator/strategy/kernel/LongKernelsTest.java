@@ -0,0 +1,78 @@
+package com.example.flexible.calculator.strategy.kernel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongKernels.
+ */
+class LongKernelsTest {
+    private static final long[] SPECIALS = {0, 1, -1, 2, -2, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 32, -(1L << 32),
+            3_037_000_500L};
+
+    @Test
+    @DisplayName("Kernels report exactly the indices where the Math exact methods throw")
+    void testMatchesExactMethods() {
+        Random random = new Random(42);
+        int length = 4096;
+        long[] a = operands(random, length);
+        long[] b = operands(random, length);
+        long[] results = new long[length];
+
+        assertKernel(LongKernels.add(a, b, results, length), a, b, results, Math::addExact);
+        assertKernel(LongKernels.subtract(a, b, results, length), a, b, results, Math::subtractExact);
+        assertKernel(LongKernels.multiply(a, b, results, length), a, b, results, Math::multiplyExact);
+        assertKernel(LongKernels.divide(a, b, results, length), a, b, results, (x, y) -> {
+            if (y == -1 && x == Long.MIN_VALUE || x % y != 0) {
+                throw new ArithmeticException();
+            }
+            return x / y;
+        });
+    }
+
+    @Test
+    @DisplayName("Divide rejects zero divisors and remainders")
+    void testDivideRejects() {
+        long[] results = new long[4];
+
+        int[] rejected = LongKernels.divide(new long[]{6, 7, 8, 9}, new long[]{3, 2, 0, 1}, results, 4);
+
+        assertArrayEquals(new int[]{1, 2}, rejected);
+        assertEquals(2, results[0]);
+        assertEquals(9, results[3]);
+        assertSame(ArrayKernels.NO_INDICES, LongKernels.add(new long[]{1}, new long[]{2}, results, 1));
+    }
+
+    private interface ExactOperation {
+        long apply(long x, long y);
+    }
+
+    private static void assertKernel(int[] rejected, long[] a, long[] b, long[] results, ExactOperation exact) {
+        for (int i = 0; i < a.length; i++) {
+            long expected;
+            try {
+                expected = exact.apply(a[i], b[i]);
+            } catch (ArithmeticException e) {
+                assertTrue(Arrays.binarySearch(rejected, i) >= 0, "index " + i + " not rejected");
+                continue;
+            }
+            assertTrue(Arrays.binarySearch(rejected, i) < 0, "index " + i + " rejected");
+            assertEquals(expected, results[i]);
+        }
+    }
+
+    private static long[] operands(Random random, int length) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(3);
+            values[i] = kind == 0 ? SPECIALS[random.nextInt(SPECIALS.length)]
+                    : kind == 1 ? random.nextLong() : random.nextInt(2001) - 1000;
+        }
+        return values;
+    }
+}